@@ -1,5 +1,6 @@
 package com.reliaquest.api;
 
+import com.reliaquest.api.service.client.HttpClientSystemProperties;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
@@ -9,6 +10,9 @@ import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 public class ApiApplication {
 
     public static void main(String[] args) {
-        SpringApplication.run(ApiApplication.class, args);
+        SpringApplication application = new SpringApplication(ApiApplication.class);
+        // jvm wide http client settings, set before any bean builds a client
+        application.addListeners(new HttpClientSystemProperties());
+        application.run(args);
     }
 }
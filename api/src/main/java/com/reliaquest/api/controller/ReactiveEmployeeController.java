@@ -0,0 +1,76 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.model.CreateEmployee;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.ReactiveEmployeeService;
+import jakarta.validation.Valid;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link IEmployeeControllerImpl} of the reactive stack, same paths,
+ * bodies and errors
+ * <p>
+ * The contract interface fixes synchronous return types so it cannot
+ * be implemented here, the mappings are repeated instead and both
+ * stacks run the same integration tests
+ * <p>
+ * The full list is written as it is read from upstream
+ */
+@Profile("reactive")
+@RestController
+@RequestMapping("/api/v1/employee")
+@RequiredArgsConstructor
+public class ReactiveEmployeeController {
+
+    private final ReactiveEmployeeService employeeService;
+
+    @GetMapping()
+    public ResponseEntity<Flux<Employee>> getAllEmployees() {
+        return ResponseEntity.ok(employeeService.getAllEmployees());
+    }
+
+    @GetMapping("/search/{searchString}")
+    public Mono<ResponseEntity<List<Employee>>> getEmployeesByNameSearch(@PathVariable String searchString) {
+        return employeeService.getEmployeesByNameSearch(searchString).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<Employee>> getEmployeeById(@PathVariable String id) {
+        return employeeService.getEmployee(id).map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/highestSalary")
+    public Mono<ResponseEntity<Integer>> getHighestSalaryOfEmployees() {
+        return employeeService.getHighestSalaryOfEmployees().map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/topTenHighestEarningEmployeeNames")
+    public Mono<ResponseEntity<List<String>>> getTopTenHighestEarningEmployeeNames() {
+        return employeeService.getTopTenHighestEarningEmployeeNames().map(ResponseEntity::ok);
+    }
+
+    @PostMapping()
+    public Mono<ResponseEntity<Employee>> createEmployee(@Valid @RequestBody CreateEmployee employeeInput) {
+        return employeeService
+                .createEmployee(employeeInput)
+                .map(employee -> ResponseEntity.status(HttpStatus.CREATED).body(employee));
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<ResponseEntity<String>> deleteEmployeeById(@PathVariable String id) {
+        return employeeService.deleteEmployeeById(id).map(ResponseEntity::ok);
+    }
+}
@@ -0,0 +1,52 @@
+package com.reliaquest.api.controller;
+
+import com.reliaquest.api.service.client.cache.StaleSnapshots;
+import java.time.Duration;
+import java.time.Instant;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Tells callers when a response was served from an old snapshot
+ * because upstream is unavailable, see {@link StaleSnapshots}
+ * <p>
+ * Age holds the seconds since the snapshot was fetched
+ * and Warning flags the response as stale
+ */
+@Profile("!reactive")
+@RestControllerAdvice
+public class StaleSnapshotAdvice implements ResponseBodyAdvice<Object> {
+
+    static final String STALE_WARNING = "110 - \"Response is Stale\"";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(
+            Object body,
+            MethodParameter returnType,
+            MediaType selectedContentType,
+            Class<? extends HttpMessageConverter<?>> selectedConverterType,
+            ServerHttpRequest request,
+            ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletServerHttpRequest
+                && servletServerHttpRequest.getServletRequest().getAttribute(StaleSnapshots.FETCHED_AT_ATTRIBUTE)
+                        instanceof Instant fetchedAt) {
+            long age = Math.max(0, Duration.between(fetchedAt, Instant.now()).toSeconds());
+            response.getHeaders().set(HttpHeaders.AGE, Long.toString(age));
+            response.getHeaders().set(HttpHeaders.WARNING, STALE_WARNING);
+        }
+        return body;
+    }
+}
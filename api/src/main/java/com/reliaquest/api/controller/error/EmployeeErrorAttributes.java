@@ -5,6 +5,7 @@ import java.util.Map;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.web.error.ErrorAttributeOptions;
 import org.springframework.boot.web.servlet.error.DefaultErrorAttributes;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
@@ -16,6 +17,7 @@ import org.springframework.web.context.request.WebRequest;
  * default "errors" attribute contains too much data
  */
 @Component
+@Profile("!reactive")
 @Slf4j
 public class EmployeeErrorAttributes extends DefaultErrorAttributes {
 
@@ -0,0 +1,49 @@
+package com.reliaquest.api.controller.error;
+
+import java.util.List;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.web.error.ErrorAttributeOptions;
+import org.springframework.boot.web.reactive.error.DefaultErrorAttributes;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.FieldError;
+import org.springframework.web.reactive.function.server.ServerRequest;
+
+/**
+ * {@link EmployeeErrorAttributes} of the reactive stack,
+ * error bodies look the same whichever stack served them
+ */
+@Component
+@Profile("reactive")
+@Slf4j
+public class ReactiveEmployeeErrorAttributes extends DefaultErrorAttributes {
+
+    @Override
+    public Map<String, Object> getErrorAttributes(ServerRequest request, ErrorAttributeOptions options) {
+        Map<String, Object> errorAttributes = super.getErrorAttributes(request, options);
+        // servlet error bodies have no request id
+        errorAttributes.remove("requestId");
+
+        Throwable error = getError(request);
+        if (error instanceof BindingResult bindingResult) {
+            // message of the servlet stack, the reactive one names the handler method
+            errorAttributes.put(
+                    "message",
+                    "Validation failed for object='" + bindingResult.getObjectName() + "'. Error count: "
+                            + bindingResult.getErrorCount());
+            List<EmployeeErrorAttributes.ValidationError> validationErrors = bindingResult.getAllErrors().stream()
+                    .map(objectError -> new EmployeeErrorAttributes.ValidationError(
+                            objectError instanceof FieldError fieldError
+                                    ? fieldError.getField()
+                                    : objectError.getObjectName(),
+                            objectError.getDefaultMessage()))
+                    .toList();
+            errorAttributes.put("validation", validationErrors);
+            log.info("Adding validation errors to error response: [{}]", validationErrors);
+        }
+
+        return errorAttributes;
+    }
+}
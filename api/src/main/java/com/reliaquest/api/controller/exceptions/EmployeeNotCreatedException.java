@@ -0,0 +1,7 @@
+package com.reliaquest.api.controller.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(code = HttpStatus.BAD_REQUEST, reason = "Employee was not created, upstream rejected the input")
+public class EmployeeNotCreatedException extends RuntimeException {}
@@ -0,0 +1,20 @@
+package com.reliaquest.api.controller.exceptions;
+
+import java.time.Duration;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Rejected by the client side rate limiter without going upstream,
+ * upstream would have rejected it too
+ */
+@ResponseStatus(code = HttpStatus.TOO_MANY_REQUESTS, reason = "Too many requests, try again later")
+public class RequestShedException extends TooManyRequestException {
+
+    /**
+     * @param retryAfter how long until upstream accepts calls again
+     */
+    public RequestShedException(Duration retryAfter) {
+        super(retryAfter);
+    }
+}
@@ -1,7 +1,22 @@
 package com.reliaquest.api.controller.exceptions;
 
+import java.time.Duration;
+import lombok.Getter;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+@Getter
 @ResponseStatus(code = HttpStatus.TOO_MANY_REQUESTS, reason = "Too many requests, try again later")
-public class TooManyRequestException extends RuntimeException {}
+public class TooManyRequestException extends RuntimeException {
+
+    // how long upstream asked to wait, null if it did not say
+    private final Duration retryAfter;
+
+    public TooManyRequestException() {
+        this(null);
+    }
+
+    public TooManyRequestException(Duration retryAfter) {
+        this.retryAfter = retryAfter;
+    }
+}
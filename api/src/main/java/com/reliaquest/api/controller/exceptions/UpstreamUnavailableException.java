@@ -0,0 +1,11 @@
+package com.reliaquest.api.controller.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Upstream failed too often recently, calls are rejected
+ * straight away until it had time to recover
+ */
+@ResponseStatus(code = HttpStatus.SERVICE_UNAVAILABLE, reason = "Employee service unavailable, try again later")
+public class UpstreamUnavailableException extends RuntimeException {}
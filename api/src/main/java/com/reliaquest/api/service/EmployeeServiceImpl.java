@@ -2,22 +2,31 @@ package com.reliaquest.api.service;
 
 import com.reliaquest.api.controller.exceptions.CannotGuaranteeEmployeeDeletionException;
 import com.reliaquest.api.controller.exceptions.EmployeeNotDeletedException;
+import com.reliaquest.api.controller.exceptions.TooManyRequestException;
+import com.reliaquest.api.controller.exceptions.UpstreamUnavailableException;
 import com.reliaquest.api.model.CreateEmployee;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.service.client.EmployeeClient;
-import java.util.Comparator;
+import com.reliaquest.api.service.client.aggregate.EmployeeAggregation;
+import com.reliaquest.api.service.client.cache.EmployeeSnapshot;
+import com.reliaquest.api.service.client.cache.EmployeeSnapshotCache;
 import java.util.List;
+import java.util.function.Function;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.commons.lang3.StringUtils;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Service;
 
 @Service
+@Profile("!reactive")
 @RequiredArgsConstructor
 @Slf4j
 public class EmployeeServiceImpl implements EmployeeService {
 
+    static final int TOP_EARNERS = 10;
+
     private final EmployeeClient employeeClient;
+    private final EmployeeSnapshotCache employeeSnapshotCache;
 
     @Override
     public List<Employee> getAllEmployees() {
@@ -29,9 +38,9 @@ public class EmployeeServiceImpl implements EmployeeService {
     public List<Employee> getEmployeesByNameSearch(String searchString) {
         // GDPR not including customer data in logs
         log.info("Searching for employees");
-        return getAllEmployees().stream()
-                .filter(employee -> StringUtils.containsAnyIgnoreCase(employee.name(), searchString))
-                .toList();
+        // same matching as StringUtils.containsAnyIgnoreCase, answered from the snapshot name index
+        return fromSnapshot(
+                snapshot -> snapshot.searchByName(searchString), EmployeeAggregation.nameMatches(searchString));
     }
 
     @Override
@@ -43,27 +52,25 @@ public class EmployeeServiceImpl implements EmployeeService {
     @Override
     public Integer getHighestSalaryOfEmployees() {
         log.info("Getting highest salary");
-        return getAllEmployees().stream()
-                .map(Employee::salary)
-                .max(Comparator.comparingInt(salary -> salary))
-                // default lowest salary
-                .orElse(0);
+        // ranked once per snapshot, ties keep list order like a stable sort
+        return fromSnapshot(EmployeeSnapshot::getHighestSalary, EmployeeAggregation.highestSalary());
     }
 
     @Override
     public List<String> getTopTenHighestEarningEmployeeNames() {
         log.info("Getting top 10 highest salary names");
-        return getAllEmployees().stream()
-                .sorted(Comparator.comparingInt(Employee::salary).reversed())
-                .limit(10)
-                .map(Employee::name)
-                .toList();
+        return fromSnapshot(EmployeeSnapshot::getTopEarnerNames, EmployeeAggregation.topEarnerNames(TOP_EARNERS));
     }
 
     @Override
     public Employee createEmployee(CreateEmployee employeeInput) {
         log.info("Creating employee");
-        return employeeClient.createEmployee(employeeInput).data();
+        Employee employee = employeeClient.createEmployee(employeeInput).data();
+        if (employee != null) {
+            // upstream answered with the created employee, no need to reload the list to see it
+            employeeSnapshotCache.employeeCreated(employee);
+        }
+        return employee;
     }
 
     @Override
@@ -93,6 +100,33 @@ public class EmployeeServiceImpl implements EmployeeService {
             throw new EmployeeNotDeletedException();
         }
 
+        employeeSnapshotCache.employeeDeleted(employee.id());
         return name;
     }
+
+    /**
+     * Answers from the snapshot, which is loaded or refreshed as needed,
+     * the list is only streamed through the aggregation when no snapshot
+     * could be built from what upstream answered
+     * <p>
+     * Throttled, shed or unavailable upstream is passed on as is, streaming
+     * the list would be one more upstream read it is in no state to serve
+     */
+    private <R> R fromSnapshot(Function<EmployeeSnapshot, R> query, EmployeeAggregation<R> aggregation) {
+        EmployeeSnapshot snapshot;
+        try {
+            snapshot = employeeSnapshotCache.get();
+        } catch (TooManyRequestException | UpstreamUnavailableException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            log.info("No employee snapshot could be loaded, streaming the employee list");
+            try {
+                return employeeClient.aggregateEmployees(aggregation);
+            } catch (RuntimeException streamFailure) {
+                streamFailure.addSuppressed(e);
+                throw streamFailure;
+            }
+        }
+        return query.apply(snapshot);
+    }
 }
@@ -0,0 +1,27 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.model.CreateEmployee;
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link EmployeeService} of the reactive stack
+ */
+public interface ReactiveEmployeeService {
+
+    Flux<Employee> getAllEmployees();
+
+    Mono<List<Employee>> getEmployeesByNameSearch(String searchString);
+
+    Mono<Employee> getEmployee(String employeeId);
+
+    Mono<Integer> getHighestSalaryOfEmployees();
+
+    Mono<List<String>> getTopTenHighestEarningEmployeeNames();
+
+    Mono<Employee> createEmployee(CreateEmployee employeeInput);
+
+    Mono<String> deleteEmployeeById(String id);
+}
@@ -0,0 +1,87 @@
+package com.reliaquest.api.service;
+
+import com.reliaquest.api.controller.exceptions.CannotGuaranteeEmployeeDeletionException;
+import com.reliaquest.api.controller.exceptions.EmployeeNotDeletedException;
+import com.reliaquest.api.model.CreateEmployee;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.client.ReactiveEmployeeClient;
+import com.reliaquest.api.service.client.aggregate.EmployeeAggregation;
+import com.reliaquest.api.service.client.model.Response;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Same answers as {@link EmployeeServiceImpl}, searches and rankings
+ * are computed while the list streams in as there is no snapshot
+ */
+@Service
+@Profile("reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveEmployeeServiceImpl implements ReactiveEmployeeService {
+
+    private final ReactiveEmployeeClient employeeClient;
+
+    @Override
+    public Flux<Employee> getAllEmployees() {
+        log.info("Getting all employees");
+        return employeeClient.getAllEmployees();
+    }
+
+    @Override
+    public Mono<List<Employee>> getEmployeesByNameSearch(String searchString) {
+        // GDPR not including customer data in logs
+        log.info("Searching for employees");
+        return employeeClient.aggregateEmployees(EmployeeAggregation.nameMatches(searchString));
+    }
+
+    @Override
+    public Mono<Employee> getEmployee(String employeeId) {
+        log.info("Getting employee: {}", employeeId);
+        return employeeClient.getEmployee(employeeId).mapNotNull(Response::data);
+    }
+
+    @Override
+    public Mono<Integer> getHighestSalaryOfEmployees() {
+        log.info("Getting highest salary");
+        return employeeClient.aggregateEmployees(EmployeeAggregation.highestSalary());
+    }
+
+    @Override
+    public Mono<List<String>> getTopTenHighestEarningEmployeeNames() {
+        log.info("Getting top 10 highest salary names");
+        return employeeClient.aggregateEmployees(EmployeeAggregation.topEarnerNames(EmployeeServiceImpl.TOP_EARNERS));
+    }
+
+    @Override
+    public Mono<Employee> createEmployee(CreateEmployee employeeInput) {
+        log.info("Creating employee");
+        return employeeClient.createEmployee(employeeInput).mapNotNull(Response::data);
+    }
+
+    @Override
+    public Mono<String> deleteEmployeeById(String id) {
+        log.info("Deleting employee: {}", id);
+        // will return 404 to client if not found
+        return getEmployee(id).flatMap(employee -> employeeClient
+                .getAllEmployees()
+                .filter(employeeEntry -> employeeEntry.name().equalsIgnoreCase(employee.name()))
+                .count()
+                .flatMap(numberOfEmployees -> {
+                    log.info("Found: {} employees with the same name", numberOfEmployees);
+                    // same race as the blocking service, see EmployeeServiceImpl
+                    if (numberOfEmployees > 1) {
+                        return Mono.error(new CannotGuaranteeEmployeeDeletionException());
+                    }
+                    return employeeClient.deleteEmployee(employee.name());
+                })
+                .flatMap(response -> Boolean.TRUE.equals(response.data())
+                        ? Mono.just(employee.name())
+                        : Mono.error(new EmployeeNotDeletedException())));
+    }
+}
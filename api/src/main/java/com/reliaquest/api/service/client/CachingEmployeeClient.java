@@ -0,0 +1,105 @@
+package com.reliaquest.api.service.client;
+
+import com.reliaquest.api.controller.exceptions.UpstreamUnavailableException;
+import com.reliaquest.api.model.CreateEmployee;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.client.aggregate.EmployeeAggregation;
+import com.reliaquest.api.service.client.cache.EmployeeSnapshot;
+import com.reliaquest.api.service.client.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.service.client.cache.StaleSnapshots;
+import com.reliaquest.api.service.client.model.EmployeeChanges;
+import com.reliaquest.api.service.client.model.EmployeePage;
+import com.reliaquest.api.service.client.model.Response;
+import java.util.List;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Primary;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+/**
+ * Upstream only lets a handful of requests through
+ * before rate limiting, the full employee list is served
+ * from a shared snapshot instead of one call per request
+ * <p>
+ * Single employees are looked up in the snapshot first
+ * and only requested upstream when the snapshot does not have them,
+ * or looked up in the last snapshot whatever its age while upstream
+ * is unavailable
+ * <p>
+ * Anything else goes straight to the http client
+ */
+@Primary
+@Component
+@Profile("!reactive")
+@RequiredArgsConstructor
+@Slf4j
+public class CachingEmployeeClient implements EmployeeClient {
+
+    static final String SNAPSHOT_STATUS = "Served from employee snapshot.";
+
+    private final EmployeeClientImpl employeeClient;
+    private final EmployeeSnapshotCache employeeSnapshotCache;
+
+    @Override
+    public Response<List<Employee>> getAllEmployees() {
+        EmployeeSnapshot snapshot = employeeSnapshotCache.get();
+        log.info("Getting all employees from snapshot version: {}", snapshot.getVersion());
+        return new Response<>(snapshot.getEmployees(), SNAPSHOT_STATUS, null);
+    }
+
+    @Override
+    public EmployeePage getEmployeePage(String cursor, int limit) {
+        return employeeClient.getEmployeePage(cursor, limit);
+    }
+
+    @Override
+    public <R> R aggregateEmployees(EmployeeAggregation<R> aggregation) {
+        return employeeClient.aggregateEmployees(aggregation);
+    }
+
+    @Override
+    public EmployeeChanges getEmployeeChanges(long since) {
+        return employeeClient.getEmployeeChanges(since);
+    }
+
+    @Override
+    public Response<Employee> getEmployee(String employeeId) {
+        Optional<Employee> employee = employeeSnapshotCache.peek().flatMap(snapshot -> snapshot.findById(employeeId));
+        if (employee.isPresent()) {
+            log.info("Getting employee with id: {} from snapshot", employeeId);
+            return new Response<>(employee.get(), SNAPSHOT_STATUS, null);
+        }
+
+        try {
+            return employeeClient.getEmployee(employeeId);
+        } catch (UpstreamUnavailableException e) {
+            EmployeeSnapshot lastKnown = employeeSnapshotCache.lastKnown().orElseThrow(() -> e);
+            Employee staleEmployee = lastKnown.findById(employeeId).orElseThrow(() -> e);
+            log.info("Upstream unavailable, getting employee with id: {} from old snapshot", employeeId);
+            StaleSnapshots.markStale(lastKnown.getFetchedAt());
+            return new Response<>(staleEmployee, SNAPSHOT_STATUS, null);
+        }
+    }
+
+    @Override
+    public Response<Employee> createEmployee(CreateEmployee createEmployee) {
+        return employeeClient.createEmployee(createEmployee);
+    }
+
+    @Override
+    public List<Response<Employee>> createEmployees(List<CreateEmployee> createEmployees) {
+        return employeeClient.createEmployees(createEmployees);
+    }
+
+    @Override
+    public Response<Boolean> deleteEmployee(String employeeName) {
+        return employeeClient.deleteEmployee(employeeName);
+    }
+
+    @Override
+    public List<Response<Boolean>> deleteEmployees(List<String> employeeNames) {
+        return employeeClient.deleteEmployees(employeeNames);
+    }
+}
@@ -2,16 +2,62 @@ package com.reliaquest.api.service.client;
 
 import com.reliaquest.api.model.CreateEmployee;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.client.aggregate.EmployeeAggregation;
+import com.reliaquest.api.service.client.model.EmployeeChanges;
+import com.reliaquest.api.service.client.model.EmployeePage;
 import com.reliaquest.api.service.client.model.Response;
+import java.util.Iterator;
 import java.util.List;
 
 public interface EmployeeClient {
 
     Response<List<Employee>> getAllEmployees();
 
+    /**
+     * One page of employees in upstream order
+     *
+     * @param cursor null for the first page, then the next cursor of the previous page
+     */
+    EmployeePage getEmployeePage(String cursor, int limit);
+
+    /**
+     * Every employee, fetched one page at a time as the iterator advances
+     */
+    default Iterator<Employee> iterateEmployees(int pageSize) {
+        return new EmployeePageIterator(this, pageSize);
+    }
+
+    /**
+     * Computes the aggregation over the full employee list
+     * while it is read, without building the list
+     */
+    <R> R aggregateEmployees(EmployeeAggregation<R> aggregation);
+
+    /**
+     * Creates and deletes upstream since a version,
+     * or the whole list if upstream no longer has them
+     *
+     * @param since upstream version the caller holds, negative if it holds nothing yet
+     */
+    EmployeeChanges getEmployeeChanges(long since);
+
     Response<Employee> getEmployee(String employeeId);
 
     Response<Employee> createEmployee(CreateEmployee createEmployee);
 
+    /**
+     * Creates every employee in one upstream call
+     *
+     * @return one result per employee, in the same order
+     */
+    List<Response<Employee>> createEmployees(List<CreateEmployee> createEmployees);
+
     Response<Boolean> deleteEmployee(String employeeName);
+
+    /**
+     * Deletes one employee per name in one upstream call
+     *
+     * @return one result per name, in the same order
+     */
+    List<Response<Boolean>> deleteEmployees(List<String> employeeNames);
 }
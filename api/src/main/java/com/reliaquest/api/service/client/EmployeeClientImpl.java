@@ -1,77 +1,295 @@
 package com.reliaquest.api.service.client;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.controller.exceptions.EmployeeNotCreatedException;
+import com.reliaquest.api.controller.exceptions.EmployeeNotDeletedException;
 import com.reliaquest.api.model.CreateEmployee;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.client.aggregate.EmployeeAggregation;
+import com.reliaquest.api.service.client.aggregate.EmployeeStreamReader;
+import com.reliaquest.api.service.client.batch.GroupCommitBatcher;
+import com.reliaquest.api.service.client.breaker.CircuitBreaker;
+import com.reliaquest.api.service.client.breaker.CircuitBreakerInterceptor;
+import com.reliaquest.api.service.client.coalesce.RequestCoalescer;
 import com.reliaquest.api.service.client.error.EmployeeErrorHandler;
+import com.reliaquest.api.service.client.json.EmployeeHttpMessageConverter;
+import com.reliaquest.api.service.client.json.EmployeeJacksonModule;
 import com.reliaquest.api.service.client.json.EmployeeJacksonNamingStrategy;
+import com.reliaquest.api.service.client.limit.AdaptiveRateLimiter;
+import com.reliaquest.api.service.client.limit.RateLimitInterceptor;
 import com.reliaquest.api.service.client.model.DeleteEmployee;
+import com.reliaquest.api.service.client.model.EmployeeChanges;
+import com.reliaquest.api.service.client.model.EmployeePage;
 import com.reliaquest.api.service.client.model.Response;
+import com.reliaquest.api.service.client.retry.RetryExecutor;
 import java.net.http.HttpClient;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.context.annotation.Profile;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.DefaultResponseErrorHandler;
 import org.springframework.web.client.RestClient;
 
 @Component
+@Profile("!reactive")
 @Slf4j
-public class EmployeeClientImpl implements EmployeeClient {
+public class EmployeeClientImpl implements EmployeeClient, DisposableBean {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final DefaultResponseErrorHandler DEFAULT_ERROR_HANDLER = new DefaultResponseErrorHandler();
+
+    // built once, the converter keeps a reader per type
+    private static final ParameterizedTypeReference<Response<List<Employee>>> EMPLOYEE_LIST_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<Response<Employee>> EMPLOYEE_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<Response<EmployeeChanges>> EMPLOYEE_CHANGES_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<Response<Boolean>> DELETE_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<Response<List<Response<Employee>>>> CREATE_BATCH_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<Response<List<Response<Boolean>>>> DELETE_BATCH_RESPONSE =
+            new ParameterizedTypeReference<>() {};
 
     private final RestClient restClient;
+    // owned by this client, the http client never shuts down an executor it was handed
+    private final ExecutorService httpExecutor;
+    private final EmployeeErrorHandler errorHandler;
+    private final EmployeeStreamReader employeeStreamReader;
+    private final RequestCoalescer requestCoalescer = new RequestCoalescer();
+    private final RetryExecutor retryExecutor;
+
+    // concurrent writes share one upstream call, a batch of one goes to the single item endpoint
+    private final GroupCommitBatcher<CreateEmployee, Response<Employee>> createBatcher;
+    private final GroupCommitBatcher<String, Response<Boolean>> deleteBatcher;
+
+    // last full list with its etag, sent back as If-None-Match
+    private final AtomicReference<TaggedEmployees> lastEmployees = new AtomicReference<>();
 
     public EmployeeClientImpl(
             EmployeeClientProperties employeeClientProperties,
             RestClient.Builder restClientBuilder,
             Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder) {
-        JdkClientHttpRequestFactory jdkClientHttpRequestFactory = new JdkClientHttpRequestFactory(
-                HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build());
+        this.httpExecutor = httpExecutor(employeeClientProperties.transport());
+        JdkClientHttpRequestFactory jdkClientHttpRequestFactory =
+                new JdkClientHttpRequestFactory(httpClient(employeeClientProperties.transport(), httpExecutor));
         jdkClientHttpRequestFactory.setReadTimeout(employeeClientProperties.readTimeout());
         ObjectMapper objectMapper = jackson2ObjectMapperBuilder
                 .createXmlMapper(false)
                 .propertyNamingStrategy(new EmployeeJacksonNamingStrategy())
                 .build();
+        objectMapper.registerModule(new EmployeeJacksonModule());
+        this.errorHandler = new EmployeeErrorHandler(objectMapper);
+        this.employeeStreamReader = new EmployeeStreamReader(objectMapper.getFactory());
+        this.retryExecutor = new RetryExecutor(employeeClientProperties.retry());
+        EmployeeClientProperties.Batch batch = employeeClientProperties.batch();
+        this.createBatcher = new GroupCommitBatcher<>(
+                toCreate -> toCreate.size() == 1
+                        ? Collections.singletonList(postEmployee(toCreate.get(0)))
+                        : createEmployees(toCreate),
+                batch.linger(),
+                batch.maxSize());
+        this.deleteBatcher = new GroupCommitBatcher<>(
+                toDelete -> toDelete.size() == 1
+                        ? Collections.singletonList(deleteByName(toDelete.get(0)))
+                        : deleteEmployees(toDelete),
+                batch.linger(),
+                batch.maxSize());
         this.restClient = restClientBuilder
                 .messageConverters(httpMessageConverters -> {
                     httpMessageConverters.removeIf(httpMessageConverter ->
                             httpMessageConverter instanceof MappingJackson2HttpMessageConverter);
-                    httpMessageConverters.add(new MappingJackson2HttpMessageConverter(objectMapper));
+                    httpMessageConverters.add(new EmployeeHttpMessageConverter(objectMapper));
                 })
-                .defaultStatusHandler(EmployeeErrorHandler.statusPredicate(), new EmployeeErrorHandler(objectMapper))
+                .defaultStatusHandler(EmployeeErrorHandler.statusPredicate(), errorHandler)
                 .requestFactory(jdkClientHttpRequestFactory)
+                // outermost first, a call the limiter sheds never reaches the breaker to count as a failure
+                .requestInterceptor(
+                        new RateLimitInterceptor(new AdaptiveRateLimiter(employeeClientProperties.rateLimit())))
+                .requestInterceptor(
+                        new CircuitBreakerInterceptor(new CircuitBreaker(employeeClientProperties.circuitBreaker())))
                 .baseUrl(employeeClientProperties.baseUrl())
                 .build();
     }
 
+    /**
+     * Stops the threads calls to upstream run on, calls already running
+     * are let finish
+     */
+    @Override
+    public void destroy() {
+        httpExecutor.shutdown();
+    }
+
     @Override
     public Response<List<Employee>> getAllEmployees() {
         log.info("Getting all employees");
-        return restClient
+        return read("/api/v1/employee", () -> {
+            TaggedEmployees previous = lastEmployees.get();
+            ResponseEntity<Response<List<Employee>>> response = restClient
+                    .get()
+                    .uri("/api/v1/employee")
+                    .accept(MediaType.APPLICATION_JSON)
+                    .headers(headers -> {
+                        if (previous != null) {
+                            headers.setIfNoneMatch(previous.etag());
+                        }
+                    })
+                    .retrieve()
+                    .toEntity(EMPLOYEE_LIST_RESPONSE);
+
+            if (response.getStatusCode().value() == HttpStatus.NOT_MODIFIED.value() && previous != null) {
+                // same instance as last time, callers can tell nothing changed
+                log.info("Employees not modified since: {}", previous.etag());
+                return previous.response();
+            }
+
+            String etag = response.getHeaders().getETag();
+            lastEmployees.set(etag == null ? null : new TaggedEmployees(etag, response.getBody()));
+            return response.getBody();
+        });
+    }
+
+    /**
+     * The body is read as it arrives instead of through the message
+     * converters, status handlers are applied here as exchange skips them
+     */
+    @Override
+    public <R> R aggregateEmployees(EmployeeAggregation<R> aggregation) {
+        log.info("Aggregating employees: {}", aggregation.kind());
+        return read("/api/v1/employee#" + aggregation.key(), () -> restClient
                 .get()
                 .uri("/api/v1/employee")
                 .accept(MediaType.APPLICATION_JSON)
+                .exchange((request, response) -> {
+                    if (EmployeeErrorHandler.statusPredicate().test(response.getStatusCode())) {
+                        errorHandler.handle(request, response);
+                    }
+                    if (response.getStatusCode().isError()) {
+                        DEFAULT_ERROR_HANDLER.handleError(response);
+                    }
+                    return employeeStreamReader.read(response.getBody(), aggregation.aggregator().get());
+                }));
+    }
+
+    @Override
+    public EmployeePage getEmployeePage(String cursor, int limit) {
+        log.info("Getting employee page after cursor: {}", cursor);
+        ResponseEntity<Response<List<Employee>>> response =
+                read("/api/v1/employee?cursor=" + cursor + "&limit=" + limit, () -> restClient
+                        .get()
+                        .uri(uriBuilder -> uriBuilder
+                                .path("/api/v1/employee")
+                                .queryParamIfPresent("cursor", Optional.ofNullable(cursor))
+                                .queryParam("limit", limit)
+                                .build())
+                        .accept(MediaType.APPLICATION_JSON)
+                        .retrieve()
+                        .toEntity(EMPLOYEE_LIST_RESPONSE));
+        List<Employee> employees = response.getBody() == null || response.getBody().data() == null
+                ? List.of()
+                : response.getBody().data();
+        return new EmployeePage(employees, response.getHeaders().getFirst(NEXT_CURSOR_HEADER));
+    }
+
+    @Override
+    public EmployeeChanges getEmployeeChanges(long since) {
+        log.info("Getting employee changes since version: {}", since);
+        Response<EmployeeChanges> response = read("/api/v1/employee/changes?since=" + since, () -> restClient
+                .get()
+                .uri("/api/v1/employee/changes?since={since}", since)
+                .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
-                .body(new ParameterizedTypeReference<>() {});
+                .body(EMPLOYEE_CHANGES_RESPONSE));
+        return response == null ? null : response.data();
     }
 
     @Override
     public Response<Employee> getEmployee(String employeeId) {
         log.info("Getting employee with id: {}", employeeId);
-        return restClient
+        return read("/api/v1/employee/" + employeeId, () -> restClient
                 .get()
                 .uri("/api/v1/employee/{employeeId}", employeeId)
                 .accept(MediaType.APPLICATION_JSON)
                 .retrieve()
-                .body(new ParameterizedTypeReference<>() {});
+                .body(EMPLOYEE_RESPONSE));
     }
 
+    /**
+     * An item upstream rejected within a batch fails only the caller
+     * who submitted it, the rest of the batch is created
+     */
     @Override
     public Response<Employee> createEmployee(CreateEmployee createEmployee) {
+        Response<Employee> response = createBatcher.submit(createEmployee);
+        if (response.error() != null) {
+            log.info("Upstream rejected employee: {}", response.error());
+            throw new EmployeeNotCreatedException();
+        }
+        return response;
+    }
+
+    @Override
+    public List<Response<Employee>> createEmployees(List<CreateEmployee> createEmployees) {
+        log.info("Creating {} employees", createEmployees.size());
+        Response<List<Response<Employee>>> response = restClient
+                .post()
+                .uri("/api/v1/employee/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(createEmployees)
+                .retrieve()
+                .body(CREATE_BATCH_RESPONSE);
+        return response == null ? null : response.data();
+    }
+
+    /**
+     * Same as {@link #createEmployee(CreateEmployee)}, a rejected item
+     * fails only its own caller
+     */
+    @Override
+    public Response<Boolean> deleteEmployee(String employeeName) {
+        Response<Boolean> response = deleteBatcher.submit(employeeName);
+        if (response.error() != null) {
+            log.info("Upstream rejected delete: {}", response.error());
+            throw new EmployeeNotDeletedException();
+        }
+        return response;
+    }
+
+    @Override
+    public List<Response<Boolean>> deleteEmployees(List<String> employeeNames) {
+        log.info("Deleting {} employees", employeeNames.size());
+        Response<List<Response<Boolean>>> response = restClient
+                .method(HttpMethod.DELETE)
+                .uri("/api/v1/employee/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .body(employeeNames.stream().map(DeleteEmployee::new).toList())
+                .retrieve()
+                .body(DELETE_BATCH_RESPONSE);
+        return response == null ? null : response.data();
+    }
+
+    private Response<Employee> postEmployee(CreateEmployee createEmployee) {
         log.info("Creating employee");
         return restClient
                 .post()
@@ -80,11 +298,10 @@ public class EmployeeClientImpl implements EmployeeClient {
                 .accept(MediaType.APPLICATION_JSON)
                 .body(createEmployee)
                 .retrieve()
-                .body(new ParameterizedTypeReference<>() {});
+                .body(EMPLOYEE_RESPONSE);
     }
 
-    @Override
-    public Response<Boolean> deleteEmployee(String employeeName) {
+    private Response<Boolean> deleteByName(String employeeName) {
         log.info("Deleting employee");
         return restClient
                 .method(HttpMethod.DELETE)
@@ -93,6 +310,38 @@ public class EmployeeClientImpl implements EmployeeClient {
                 .accept(MediaType.APPLICATION_JSON)
                 .body(new DeleteEmployee(employeeName))
                 .retrieve()
-                .body(new ParameterizedTypeReference<>() {});
+                .body(DELETE_RESPONSE);
+    }
+
+    /**
+     * Concurrent identical reads share one call, which is retried on
+     * failures a second try could fix
+     */
+    private <T> T read(String uri, Supplier<T> call) {
+        return requestCoalescer.execute(HttpMethod.GET, uri, () -> retryExecutor.execute(call));
+    }
+
+    private record TaggedEmployees(String etag, Response<List<Employee>> response) {}
+
+    /**
+     * The pool size and keep alive are jvm wide, see {@link HttpClientSystemProperties}
+     */
+    private static HttpClient httpClient(EmployeeClientProperties.Transport transport, ExecutorService httpExecutor) {
+        return HttpClient.newBuilder()
+                .version(transport.version())
+                .connectTimeout(transport.connectTimeout())
+                .executor(httpExecutor)
+                .build();
+    }
+
+    private static ExecutorService httpExecutor(EmployeeClientProperties.Transport transport) {
+        if (transport.virtualThreads()) {
+            // nothing to size, a call waiting on upstream only holds on to its stack
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("employee-http-", 1).factory());
+        }
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("employee-http-");
+        threadFactory.setDaemon(true);
+        return Executors.newFixedThreadPool(transport.executorThreads(), threadFactory);
     }
 }
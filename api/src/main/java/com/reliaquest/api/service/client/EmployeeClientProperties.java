@@ -1,7 +1,112 @@
 package com.reliaquest.api.service.client;
 
+import java.net.http.HttpClient;
 import java.time.Duration;
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
 
 @ConfigurationProperties(prefix = "employee-client")
-public record EmployeeClientProperties(Duration readTimeout, String baseUrl) {}
+public record EmployeeClientProperties(
+        Duration readTimeout,
+        String baseUrl,
+        @DefaultValue Cache cache,
+        @DefaultValue RateLimit rateLimit,
+        @DefaultValue Retry retry,
+        @DefaultValue CircuitBreaker circuitBreaker,
+        @DefaultValue Transport transport,
+        @DefaultValue Batch batch) {
+
+    /**
+     * Settings of the employee list snapshot
+     *
+     * @param ttl                  how long a snapshot is served without going upstream
+     * @param staleWhileRevalidate how long after the ttl an expired snapshot is still
+     *                             served while it is refreshed in the background
+     */
+    public record Cache(@DefaultValue("10s") Duration ttl, @DefaultValue("50s") Duration staleWhileRevalidate) {}
+
+    /**
+     * Settings of the client side rate limiter, the budget and window
+     * themselves are learnt from upstream
+     *
+     * @param initialBackoff how long to wait after a 429 without Retry-After
+     * @param maxBackoff     upper bound of the backoff, doubled on every 429 in a row
+     * @param maxWait        how long a call may wait for upstream before it is
+     *                       rejected without going upstream
+     */
+    public record RateLimit(
+            @DefaultValue("1s") Duration initialBackoff,
+            @DefaultValue("90s") Duration maxBackoff,
+            @DefaultValue("2s") Duration maxWait) {}
+
+    /**
+     * Settings of retries and hedging of reads, writes are never retried
+     *
+     * @param maxAttempts     attempts including the first one
+     * @param baseDelay       smallest delay before a retry
+     * @param maxDelay        largest delay before a retry
+     * @param deadline        no retry is started once it would end after this
+     * @param hedgePercentile latency percentile of recent reads after which a second
+     *                        read is sent, between 0 and 1, 0 turns hedging off
+     */
+    public record Retry(
+            @DefaultValue("3") int maxAttempts,
+            @DefaultValue("100ms") Duration baseDelay,
+            @DefaultValue("2s") Duration maxDelay,
+            @DefaultValue("10s") Duration deadline,
+            @DefaultValue("0") double hedgePercentile) {}
+
+    /**
+     * Settings of the circuit breaker in front of upstream
+     *
+     * @param slidingWindowSize    number of most recent calls the failure rate is taken from
+     * @param minimumCalls         calls needed in the window before the breaker can open
+     * @param failureRateThreshold percentage of failed calls that opens the breaker
+     * @param openDuration         how long calls are rejected before probing upstream again
+     * @param halfOpenCalls        probe calls that must all succeed to close the breaker
+     */
+    public record CircuitBreaker(
+            @DefaultValue("20") int slidingWindowSize,
+            @DefaultValue("10") int minimumCalls,
+            @DefaultValue("50") int failureRateThreshold,
+            @DefaultValue("30s") Duration openDuration,
+            @DefaultValue("3") int halfOpenCalls) {}
+
+    /**
+     * Settings of the http client talking to upstream
+     * <p>
+     * The jdk client only has jvm wide pool settings, they are set as
+     * system properties unless already given on the command line
+     *
+     * @param version            http version, HTTP_2 upgrades plain http to h2c
+     *                           and multiplexes calls over one connection
+     * @param connectTimeout     how long to wait for a connection to upstream
+     * @param executorThreads    threads of the dedicated executor running the client
+     * @param connectionPoolSize most idle connections kept, 0 for no limit, jvm wide
+     *                           and only applied when started through ApiApplication
+     * @param keepAlive          how long an idle connection is kept, same as the pool size
+     * @param virtualThreads     run the client on a virtual thread per task instead of
+     *                           the executor threads, follows spring.threads.virtual.enabled
+     * @param maxConnections     most connections the reactive client opens to upstream,
+     *                           further calls wait for one to be released
+     */
+    public record Transport(
+            @DefaultValue("HTTP_2") HttpClient.Version version,
+            @DefaultValue("2s") Duration connectTimeout,
+            @DefaultValue("8") int executorThreads,
+            @DefaultValue("16") int connectionPoolSize,
+            @DefaultValue("60s") Duration keepAlive,
+            @DefaultValue("false") boolean virtualThreads,
+            @DefaultValue("10000") int maxConnections) {}
+
+    /**
+     * Settings of the grouping of concurrent creates and deletes
+     * into one upstream batch call
+     *
+     * @param linger  how long the first write of a batch waits for others to join it,
+     *                0 by default, which sends every write on its own. Batching is opt in,
+     *                a lone write would otherwise always pay the whole window
+     * @param maxSize most writes in one batch, upstream takes at most 1000
+     */
+    public record Batch(@DefaultValue("0") Duration linger, @DefaultValue("100") int maxSize) {}
+}
@@ -0,0 +1,48 @@
+package com.reliaquest.api.service.client;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.client.model.EmployeePage;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Walks every employee one page at a time,
+ * only the current page is held in memory
+ * <p>
+ * Pages are requested lazily, each one is an upstream call
+ */
+final class EmployeePageIterator implements Iterator<Employee> {
+
+    private final EmployeeClient employeeClient;
+    private final int pageSize;
+
+    private Iterator<Employee> page = Collections.emptyIterator();
+    private String nextCursor;
+    private boolean lastPage;
+
+    EmployeePageIterator(EmployeeClient employeeClient, int pageSize) {
+        this.employeeClient = employeeClient;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        // an empty page before the last one is still followed
+        while (!page.hasNext() && !lastPage) {
+            EmployeePage employeePage = employeeClient.getEmployeePage(nextCursor, pageSize);
+            page = employeePage.employees().iterator();
+            nextCursor = employeePage.nextCursor();
+            lastPage = nextCursor == null;
+        }
+        return page.hasNext();
+    }
+
+    @Override
+    public Employee next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return page.next();
+    }
+}
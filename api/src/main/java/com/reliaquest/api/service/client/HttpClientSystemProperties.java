@@ -0,0 +1,30 @@
+package com.reliaquest.api.service.client;
+
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ApplicationListener;
+
+/**
+ * Sets the jvm wide connection pool settings of the jdk http client
+ * from employee-client.transport, once the environment is ready and
+ * before the context starts, as the jdk reads them a single time
+ * <p>
+ * A property given with -D wins
+ */
+public class HttpClientSystemProperties implements ApplicationListener<ApplicationEnvironmentPreparedEvent> {
+
+    @Override
+    public void onApplicationEvent(ApplicationEnvironmentPreparedEvent event) {
+        EmployeeClientProperties.Transport transport = Binder.get(event.getEnvironment())
+                .bindOrCreate("employee-client.transport", EmployeeClientProperties.Transport.class);
+        setIfAbsent("jdk.httpclient.connectionPoolSize", transport.connectionPoolSize());
+        setIfAbsent("jdk.httpclient.keepalive.timeout", transport.keepAlive().toSeconds());
+        setIfAbsent("jdk.httpclient.keepalive.timeout.h2", transport.keepAlive().toSeconds());
+    }
+
+    private static void setIfAbsent(String property, long value) {
+        if (System.getProperty(property) == null) {
+            System.setProperty(property, Long.toString(value));
+        }
+    }
+}
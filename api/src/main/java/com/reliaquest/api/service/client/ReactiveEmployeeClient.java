@@ -0,0 +1,35 @@
+package com.reliaquest.api.service.client;
+
+import com.reliaquest.api.model.CreateEmployee;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.client.aggregate.EmployeeAggregation;
+import com.reliaquest.api.service.client.model.Response;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link EmployeeClient} of the reactive stack, nothing waits
+ * on upstream with a thread held
+ */
+public interface ReactiveEmployeeClient {
+
+    /**
+     * Every employee in upstream order, emitted as the list is read
+     * <p>
+     * Not retried, employees may already have been emitted when the read fails.
+     * Concurrent calls may share one upstream read
+     */
+    Flux<Employee> getAllEmployees();
+
+    /**
+     * Computes the aggregation over the full employee list
+     * while it is read, a retried read starts over
+     */
+    <R> Mono<R> aggregateEmployees(EmployeeAggregation<R> aggregation);
+
+    Mono<Response<Employee>> getEmployee(String employeeId);
+
+    Mono<Response<Employee>> createEmployee(CreateEmployee createEmployee);
+
+    Mono<Response<Boolean>> deleteEmployee(String employeeName);
+}
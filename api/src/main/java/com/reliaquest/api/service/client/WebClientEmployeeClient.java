@@ -0,0 +1,269 @@
+package com.reliaquest.api.service.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.controller.exceptions.EmployeeNotFoundException;
+import com.reliaquest.api.controller.exceptions.TooManyRequestException;
+import com.reliaquest.api.model.CreateEmployee;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.client.aggregate.EmployeeAggregation;
+import com.reliaquest.api.service.client.aggregate.EmployeeAggregator;
+import com.reliaquest.api.service.client.aggregate.StreamedEmployee;
+import com.reliaquest.api.service.client.breaker.CircuitBreaker;
+import com.reliaquest.api.service.client.breaker.CircuitBreakerFilter;
+import com.reliaquest.api.service.client.json.EmployeeJacksonModule;
+import com.reliaquest.api.service.client.json.EmployeeJacksonNamingStrategy;
+import com.reliaquest.api.service.client.json.EmployeeListDecoder;
+import com.reliaquest.api.service.client.limit.RateLimitInterceptor;
+import com.reliaquest.api.service.client.model.DeleteEmployee;
+import com.reliaquest.api.service.client.model.Response;
+import com.reliaquest.api.service.client.retry.RetryExecutor;
+import io.netty.channel.ChannelOption;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.util.retry.Retry;
+
+/**
+ * Upstream client of the reactive stack
+ * <p>
+ * Calls share the circuit breaker logic of the blocking client and reads
+ * are retried with the same settings, there is no snapshot cache so every
+ * call goes upstream. A call waiting on upstream holds a pooled connection
+ * and no thread, the event loop moves on until the response arrives
+ * <p>
+ * Concurrent reads of the employee list share one upstream call, callers
+ * joining while it streams get the employees read so far replayed first
+ */
+@Component
+@Profile("reactive")
+@Slf4j
+public class WebClientEmployeeClient implements ReactiveEmployeeClient {
+
+    private static final ParameterizedTypeReference<Response<Employee>> EMPLOYEE_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<Response<Boolean>> DELETE_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+    private static final ParameterizedTypeReference<Response<Object>> ERROR_RESPONSE =
+            new ParameterizedTypeReference<>() {};
+
+    private final WebClient webClient;
+    private final EmployeeListDecoder employeeListDecoder;
+    private final Retry readRetry;
+
+    // list read in flight, null when there is none
+    private final AtomicReference<Flux<Employee>> employeesInFlight = new AtomicReference<>();
+
+    public WebClientEmployeeClient(
+            EmployeeClientProperties employeeClientProperties,
+            WebClient.Builder webClientBuilder,
+            Jackson2ObjectMapperBuilder jackson2ObjectMapperBuilder) {
+        ObjectMapper objectMapper = jackson2ObjectMapperBuilder
+                .createXmlMapper(false)
+                .propertyNamingStrategy(new EmployeeJacksonNamingStrategy())
+                .build();
+        objectMapper.registerModule(new EmployeeJacksonModule());
+        this.employeeListDecoder = new EmployeeListDecoder(objectMapper);
+        this.readRetry = readRetry(employeeClientProperties.retry());
+        this.webClient = webClientBuilder
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper));
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                })
+                .clientConnector(new ReactorClientHttpConnector(httpClient(employeeClientProperties)))
+                .filter(new CircuitBreakerFilter(new CircuitBreaker(employeeClientProperties.circuitBreaker())))
+                .baseUrl(employeeClientProperties.baseUrl())
+                .build();
+    }
+
+    @Override
+    public Flux<Employee> getAllEmployees() {
+        return Flux.defer(() -> {
+            Flux<Employee> inFlight = employeesInFlight.get();
+            if (inFlight != null) {
+                log.debug("Joining in flight employee list read");
+                return inFlight;
+            }
+
+            // only the read that was installed ever clears it, once upstream is done
+            Flux<Employee> read = readEmployees()
+                    .doFinally(signal -> employeesInFlight.set(null))
+                    .cache();
+            return employeesInFlight.compareAndSet(null, read) ? read : getAllEmployees();
+        });
+    }
+
+    private Flux<Employee> readEmployees() {
+        return Flux.defer(() -> {
+            log.info("Streaming all employees");
+            return employeeListDecoder.decode(webClient
+                    .get()
+                    .uri("/api/v1/employee")
+                    .accept(MediaType.APPLICATION_JSON)
+                    .retrieve()
+                    .onStatus(HttpStatus.TOO_MANY_REQUESTS::isSameCodeAs, this::tooManyRequests)
+                    .bodyToFlux(DataBuffer.class));
+        });
+    }
+
+    @Override
+    public <R> Mono<R> aggregateEmployees(EmployeeAggregation<R> aggregation) {
+        return Mono.defer(() -> {
+                    log.info("Aggregating employees: {}", aggregation.kind());
+                    EmployeeAggregator<R> aggregator = aggregation.aggregator().get();
+                    StreamedEmployee streamed = new StreamedEmployee();
+                    return getAllEmployees()
+                            .doOnNext(employee -> aggregator.accept(streamed.from(employee)))
+                            .then(Mono.fromSupplier(aggregator::result));
+                })
+                .retryWhen(readRetry);
+    }
+
+    @Override
+    public Mono<Response<Employee>> getEmployee(String employeeId) {
+        return Mono.defer(() -> {
+                    log.info("Getting employee with id: {}", employeeId);
+                    return webClient
+                            .get()
+                            .uri("/api/v1/employee/{employeeId}", employeeId)
+                            .accept(MediaType.APPLICATION_JSON)
+                            .retrieve()
+                            .onStatus(HttpStatus.NOT_FOUND::isSameCodeAs, this::notFound)
+                            .onStatus(HttpStatus.TOO_MANY_REQUESTS::isSameCodeAs, this::tooManyRequests)
+                            .bodyToMono(EMPLOYEE_RESPONSE);
+                })
+                .retryWhen(readRetry);
+    }
+
+    @Override
+    public Mono<Response<Employee>> createEmployee(CreateEmployee createEmployee) {
+        return Mono.defer(() -> {
+            log.info("Creating employee");
+            return webClient
+                    .post()
+                    .uri("/api/v1/employee")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .bodyValue(createEmployee)
+                    .retrieve()
+                    .onStatus(HttpStatus.TOO_MANY_REQUESTS::isSameCodeAs, this::tooManyRequests)
+                    .bodyToMono(EMPLOYEE_RESPONSE);
+        });
+    }
+
+    @Override
+    public Mono<Response<Boolean>> deleteEmployee(String employeeName) {
+        return Mono.defer(() -> {
+            log.info("Deleting employee");
+            return webClient
+                    .method(HttpMethod.DELETE)
+                    .uri("/api/v1/employee")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .accept(MediaType.APPLICATION_JSON)
+                    .bodyValue(new DeleteEmployee(employeeName))
+                    .retrieve()
+                    .onStatus(HttpStatus.TOO_MANY_REQUESTS::isSameCodeAs, this::tooManyRequests)
+                    .bodyToMono(DELETE_RESPONSE);
+        });
+    }
+
+    /**
+     * Same as the blocking client, a 404 only means an unknown
+     * employee when upstream answered with its usual body
+     */
+    private Mono<? extends Throwable> notFound(ClientResponse response) {
+        return response.bodyToMono(ERROR_RESPONSE)
+                .map(body -> body.error() == null && body.status() != null
+                        ? new EmployeeNotFoundException()
+                        : new IllegalStateException("Cannot handle http code: 404"))
+                .defaultIfEmpty(new IllegalStateException("Cannot handle http code: 404"));
+    }
+
+    private Mono<? extends Throwable> tooManyRequests(ClientResponse response) {
+        log.info("Upstream is rate limiting");
+        Duration retryAfter = RateLimitInterceptor.retryAfter(response.headers().asHttpHeaders());
+        return response.releaseBody().then(Mono.fromSupplier(() -> new TooManyRequestException(retryAfter)));
+    }
+
+    /**
+     * Only failures a second try could fix, like the blocking client.
+     * There is no limiter on this stack to learn the upstream budget
+     * from, so a 429 is only retried when upstream said how long to wait
+     */
+    static boolean isRetryable(Throwable throwable) {
+        return throwable instanceof TooManyRequestException tooManyRequests && tooManyRequests.getRetryAfter() != null
+                || throwable instanceof WebClientRequestException
+                || throwable instanceof WebClientResponseException responseException
+                        && responseException.getStatusCode().is5xxServerError();
+    }
+
+    /**
+     * Same delays and deadline as {@link RetryExecutor}, the state
+     * is kept per subscription so every read has its own
+     */
+    private static Retry readRetry(EmployeeClientProperties.Retry retryProperties) {
+        int maxRetries = Math.max(0, retryProperties.maxAttempts() - 1);
+        return Retry.from(signals -> {
+            long deadlineNanos = System.nanoTime() + retryProperties.deadline().toNanos();
+            AtomicReference<Duration> delay = new AtomicReference<>(retryProperties.baseDelay());
+            return signals.concatMap(signal -> {
+                // the caller sees what upstream answered, not that retries ran out
+                Throwable failure = signal.failure();
+                if (!isRetryable(failure) || signal.totalRetries() >= maxRetries) {
+                    return Mono.error(failure);
+                }
+
+                Duration next = RetryExecutor.nextDelay(
+                        retryProperties.baseDelay(), retryProperties.maxDelay(), delay.get(), failure);
+                if (System.nanoTime() + next.toNanos() > deadlineNanos) {
+                    log.info("No time left to retry within {}, giving up", retryProperties.deadline());
+                    return Mono.error(failure);
+                }
+
+                delay.set(next);
+                log.info(
+                        "Attempt {} failed with {}, retrying in {}",
+                        signal.totalRetries() + 1,
+                        failure.getClass().getSimpleName(),
+                        next);
+                return Mono.delay(next);
+            });
+        });
+    }
+
+    private static HttpClient httpClient(EmployeeClientProperties employeeClientProperties) {
+        EmployeeClientProperties.Transport transport = employeeClientProperties.transport();
+        ConnectionProvider connectionProvider = ConnectionProvider.builder("employee-http")
+                .maxConnections(transport.maxConnections())
+                // calls queue for a connection instead of failing, the read timeout still bounds them
+                .pendingAcquireMaxCount(-1)
+                .maxIdleTime(transport.keepAlive())
+                .build();
+        HttpProtocol[] protocols = transport.version() == java.net.http.HttpClient.Version.HTTP_2
+                ? new HttpProtocol[] {HttpProtocol.H2C, HttpProtocol.HTTP11}
+                : new HttpProtocol[] {HttpProtocol.HTTP11};
+        return HttpClient.create(connectionProvider)
+                .protocol(protocols)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) transport.connectTimeout().toMillis())
+                .responseTimeout(employeeClientProperties.readTimeout());
+    }
+}
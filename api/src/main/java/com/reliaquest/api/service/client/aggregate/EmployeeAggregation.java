@@ -0,0 +1,55 @@
+package com.reliaquest.api.service.client.aggregate;
+
+import com.reliaquest.api.model.Employee;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * What to compute over the full employee list while it is streamed
+ *
+ * @param kind       what is computed, without any caller input so it can be logged
+ * @param key        tells aggregations apart, concurrent reads of the same one share an upstream call,
+ *                   caller input is only part of it hashed
+ * @param aggregator new aggregator for every read, a retried read starts over
+ */
+public record EmployeeAggregation<R>(String kind, String key, Supplier<EmployeeAggregator<R>> aggregator) {
+
+    /**
+     * Highest salary, 0 without any salary
+     */
+    public static EmployeeAggregation<Integer> highestSalary() {
+        return new EmployeeAggregation<>("highest-salary", "highest-salary", HighestSalaryAggregator::new);
+    }
+
+    /**
+     * Names of the best paid employees, best first,
+     * employees with the same salary keep their list order
+     */
+    public static EmployeeAggregation<List<String>> topEarnerNames(int count) {
+        return new EmployeeAggregation<>(
+                "top-earner-names", "top-earner-names-" + count, () -> new TopEarnersAggregator(count));
+    }
+
+    /**
+     * Employees whose name contains the search string ignoring case, in list order
+     */
+    public static EmployeeAggregation<List<Employee>> nameMatches(String searchString) {
+        // GDPR not including customer data in logs, the key ends up in debug logs of coalesced calls
+        return new EmployeeAggregation<>(
+                "name-matches", "name-matches-" + sha256(searchString), () -> new NameMatchAggregator(searchString));
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // every jdk has to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
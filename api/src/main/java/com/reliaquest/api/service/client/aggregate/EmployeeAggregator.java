@@ -0,0 +1,26 @@
+package com.reliaquest.api.service.client.aggregate;
+
+/**
+ * Folds the employees of a list into a result as they are read,
+ * one instance per read
+ *
+ * @param <R> result type, shared between concurrent callers so it must not be modified
+ */
+public interface EmployeeAggregator<R> {
+
+    /**
+     * Called once per employee in list order, the employee is reused
+     * for the next one so only what it returns may be kept
+     */
+    void accept(StreamedEmployee employee);
+
+    R result();
+
+    /**
+     * Whether every field of the employees is needed,
+     * otherwise only the name and salary are read
+     */
+    default boolean readsAllFields() {
+        return false;
+    }
+}
@@ -0,0 +1,97 @@
+package com.reliaquest.api.service.client.aggregate;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.reliaquest.api.service.client.json.EmployeeField;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads the employees of an upstream list response token by token
+ * and hands them to an aggregator, no employee list is ever built
+ * <p>
+ * Fields are matched by their upstream names, see {@link EmployeeField},
+ * anything the aggregator does not need, including unknown fields,
+ * is skipped without being decoded
+ */
+public final class EmployeeStreamReader {
+
+    private final JsonFactory jsonFactory;
+
+    public EmployeeStreamReader(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    public <R> R read(InputStream body, EmployeeAggregator<R> aggregator) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (next(parser) != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected an employee list response");
+            }
+
+            while (next(parser) == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                if (next(parser) == JsonToken.START_ARRAY && "data".equals(field)) {
+                    readEmployees(parser, aggregator);
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return aggregator.result();
+    }
+
+    private static void readEmployees(JsonParser parser, EmployeeAggregator<?> aggregator) throws IOException {
+        StreamedEmployee employee = new StreamedEmployee();
+        boolean allFields = aggregator.readsAllFields();
+        for (JsonToken token = next(parser); token != JsonToken.END_ARRAY; token = next(parser)) {
+            if (token != JsonToken.START_OBJECT) {
+                // null entries have nothing to aggregate
+                parser.skipChildren();
+                continue;
+            }
+
+            employee.clear();
+            while (next(parser) == JsonToken.FIELD_NAME) {
+                EmployeeField field = EmployeeField.of(parser.currentName());
+                JsonToken value = next(parser);
+                switch (field) {
+                    case NAME -> employee.name = text(parser, value);
+                    case SALARY -> employee.salary = number(parser, value);
+                    case ID -> employee.id = allFields ? text(parser, value) : skip(parser);
+                    case AGE -> employee.age = allFields ? number(parser, value) : skip(parser);
+                    case TITLE -> employee.title = allFields ? text(parser, value) : skip(parser);
+                    case EMAIL -> employee.email = allFields ? text(parser, value) : skip(parser);
+                    case UNKNOWN -> parser.skipChildren();
+                }
+            }
+            aggregator.accept(employee);
+        }
+    }
+
+    /**
+     * A body cut short fails the read instead of aggregating part of the list
+     */
+    private static JsonToken next(JsonParser parser) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == null) {
+            throw new JsonEOFException(parser, null, "Employee list response ended early");
+        }
+        return token;
+    }
+
+    private static String text(JsonParser parser, JsonToken value) throws IOException {
+        return value == JsonToken.VALUE_NULL ? null : parser.getValueAsString();
+    }
+
+    private static Integer number(JsonParser parser, JsonToken value) throws IOException {
+        return value == JsonToken.VALUE_NULL ? null : parser.getValueAsInt();
+    }
+
+    private static <T> T skip(JsonParser parser) throws IOException {
+        parser.skipChildren();
+        return null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.reliaquest.api.service.client.aggregate;
+
+final class HighestSalaryAggregator implements EmployeeAggregator<Integer> {
+
+    // default lowest salary
+    private int highestSalary;
+
+    @Override
+    public void accept(StreamedEmployee employee) {
+        Integer salary = employee.salary();
+        if (salary != null && salary > highestSalary) {
+            highestSalary = salary;
+        }
+    }
+
+    @Override
+    public Integer result() {
+        return highestSalary;
+    }
+}
@@ -0,0 +1,38 @@
+package com.reliaquest.api.service.client.aggregate;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.apache.commons.lang3.StringUtils;
+
+/**
+ * Only the matching employees are built, every field is read
+ * as the whole employee is returned
+ */
+final class NameMatchAggregator implements EmployeeAggregator<List<Employee>> {
+
+    private final String searchString;
+    private final List<Employee> matches = new ArrayList<>();
+
+    NameMatchAggregator(String searchString) {
+        this.searchString = searchString;
+    }
+
+    @Override
+    public void accept(StreamedEmployee employee) {
+        if (StringUtils.containsAnyIgnoreCase(employee.name(), searchString)) {
+            matches.add(employee.toEmployee());
+        }
+    }
+
+    @Override
+    public List<Employee> result() {
+        return Collections.unmodifiableList(matches);
+    }
+
+    @Override
+    public boolean readsAllFields() {
+        return true;
+    }
+}
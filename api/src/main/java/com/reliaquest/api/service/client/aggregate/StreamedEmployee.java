@@ -0,0 +1,52 @@
+package com.reliaquest.api.service.client.aggregate;
+
+import com.reliaquest.api.model.Employee;
+
+/**
+ * Employee being read from a streamed list, reused for every employee of the list
+ * <p>
+ * Fields the aggregator did not ask for stay null
+ */
+public final class StreamedEmployee {
+
+    String id;
+    String name;
+    Integer salary;
+    Integer age;
+    String title;
+    String email;
+
+    public String name() {
+        return name;
+    }
+
+    public Integer salary() {
+        return salary;
+    }
+
+    public Employee toEmployee() {
+        return new Employee(id, name, salary, age, title, email);
+    }
+
+    /**
+     * Takes over every field of an employee decoded elsewhere
+     */
+    public StreamedEmployee from(Employee employee) {
+        id = employee.id();
+        name = employee.name();
+        salary = employee.salary();
+        age = employee.age();
+        title = employee.title();
+        email = employee.email();
+        return this;
+    }
+
+    void clear() {
+        id = null;
+        name = null;
+        salary = null;
+        age = null;
+        title = null;
+        email = null;
+    }
+}
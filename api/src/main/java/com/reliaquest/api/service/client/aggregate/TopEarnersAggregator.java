@@ -0,0 +1,53 @@
+package com.reliaquest.api.service.client.aggregate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Keeps the best paid employees seen so far in a bounded heap,
+ * only their names and positions are held on to
+ */
+final class TopEarnersAggregator implements EmployeeAggregator<List<String>> {
+
+    // best earner first, earlier employees win ties
+    private static final Comparator<Earner> RANKING =
+            Comparator.comparingInt(Earner::salary).reversed().thenComparingLong(Earner::position);
+
+    private final int count;
+    // worst of the kept earners on top so it is the one pushed out
+    private final PriorityQueue<Earner> heap;
+    private long position;
+
+    TopEarnersAggregator(int count) {
+        this.count = count;
+        this.heap = new PriorityQueue<>(count + 1, RANKING.reversed());
+    }
+
+    @Override
+    public void accept(StreamedEmployee employee) {
+        long employeePosition = position++;
+        Integer salary = employee.salary();
+        if (salary == null || count == 0) {
+            return;
+        }
+
+        // later employees lose ties, so only a strictly higher salary gets in once full
+        if (heap.size() < count || salary > heap.peek().salary()) {
+            heap.add(new Earner(employeePosition, employee.name(), salary));
+            if (heap.size() > count) {
+                heap.poll();
+            }
+        }
+    }
+
+    @Override
+    public List<String> result() {
+        List<Earner> earners = new ArrayList<>(heap);
+        earners.sort(RANKING);
+        return earners.stream().map(Earner::name).toList();
+    }
+
+    private record Earner(long position, String name, int salary) {}
+}
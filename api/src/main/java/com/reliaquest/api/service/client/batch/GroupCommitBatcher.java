@@ -0,0 +1,141 @@
+package com.reliaquest.api.service.client.batch;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Groups items submitted by concurrent callers into one call
+ * <p>
+ * The first caller of a batch waits for the linger window, or until
+ * the batch is full, then makes the call for everyone in it on its own
+ * thread. Callers arriving in the meantime join the batch, the next
+ * caller after it is sealed starts a new one
+ * <p>
+ * Every caller blocks until its own result is in, or gets the exception
+ * the whole call failed with
+ * <p>
+ * Without a linger window nothing is grouped, every caller makes its
+ * own call on its own thread and never takes the lock
+ *
+ * @param <I> what callers submit
+ * @param <O> result of one item, the call returns them in submission order
+ */
+@Slf4j
+public class GroupCommitBatcher<I, O> {
+
+    private final Function<List<I>, List<O>> call;
+    private final long lingerNanos;
+    private final int maxBatchSize;
+
+    // not a monitor, a virtual thread lingering on it would pin its carrier
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition sealed = lock.newCondition();
+
+    // batch still taking items, null while there is none
+    private Batch<I, O> open;
+
+    public GroupCommitBatcher(Function<List<I>, List<O>> call, Duration linger, int maxBatchSize) {
+        this.call = call;
+        this.lingerNanos = linger.toNanos();
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+    }
+
+    public O submit(I item) {
+        if (lingerNanos <= 0) {
+            return call(List.of(item)).get(0);
+        }
+
+        CompletableFuture<O> result = new CompletableFuture<>();
+        Batch<I, O> batch;
+        boolean leader;
+        lock.lock();
+        try {
+            leader = open == null;
+            if (leader) {
+                open = new Batch<>();
+            }
+            batch = open;
+            batch.items().add(item);
+            batch.results().add(result);
+            if (batch.items().size() >= maxBatchSize) {
+                // full, wake the leader up
+                open = null;
+                sealed.signalAll();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (leader) {
+            awaitSealed(batch);
+            run(batch);
+        }
+        return await(result);
+    }
+
+    private void awaitSealed(Batch<I, O> batch) {
+        lock.lock();
+        try {
+            long remaining = lingerNanos;
+            while (open == batch && remaining > 0) {
+                remaining = sealed.awaitNanos(remaining);
+            }
+        } catch (InterruptedException e) {
+            // go ahead with what has been collected so far
+            Thread.currentThread().interrupt();
+        } finally {
+            if (open == batch) {
+                open = null;
+            }
+            lock.unlock();
+        }
+    }
+
+    private void run(Batch<I, O> batch) {
+        log.debug("Running batch of {} items", batch.items().size());
+        try {
+            List<O> results = call(batch.items());
+            for (int index = 0; index < results.size(); index++) {
+                batch.results().get(index).complete(results.get(index));
+            }
+        } catch (RuntimeException | Error e) {
+            batch.results().forEach(result -> result.completeExceptionally(e));
+        }
+    }
+
+    private List<O> call(List<I> items) {
+        List<O> results = call.apply(items);
+        if (results == null || results.size() != items.size()) {
+            throw new IllegalStateException(
+                    "Expected " + items.size() + " batch results, got " + (results == null ? null : results.size()));
+        }
+        return results;
+    }
+
+    private static <O> O await(CompletableFuture<O> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // surface upstream errors as they are, controller advice relies on the type
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    // only touched under the batcher lock until sealed, then only by the leader
+    private record Batch<I, O>(List<I> items, List<CompletableFuture<O>> results) {
+
+        Batch() {
+            this(new ArrayList<>(), new ArrayList<>());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.reliaquest.api.service.client.breaker;
+
+import com.reliaquest.api.service.client.EmployeeClientProperties;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Stops calling upstream once too many of the recent calls failed
+ * <p>
+ * Closed, outcomes of the last calls are kept in a sliding window and
+ * the breaker opens when the failure rate reaches the threshold.
+ * Open, every call is rejected until the open duration passed.
+ * Half open, a few probe calls go through, the breaker closes once
+ * they all succeeded and opens again on the first failure
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final Duration openDuration;
+    private final int halfOpenCalls;
+    private final Clock clock;
+
+    // true for a failed call
+    private final boolean[] outcomes;
+    private int next;
+    private int size;
+    private int failures;
+
+    private State state = State.CLOSED;
+    private Instant openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    public CircuitBreaker(EmployeeClientProperties.CircuitBreaker circuitBreakerProperties) {
+        this(circuitBreakerProperties, Clock.systemUTC());
+    }
+
+    CircuitBreaker(EmployeeClientProperties.CircuitBreaker circuitBreakerProperties, Clock clock) {
+        this.outcomes = new boolean[Math.max(1, circuitBreakerProperties.slidingWindowSize())];
+        this.minimumCalls = Math.min(outcomes.length, Math.max(1, circuitBreakerProperties.minimumCalls()));
+        this.failureRateThreshold = circuitBreakerProperties.failureRateThreshold();
+        this.openDuration = circuitBreakerProperties.openDuration();
+        this.halfOpenCalls = Math.max(1, circuitBreakerProperties.halfOpenCalls());
+        this.clock = clock;
+    }
+
+    /**
+     * @return whether a call may go upstream
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+
+        if (state == State.OPEN) {
+            if (clock.instant().isBefore(openedAt.plus(openDuration))) {
+                return false;
+            }
+            log.info("Circuit half open, probing upstream with {} calls", halfOpenCalls);
+            state = State.HALF_OPEN;
+            halfOpenPermits = halfOpenCalls;
+            halfOpenSuccesses = 0;
+        }
+
+        if (halfOpenPermits == 0) {
+            return false;
+        }
+        halfOpenPermits--;
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            halfOpenSuccesses++;
+            if (halfOpenSuccesses == halfOpenCalls) {
+                log.info("Upstream recovered, circuit closed");
+                state = State.CLOSED;
+                clearWindow();
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (size >= minimumCalls && failures * 100 >= failureRateThreshold * size) {
+                open();
+            }
+        }
+        // calls started before the breaker opened do not count
+    }
+
+    synchronized State state() {
+        return state;
+    }
+
+    private void record(boolean failed) {
+        if (size == outcomes.length) {
+            failures -= outcomes[next] ? 1 : 0;
+        } else {
+            size++;
+        }
+        outcomes[next] = failed;
+        failures += failed ? 1 : 0;
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void open() {
+        log.warn("Upstream failing, circuit open for {}", openDuration);
+        state = State.OPEN;
+        openedAt = clock.instant();
+        clearWindow();
+    }
+
+    private void clearWindow() {
+        next = 0;
+        size = 0;
+        failures = 0;
+    }
+}
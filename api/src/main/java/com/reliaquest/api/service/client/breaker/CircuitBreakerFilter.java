@@ -0,0 +1,38 @@
+package com.reliaquest.api.service.client.breaker;
+
+import com.reliaquest.api.controller.exceptions.UpstreamUnavailableException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@link CircuitBreakerInterceptor} for the web client, same
+ * outcomes are reported to the same {@link CircuitBreaker}
+ */
+@RequiredArgsConstructor
+public class CircuitBreakerFilter implements ExchangeFilterFunction {
+
+    private final CircuitBreaker circuitBreaker;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                return Mono.error(new UpstreamUnavailableException());
+            }
+
+            return next.exchange(request)
+                    .doOnNext(response -> {
+                        if (response.statusCode().is5xxServerError()) {
+                            circuitBreaker.onFailure();
+                        } else {
+                            circuitBreaker.onSuccess();
+                        }
+                    })
+                    .doOnError(throwable -> circuitBreaker.onFailure());
+        });
+    }
+}
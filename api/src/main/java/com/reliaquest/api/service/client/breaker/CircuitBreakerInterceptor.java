@@ -0,0 +1,46 @@
+package com.reliaquest.api.service.client.breaker;
+
+import com.reliaquest.api.controller.exceptions.UpstreamUnavailableException;
+import java.io.IOException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Rejects calls while the {@link CircuitBreaker} is open and reports
+ * how upstream answered otherwise
+ * <p>
+ * Errors, timeouts and 5xx count as failures. Anything else, 404
+ * and 429 included, means upstream is answering, a throttled client
+ * backs off on its own instead of cutting off every call
+ */
+@RequiredArgsConstructor
+public class CircuitBreakerInterceptor implements ClientHttpRequestInterceptor {
+
+    private final CircuitBreaker circuitBreaker;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            throw new UpstreamUnavailableException();
+        }
+
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (IOException | RuntimeException e) {
+            circuitBreaker.onFailure();
+            throw e;
+        }
+
+        if (response.getStatusCode().is5xxServerError()) {
+            circuitBreaker.onFailure();
+        } else {
+            circuitBreaker.onSuccess();
+        }
+        return response;
+    }
+}
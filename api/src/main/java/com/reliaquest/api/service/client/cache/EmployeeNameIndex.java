@@ -0,0 +1,184 @@
+package com.reliaquest.api.service.client.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Case insensitive substring search over employee names
+ * <p>
+ * Every name is split into all of its 1, 2 and 3 character grams
+ * and each gram keeps the positions of the employees containing it.
+ * Short queries are answered straight from their gram, longer ones
+ * only check the employees under their rarest gram, so the cost
+ * follows the number of matches instead of the number of employees
+ * <p>
+ * Matches come back in list order and follow the same case rules as
+ * {@link org.apache.commons.lang3.StringUtils#containsAnyIgnoreCase}
+ */
+final class EmployeeNameIndex {
+
+    static final int GRAM_SIZE = 3;
+
+    private static final int[] NO_POSITIONS = new int[0];
+
+    private final List<Employee> employees;
+    private final String[] foldedNames;
+    private final Map<Long, int[]> positionsByGram;
+
+    EmployeeNameIndex(List<Employee> employees) {
+        this.employees = employees;
+        this.foldedNames = new String[employees.size()];
+
+        Map<Long, PositionList> positionLists = new HashMap<>();
+        for (int position = 0; position < employees.size(); position++) {
+            String name = employees.get(position).name();
+            if (name == null || name.isEmpty()) {
+                // never matched, same as StringUtils
+                continue;
+            }
+
+            String foldedName = fold(name);
+            foldedNames[position] = foldedName;
+            for (int start = 0; start < foldedName.length(); start++) {
+                int maxLength = Math.min(GRAM_SIZE, foldedName.length() - start);
+                for (int length = 1; length <= maxLength; length++) {
+                    positionLists
+                            .computeIfAbsent(gram(foldedName, start, length), ignored -> new PositionList())
+                            .add(position);
+                }
+            }
+        }
+
+        this.positionsByGram = new HashMap<>(positionLists.size() * 2);
+        positionLists.forEach((gram, positionList) -> positionsByGram.put(gram, positionList.toArray()));
+    }
+
+    List<Employee> search(String searchString) {
+        return employeesAt(positions(searchString));
+    }
+
+    /**
+     * Positions of the employees {@link #search} finds, ascending
+     */
+    int[] positions(String searchString) {
+        if (searchString == null) {
+            return NO_POSITIONS;
+        }
+
+        String query = fold(searchString);
+        if (query.isEmpty()) {
+            return named();
+        }
+
+        if (query.length() <= GRAM_SIZE) {
+            // the gram is the whole query, every position is a match
+            return positions(gram(query, 0, query.length()));
+        }
+
+        int[] candidates = rarestGramPositions(query);
+        PositionList matches = new PositionList();
+        for (int position : candidates) {
+            if (foldedNames[position].contains(query)) {
+                matches.add(position);
+            }
+        }
+        return matches.toArray();
+    }
+
+    /**
+     * Whether a name not in the index matches the query the same way
+     *
+     * @param query search string already {@link #fold folded}
+     */
+    static boolean matches(String name, String query) {
+        return name != null && !name.isEmpty() && fold(name).contains(query);
+    }
+
+    private int[] rarestGramPositions(String query) {
+        int[] rarest = null;
+        for (int start = 0; start + GRAM_SIZE <= query.length(); start++) {
+            int[] positions = positions(gram(query, start, GRAM_SIZE));
+            if (rarest == null || positions.length < rarest.length) {
+                rarest = positions;
+            }
+            if (rarest.length == 0) {
+                break;
+            }
+        }
+        return rarest;
+    }
+
+    private int[] positions(long gram) {
+        return positionsByGram.getOrDefault(gram, NO_POSITIONS);
+    }
+
+    private List<Employee> employeesAt(int[] positions) {
+        List<Employee> matches = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            matches.add(employees.get(position));
+        }
+        return Collections.unmodifiableList(matches);
+    }
+
+    private int[] named() {
+        PositionList named = new PositionList();
+        for (int position = 0; position < foldedNames.length; position++) {
+            if (foldedNames[position] != null) {
+                named.add(position);
+            }
+        }
+        return named.toArray();
+    }
+
+    /**
+     * Folds one char at a time the way {@link String#regionMatches(boolean, int, String, int, int)}
+     * compares them, {@link String#toLowerCase()} could change the length of the name
+     */
+    static String fold(String value) {
+        char[] folded = new char[value.length()];
+        for (int index = 0; index < value.length(); index++) {
+            folded[index] = Character.toLowerCase(Character.toUpperCase(value.charAt(index)));
+        }
+        return new String(folded);
+    }
+
+    /**
+     * Packs up to 3 chars and the gram length into a single key
+     */
+    private static long gram(String value, int start, int length) {
+        long gram = length;
+        for (int index = start; index < start + length; index++) {
+            gram = (gram << 16) | value.charAt(index);
+        }
+        return gram;
+    }
+
+    /**
+     * Growable list of ascending positions,
+     * a position is only kept once per gram
+     */
+    private static final class PositionList {
+
+        private int[] positions = new int[4];
+        private int size;
+
+        void add(int position) {
+            if (size > 0 && positions[size - 1] == position) {
+                return;
+            }
+            if (size == positions.length) {
+                positions = Arrays.copyOf(positions, size * 2);
+            }
+            positions[size++] = position;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(positions, size);
+        }
+    }
+}
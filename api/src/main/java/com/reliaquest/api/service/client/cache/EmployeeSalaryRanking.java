@@ -0,0 +1,126 @@
+package com.reliaquest.api.service.client.cache;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Highest salary and top earners of a snapshot
+ * <p>
+ * Built once with a bounded heap instead of sorting every employee,
+ * and carried over to the next snapshot on create and delete.
+ * Only deleting one of the top earners needs a new pass over the list
+ * <p>
+ * Positions are where employees sit in the list and never shift,
+ * a snapshot keeps the positions of removed employees free instead
+ * <p>
+ * Earners are ranked by salary and employees with the same salary
+ * keep their list order, same as a stable sort of the list would do
+ */
+final class EmployeeSalaryRanking {
+
+    static final int TOP_EARNERS = 10;
+
+    // best earner first
+    private static final Comparator<Ranked> RANKING =
+            Comparator.comparingInt(Ranked::salary).reversed().thenComparingInt(Ranked::position);
+
+    private final List<Ranked> topEarners;
+    private final Integer highestSalary;
+    private final List<String> topEarnerNames;
+
+    private EmployeeSalaryRanking(List<Ranked> topEarners) {
+        this.topEarners = topEarners;
+        // default lowest salary
+        this.highestSalary = topEarners.isEmpty() ? 0 : topEarners.get(0).salary();
+        this.topEarnerNames = topEarners.stream().map(Ranked::name).toList();
+    }
+
+    static EmployeeSalaryRanking of(List<Employee> employees) {
+        Builder builder = new Builder();
+        for (int position = 0; position < employees.size(); position++) {
+            builder.add(position, employees.get(position));
+        }
+        return builder.build();
+    }
+
+    Integer highestSalary() {
+        return highestSalary;
+    }
+
+    List<String> topEarnerNames() {
+        return topEarnerNames;
+    }
+
+    /**
+     * Ranking once the employee was added at the position,
+     * which no ranked earner may hold
+     */
+    EmployeeSalaryRanking withAdded(Employee employee, int position) {
+        if (employee.salary() == null) {
+            return this;
+        }
+
+        Ranked added = new Ranked(position, employee.name(), employee.salary());
+        boolean full = topEarners.size() == TOP_EARNERS;
+        if (full && RANKING.compare(added, topEarners.get(TOP_EARNERS - 1)) > 0) {
+            return this;
+        }
+
+        List<Ranked> ranked = new ArrayList<>(topEarners);
+        ranked.add(added);
+        ranked.sort(RANKING);
+        if (ranked.size() > TOP_EARNERS) {
+            ranked.remove(TOP_EARNERS);
+        }
+        return new EmployeeSalaryRanking(ranked);
+    }
+
+    /**
+     * Whether the employee at the position is one of the top earners.
+     * Removing any other employee leaves the ranking as it is, removing
+     * a top earner needs a new pass since the next best is unknown
+     */
+    boolean ranks(int position) {
+        for (Ranked earner : topEarners) {
+            if (earner.position() == position) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Ranks employees offered in any order, their positions
+     * only need to follow list order and may leave gaps
+     */
+    static final class Builder {
+
+        // worst of the kept earners on top so it is the one pushed out
+        private final PriorityQueue<Ranked> heap = new PriorityQueue<>(TOP_EARNERS + 1, RANKING.reversed());
+
+        void add(int position, Employee employee) {
+            if (employee.salary() == null) {
+                return;
+            }
+
+            Ranked offered = new Ranked(position, employee.name(), employee.salary());
+            if (heap.size() < TOP_EARNERS || RANKING.compare(offered, heap.peek()) < 0) {
+                heap.add(offered);
+                if (heap.size() > TOP_EARNERS) {
+                    heap.poll();
+                }
+            }
+        }
+
+        EmployeeSalaryRanking build() {
+            List<Ranked> topEarners = new ArrayList<>(heap);
+            topEarners.sort(RANKING);
+            return new EmployeeSalaryRanking(topEarners);
+        }
+    }
+
+    private record Ranked(int position, String name, int salary) {}
+}
@@ -0,0 +1,429 @@
+package com.reliaquest.api.service.client.cache;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.client.model.EmployeeChange;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+/**
+ * Immutable copy of the full employee list
+ * as it was returned by upstream at a point in time
+ * <p>
+ * Snapshots are never modified, a change produces
+ * a new snapshot with a higher version
+ * <p>
+ * Employees are indexed by id and ranked by salary when the snapshot
+ * is built so lookups and salary queries do not need to go upstream,
+ * the name search index is built by the first search
+ * <p>
+ * Creates and deletes are kept next to the indexed list instead of
+ * indexing it again, every snapshot patched from it shares the same
+ * indexes. Once the changes outgrow the square root of the list they
+ * are folded into a new one, so a change costs about that much
+ * instead of the whole list
+ */
+@Getter
+public final class EmployeeSnapshot {
+
+    private static final int MIN_CHANGES_BEFORE_REINDEX = 16;
+
+    private final long version;
+    private final Instant fetchedAt;
+
+    // number of employees, without building the list
+    private final int size;
+
+    @Getter(AccessLevel.NONE)
+    private final Indexed indexed;
+
+    @Getter(AccessLevel.NONE)
+    private final Changes changes;
+
+    @Getter(AccessLevel.NONE)
+    private final EmployeeSalaryRanking salaryRanking;
+
+    @Getter(AccessLevel.NONE)
+    private volatile List<Employee> employees;
+
+    public EmployeeSnapshot(long version, Instant fetchedAt, List<Employee> employees) {
+        this(version, fetchedAt, new Indexed(List.copyOf(employees)));
+    }
+
+    private EmployeeSnapshot(long version, Instant fetchedAt, Indexed indexed) {
+        this.version = version;
+        this.fetchedAt = fetchedAt;
+        this.size = indexed.employees.size();
+        this.indexed = indexed;
+        this.changes = Changes.none(indexed);
+        this.salaryRanking = EmployeeSalaryRanking.of(indexed.employees);
+        this.employees = indexed.employees;
+    }
+
+    private EmployeeSnapshot(
+            long version,
+            Instant fetchedAt,
+            int size,
+            Indexed indexed,
+            Changes changes,
+            EmployeeSalaryRanking salaryRanking) {
+        this.version = version;
+        this.fetchedAt = fetchedAt;
+        this.size = size;
+        this.indexed = indexed;
+        this.changes = changes;
+        this.salaryRanking = salaryRanking;
+    }
+
+    private EmployeeSnapshot(EmployeeSnapshot source, Instant fetchedAt) {
+        this.version = source.version;
+        this.fetchedAt = fetchedAt;
+        this.size = source.size;
+        this.indexed = source.indexed;
+        this.changes = source.changes;
+        this.salaryRanking = source.salaryRanking;
+        this.employees = source.employees;
+    }
+
+    /**
+     * Employees in upstream order, built on first use after a change
+     */
+    public List<Employee> getEmployees() {
+        List<Employee> list = employees;
+        if (list == null) {
+            synchronized (this) {
+                list = employees;
+                if (list == null) {
+                    list = changes.applyTo(indexed.employees, size);
+                    employees = list;
+                }
+            }
+        }
+        return list;
+    }
+
+    public Optional<Employee> findById(String employeeId) {
+        Appended appended = changes.appended.get(employeeId);
+        if (appended != null) {
+            return Optional.of(appended.employee());
+        }
+        Employee replaced = changes.replaced.get(employeeId);
+        if (replaced != null || changes.deleted.contains(employeeId)) {
+            return Optional.ofNullable(replaced);
+        }
+
+        Integer position = indexed.positionsById.get(employeeId);
+        return position == null ? Optional.empty() : Optional.of(indexed.employees.get(position));
+    }
+
+    /**
+     * Highest salary amongst all employees, 0 if there are none
+     */
+    public Integer getHighestSalary() {
+        return salaryRanking.highestSalary();
+    }
+
+    /**
+     * Names of the best paid employees, best paid first
+     */
+    public List<String> getTopEarnerNames() {
+        return salaryRanking.topEarnerNames();
+    }
+
+    /**
+     * Employees whose name contains the search string ignoring case, in list order
+     */
+    public List<Employee> searchByName(String searchString) {
+        EmployeeNameIndex nameIndex = indexed.nameIndex();
+        if (changes.isEmpty()) {
+            return nameIndex.search(searchString);
+        }
+        if (searchString == null) {
+            return List.of();
+        }
+
+        // replaced employees are matched on their new name, at their old place
+        int[] found = nameIndex.positions(searchString);
+        int[] replaced = changes.replacedPositions(indexed);
+        String query = EmployeeNameIndex.fold(searchString);
+        List<Employee> matches = new ArrayList<>(found.length);
+        int foundIndex = 0;
+        int replacedIndex = 0;
+        while (foundIndex < found.length || replacedIndex < replaced.length) {
+            int position;
+            if (replacedIndex == replaced.length
+                    || foundIndex < found.length && found[foundIndex] < replaced[replacedIndex]) {
+                position = found[foundIndex++];
+            } else {
+                position = replaced[replacedIndex++];
+                if (foundIndex < found.length && found[foundIndex] == position) {
+                    foundIndex++;
+                }
+            }
+
+            Employee employee = indexed.employees.get(position);
+            if (changes.deleted.contains(employee.id())) {
+                continue;
+            }
+            Employee replacement = changes.replaced.get(employee.id());
+            if (replacement == null) {
+                matches.add(employee);
+            } else if (EmployeeNameIndex.matches(replacement.name(), query)) {
+                matches.add(replacement);
+            }
+        }
+        for (Appended appended : changes.appended.values()) {
+            if (EmployeeNameIndex.matches(appended.employee().name(), query)) {
+                matches.add(appended.employee());
+            }
+        }
+        return Collections.unmodifiableList(matches);
+    }
+
+    /**
+     * Same snapshot fetched again, upstream confirmed nothing changed
+     * so the indexes are kept and only the age starts over
+     */
+    public EmployeeSnapshot refreshedAt(Instant refreshedAt) {
+        return new EmployeeSnapshot(this, refreshedAt);
+    }
+
+    /**
+     * Copy with the employee added at the end, same as upstream does,
+     * or replaced in place if the id is already known so applying
+     * the same change twice is harmless
+     */
+    public EmployeeSnapshot withEmployee(Employee employee) {
+        Patch patch = new Patch();
+        patch.put(employee);
+        return patch.toSnapshot(fetchedAt);
+    }
+
+    /**
+     * Copy without the employee, the same snapshot
+     * if the employee is not part of it
+     */
+    public EmployeeSnapshot withoutEmployee(String employeeId) {
+        Patch patch = new Patch();
+        return patch.remove(employeeId) ? patch.toSnapshot(fetchedAt) : this;
+    }
+
+    /**
+     * Copy with upstream changes applied in order on top
+     * of the indexed list, without indexing it again
+     * <p>
+     * Same as {@link #withEmployee} and {@link #withoutEmployee},
+     * changes already applied here are harmless. Without changes
+     * the same data is kept and only the age starts over
+     */
+    public EmployeeSnapshot withChanges(List<EmployeeChange> changes, Instant changedAt) {
+        if (changes.isEmpty()) {
+            return refreshedAt(changedAt);
+        }
+
+        Patch patch = new Patch();
+        for (EmployeeChange change : changes) {
+            switch (change.type()) {
+                case CREATED -> patch.put(change.employee());
+                case DELETED -> patch.remove(change.employee().id());
+            }
+        }
+        return patch.toSnapshot(changedAt);
+    }
+
+    /**
+     * Changes of this snapshot copied to take more, the indexed list is
+     * left alone and the ranking follows each change where it can
+     */
+    private final class Patch {
+
+        private final Map<String, Employee> replaced = new HashMap<>(changes.replaced);
+        private final Set<String> deleted = new HashSet<>(changes.deleted);
+        private final Map<String, Appended> appended = new LinkedHashMap<>(changes.appended);
+        private int nextPosition = changes.nextPosition;
+        private int size = EmployeeSnapshot.this.size;
+
+        // null once a top earner is gone, ranked again from scratch at the end
+        private EmployeeSalaryRanking ranking = salaryRanking;
+
+        void put(Employee employee) {
+            Appended previous = appended.get(employee.id());
+            if (previous != null) {
+                appended.put(employee.id(), new Appended(employee, previous.position()));
+                replace(previous.position(), employee);
+                return;
+            }
+
+            Integer position = indexed.positionsById.get(employee.id());
+            if (position != null && !deleted.contains(employee.id())) {
+                replaced.put(employee.id(), employee);
+                replace(position, employee);
+                return;
+            }
+
+            // new, or deleted from the indexed list and created again, goes at the end
+            Appended added = new Appended(employee, nextPosition++);
+            appended.put(employee.id(), added);
+            size++;
+            if (ranking != null) {
+                ranking = ranking.withAdded(employee, added.position());
+            }
+        }
+
+        boolean remove(String employeeId) {
+            Appended previous = appended.remove(employeeId);
+            if (previous != null) {
+                removed(previous.position());
+                return true;
+            }
+
+            Integer position = indexed.positionsById.get(employeeId);
+            if (position == null || !deleted.add(employeeId)) {
+                return false;
+            }
+            replaced.remove(employeeId);
+            removed(position);
+            return true;
+        }
+
+        private void replace(int position, Employee employee) {
+            removed(position);
+            size++;
+            if (ranking != null) {
+                ranking = ranking.withAdded(employee, position);
+            }
+        }
+
+        private void removed(int position) {
+            size--;
+            if (ranking != null && ranking.ranks(position)) {
+                ranking = null;
+            }
+        }
+
+        EmployeeSnapshot toSnapshot(Instant at) {
+            Changes patched = new Changes(
+                    Collections.unmodifiableMap(replaced),
+                    Collections.unmodifiableSet(deleted),
+                    Collections.unmodifiableMap(appended),
+                    nextPosition);
+            if (patched.size() > Math.max(MIN_CHANGES_BEFORE_REINDEX, (int) Math.sqrt(indexed.employees.size()))) {
+                return new EmployeeSnapshot(version + 1, at, new Indexed(patched.applyTo(indexed.employees, size)));
+            }
+
+            EmployeeSalaryRanking patchedRanking = ranking != null ? ranking : patched.rank(indexed);
+            return new EmployeeSnapshot(version + 1, at, size, indexed, patched, patchedRanking);
+        }
+    }
+
+    /**
+     * List the snapshot was built from with its indexes, shared
+     * by every snapshot patched from it
+     */
+    private static final class Indexed {
+
+        private final List<Employee> employees;
+        private final Map<String, Integer> positionsById;
+        private volatile EmployeeNameIndex nameIndex;
+
+        Indexed(List<Employee> employees) {
+            this.employees = employees;
+            this.positionsById = new HashMap<>(employees.size() * 2);
+            for (int position = 0; position < employees.size(); position++) {
+                // ids are unique upstream, keep the first one if not
+                positionsById.putIfAbsent(employees.get(position).id(), position);
+            }
+        }
+
+        EmployeeNameIndex nameIndex() {
+            EmployeeNameIndex index = nameIndex;
+            if (index == null) {
+                synchronized (this) {
+                    index = nameIndex;
+                    if (index == null) {
+                        index = new EmployeeNameIndex(employees);
+                        nameIndex = index;
+                    }
+                }
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Creates and deletes on top of the indexed list, by id
+     *
+     * @param replaced     employees of the indexed list created again, they keep their place
+     * @param deleted      ids of employees of the indexed list that are gone
+     * @param appended     new employees in the order they were created
+     * @param nextPosition position the next new employee gets, after the indexed list
+     *                     and every employee appended before it
+     */
+    private record Changes(
+            Map<String, Employee> replaced, Set<String> deleted, Map<String, Appended> appended, int nextPosition) {
+
+        static Changes none(Indexed indexed) {
+            return new Changes(Map.of(), Set.of(), Map.of(), indexed.employees.size());
+        }
+
+        boolean isEmpty() {
+            return size() == 0;
+        }
+
+        int size() {
+            return replaced.size() + deleted.size() + appended.size();
+        }
+
+        List<Employee> applyTo(List<Employee> employees, int size) {
+            List<Employee> applied = new ArrayList<>(size);
+            for (Employee employee : employees) {
+                if (!deleted.contains(employee.id())) {
+                    applied.add(replaced.getOrDefault(employee.id(), employee));
+                }
+            }
+            for (Appended employee : appended.values()) {
+                applied.add(employee.employee());
+            }
+            return Collections.unmodifiableList(applied);
+        }
+
+        /**
+         * Salary ranking over the employees as changed, at their own positions
+         */
+        EmployeeSalaryRanking rank(Indexed indexed) {
+            EmployeeSalaryRanking.Builder builder = new EmployeeSalaryRanking.Builder();
+            for (int position = 0; position < indexed.employees.size(); position++) {
+                Employee employee = indexed.employees.get(position);
+                if (!deleted.contains(employee.id())) {
+                    builder.add(position, replaced.getOrDefault(employee.id(), employee));
+                }
+            }
+            for (Appended employee : appended.values()) {
+                builder.add(employee.position(), employee.employee());
+            }
+            return builder.build();
+        }
+
+        int[] replacedPositions(Indexed indexed) {
+            int[] positions = new int[replaced.size()];
+            int index = 0;
+            for (String employeeId : replaced.keySet()) {
+                positions[index++] = indexed.positionsById.get(employeeId);
+            }
+            Arrays.sort(positions);
+            return positions;
+        }
+    }
+
+    private record Appended(Employee employee, int position) {}
+}
@@ -0,0 +1,333 @@
+package com.reliaquest.api.service.client.cache;
+
+import com.reliaquest.api.controller.exceptions.UpstreamUnavailableException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.client.EmployeeClientImpl;
+import com.reliaquest.api.service.client.EmployeeClientProperties;
+import com.reliaquest.api.service.client.model.EmployeeChanges;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read through cache of the full employee list
+ * <p>
+ * A snapshot younger than the ttl is served as is,
+ * within the stale while revalidate window it is still served
+ * but a refresh is started in the background, after that
+ * callers wait for a new snapshot
+ * <p>
+ * Only one upstream call is in flight at a time,
+ * concurrent callers wait for the same load
+ * <p>
+ * Writes that went through this api are applied to the snapshot
+ * straight away, a copy is patched and swapped in so readers
+ * only ever see a complete snapshot. Patches made while a load
+ * is in flight are applied again on top of the loaded list as
+ * upstream might have answered before seeing the write
+ * <p>
+ * While the circuit breaker keeps upstream calls from going out
+ * the last snapshot is served whatever its age, flagged as stale
+ * <p>
+ * Given an upstream change feed, a refresh only asks for the changes
+ * since the upstream version of the snapshot and applies them to it,
+ * the whole list is only read when upstream no longer has them. That
+ * read is the same conditional, streamed one as without a feed
+ */
+@Component
+@Profile("!reactive")
+@Slf4j
+public class EmployeeSnapshotCache {
+
+    private final Supplier<List<Employee>> loader;
+    private final LongFunction<EmployeeChanges> changesLoader;
+    private final Duration ttl;
+    private final Duration staleWhileRevalidate;
+    private final Executor refreshExecutor;
+    private final Clock clock;
+
+    private final AtomicReference<CompletableFuture<EmployeeSnapshot>> inFlight = new AtomicReference<>();
+    private final List<PendingPatch> pendingPatches = new ArrayList<>();
+    private long patchSequence;
+    private volatile EmployeeSnapshot snapshot;
+
+    // what the loader returned last time, the client hands back the same list when upstream has no changes
+    private List<Employee> lastLoaded;
+    private long lastLoadedVersion;
+
+    // upstream version the snapshot was caught up to, negative until the change feed was read once
+    private long upstreamVersion = -1;
+
+    @Autowired
+    public EmployeeSnapshotCache(
+            EmployeeClientImpl employeeClient,
+            EmployeeClientProperties employeeClientProperties,
+            TaskExecutor taskExecutor) {
+        this(
+                () -> employeeClient.getAllEmployees().data(),
+                employeeClient::getEmployeeChanges,
+                employeeClientProperties.cache(),
+                taskExecutor,
+                Clock.systemUTC());
+    }
+
+    /**
+     * Without a change feed, every refresh loads the whole list
+     */
+    EmployeeSnapshotCache(
+            Supplier<List<Employee>> loader,
+            EmployeeClientProperties.Cache cacheProperties,
+            Executor refreshExecutor,
+            Clock clock) {
+        this(loader, null, cacheProperties, refreshExecutor, clock);
+    }
+
+    /**
+     * @param changesLoader upstream changes since a version, the loader is only used when it returns null
+     */
+    EmployeeSnapshotCache(
+            Supplier<List<Employee>> loader,
+            LongFunction<EmployeeChanges> changesLoader,
+            EmployeeClientProperties.Cache cacheProperties,
+            Executor refreshExecutor,
+            Clock clock) {
+        this.loader = loader;
+        this.changesLoader = changesLoader;
+        this.ttl = cacheProperties.ttl();
+        this.staleWhileRevalidate = cacheProperties.staleWhileRevalidate();
+        this.refreshExecutor = refreshExecutor;
+        this.clock = clock;
+    }
+
+    /**
+     * Cache built outside the application context, like in benchmarks,
+     * without a change feed and refreshing on the thread that finds it stale
+     */
+    public static EmployeeSnapshotCache of(
+            Supplier<List<Employee>> loader, EmployeeClientProperties.Cache cacheProperties) {
+        return new EmployeeSnapshotCache(loader, cacheProperties, Runnable::run, Clock.systemUTC());
+    }
+
+    public EmployeeSnapshot get() {
+        EmployeeSnapshot current = snapshot;
+        if (current != null) {
+            Duration age = Duration.between(current.getFetchedAt(), clock.instant());
+            if (age.compareTo(ttl) < 0) {
+                return current;
+            }
+
+            if (age.compareTo(ttl.plus(staleWhileRevalidate)) < 0) {
+                log.debug("Snapshot version: {} is stale, refreshing in background", current.getVersion());
+                refreshInBackground();
+                return current;
+            }
+        }
+
+        log.debug("No usable snapshot, loading employees");
+        try {
+            return await(load(Runnable::run));
+        } catch (UpstreamUnavailableException e) {
+            // better an old list than none while upstream recovers
+            EmployeeSnapshot lastKnown = snapshot;
+            if (lastKnown == null) {
+                throw e;
+            }
+
+            log.info(
+                    "Upstream unavailable, serving snapshot version: {} fetched at {}",
+                    lastKnown.getVersion(),
+                    lastKnown.getFetchedAt());
+            StaleSnapshots.markStale(lastKnown.getFetchedAt());
+            return lastKnown;
+        }
+    }
+
+    /**
+     * Last loaded snapshot however old it is,
+     * only meant for when upstream is unavailable
+     */
+    public Optional<EmployeeSnapshot> lastKnown() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    /**
+     * Current snapshot without ever going upstream,
+     * empty if there is none or it is too old to be served
+     */
+    public Optional<EmployeeSnapshot> peek() {
+        EmployeeSnapshot current = snapshot;
+        if (current == null) {
+            return Optional.empty();
+        }
+
+        Duration age = Duration.between(current.getFetchedAt(), clock.instant());
+        return age.compareTo(ttl.plus(staleWhileRevalidate)) < 0 ? Optional.of(current) : Optional.empty();
+    }
+
+    public void employeeCreated(Employee employee) {
+        log.debug("Adding created employee: {} to snapshot", employee.id());
+        patch(current -> current.withEmployee(employee));
+    }
+
+    public void employeeDeleted(String employeeId) {
+        log.debug("Removing deleted employee: {} from snapshot", employeeId);
+        patch(current -> current.withoutEmployee(employeeId));
+    }
+
+    private synchronized void patch(UnaryOperator<EmployeeSnapshot> patch) {
+        patchSequence++;
+        if (inFlight.get() != null) {
+            pendingPatches.add(new PendingPatch(patchSequence, patch));
+        }
+
+        if (snapshot != null) {
+            snapshot = patch.apply(snapshot);
+        }
+    }
+
+    private void refreshInBackground() {
+        load(refreshExecutor).exceptionally(throwable -> {
+            // keep serving the stale snapshot, next caller will try again
+            log.warn("Background refresh of employees failed", throwable);
+            return null;
+        });
+    }
+
+    /**
+     * Single flight, if a load is already running
+     * the caller gets the same future
+     */
+    private CompletableFuture<EmployeeSnapshot> load(Executor executor) {
+        CompletableFuture<EmployeeSnapshot> created = new CompletableFuture<>();
+        CompletableFuture<EmployeeSnapshot> existing = inFlight.compareAndExchange(null, created);
+        if (existing != null) {
+            return existing;
+        }
+
+        try {
+            executor.execute(() -> complete(created));
+        } catch (RuntimeException e) {
+            inFlight.set(null);
+            created.completeExceptionally(e);
+        }
+
+        return created;
+    }
+
+    private void complete(CompletableFuture<EmployeeSnapshot> future) {
+        long startSequence = currentPatchSequence();
+        try {
+            EmployeeChanges changes = changesLoader == null ? null : changesLoader.apply(currentUpstreamVersion());
+            EmployeeSnapshot loaded;
+            if (changes == null || changes.reset()) {
+                // a list read after the reset version may hold later changes too, applying them again is harmless
+                long listVersion = changes == null ? -1 : changes.version();
+                loaded = store(Objects.requireNonNullElse(loader.get(), List.of()), listVersion, startSequence);
+            } else {
+                loaded = store(changes, startSequence);
+            }
+            inFlight.set(null);
+            future.complete(loaded);
+        } catch (RuntimeException e) {
+            discardPendingPatches();
+            inFlight.set(null);
+            future.completeExceptionally(e);
+        }
+    }
+
+    private synchronized long currentPatchSequence() {
+        return patchSequence;
+    }
+
+    private synchronized long currentUpstreamVersion() {
+        return upstreamVersion;
+    }
+
+    private synchronized void discardPendingPatches() {
+        pendingPatches.clear();
+    }
+
+    /**
+     * @param listVersion upstream version the change feed said the list is at least at, negative without a feed
+     */
+    private synchronized EmployeeSnapshot store(List<Employee> employees, long listVersion, long startSequence) {
+        EmployeeSnapshot loaded;
+        if (employees == lastLoaded && snapshot != null && snapshot.getVersion() == lastLoadedVersion) {
+            // upstream answered not modified and nothing was patched since, no need to index again
+            loaded = snapshot.refreshedAt(clock.instant());
+        } else {
+            loaded = new EmployeeSnapshot(nextVersion(), clock.instant(), employees);
+        }
+        loaded = swapIn(loaded, startSequence);
+
+        upstreamVersion = listVersion;
+        lastLoaded = employees;
+        lastLoadedVersion = loaded.getVersion();
+        return loaded;
+    }
+
+    private synchronized EmployeeSnapshot store(EmployeeChanges changes, long startSequence) {
+        Instant now = clock.instant();
+        // nothing loaded yet, upstream has every change since it was empty
+        EmployeeSnapshot current = snapshot == null ? new EmployeeSnapshot(0, now, List.of()) : snapshot;
+        log.debug("Applying {} upstream changes to snapshot", changes.changes().size());
+        EmployeeSnapshot loaded = current.withChanges(changes.changes(), now);
+
+        upstreamVersion = changes.version();
+        lastLoaded = null;
+        return swapIn(loaded, startSequence);
+    }
+
+    private long nextVersion() {
+        return snapshot == null ? 1 : snapshot.getVersion() + 1;
+    }
+
+    /**
+     * Patches made while loading are applied again on top of the loaded snapshot
+     */
+    private EmployeeSnapshot swapIn(EmployeeSnapshot loaded, long startSequence) {
+        for (PendingPatch pendingPatch : pendingPatches) {
+            if (pendingPatch.sequence() > startSequence) {
+                loaded = pendingPatch.patch().apply(loaded);
+            }
+        }
+        pendingPatches.clear();
+
+        snapshot = loaded;
+        log.info(
+                "Stored employee snapshot version: {} with {} employees",
+                loaded.getVersion(),
+                loaded.getSize());
+        return loaded;
+    }
+
+    private static EmployeeSnapshot await(CompletableFuture<EmployeeSnapshot> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // surface upstream errors as they are, controller advice relies on the type
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private record PendingPatch(long sequence, UnaryOperator<EmployeeSnapshot> patch) {}
+}
@@ -0,0 +1,32 @@
+package com.reliaquest.api.service.client.cache;
+
+import java.time.Instant;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+/**
+ * Hands over to the web layer that the current request was served
+ * from an old snapshot because upstream is unavailable
+ */
+public final class StaleSnapshots {
+
+    /**
+     * Request attribute holding when the served snapshot was fetched
+     */
+    public static final String FETCHED_AT_ATTRIBUTE = StaleSnapshots.class.getName() + ".fetchedAt";
+
+    private StaleSnapshots() {}
+
+    /**
+     * Flags the response of the current request as stale,
+     * does nothing outside a request
+     *
+     * @param fetchedAt when the served snapshot was fetched from upstream
+     */
+    public static void markStale(Instant fetchedAt) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (requestAttributes != null) {
+            requestAttributes.setAttribute(FETCHED_AT_ATTRIBUTE, fetchedAt, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+}
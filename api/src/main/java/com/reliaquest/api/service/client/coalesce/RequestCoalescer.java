@@ -0,0 +1,62 @@
+package com.reliaquest.api.service.client.coalesce;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+
+/**
+ * Shares one upstream call between concurrent identical requests
+ * <p>
+ * The first caller for a method and uri makes the call, callers
+ * arriving while it is in flight wait for it and get the same
+ * deserialized response or exception. Nothing is kept once the call
+ * completes, the next caller goes upstream again
+ * <p>
+ * Only meant for idempotent calls, the response is shared as it is
+ * so callers must not modify it
+ */
+@Slf4j
+public class RequestCoalescer {
+
+    private final Map<Key, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(HttpMethod method, String uri, Supplier<T> call) {
+        Key key = new Key(method, uri);
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            log.debug("Joining in flight call {} {}", method, uri);
+            return (T) await(existing);
+        }
+
+        try {
+            T result = call.get();
+            created.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // surface upstream errors as they are, controller advice relies on the type
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw e;
+        }
+    }
+
+    private record Key(HttpMethod method, String uri) {}
+}
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.controller.exceptions.EmployeeNotFoundException;
 import com.reliaquest.api.controller.exceptions.TooManyRequestException;
+import com.reliaquest.api.service.client.limit.RateLimitInterceptor;
 import com.reliaquest.api.service.client.model.Response;
 import java.io.IOException;
 import java.util.function.Predicate;
@@ -44,7 +45,7 @@ public class EmployeeErrorHandler implements RestClient.ResponseSpec.ErrorHandle
         log.info("Handling error for http status: {}", httpCode);
 
         if (httpCode == HttpStatus.TOO_MANY_REQUESTS.value()) {
-            throw new TooManyRequestException();
+            throw new TooManyRequestException(RateLimitInterceptor.retryAfter(response.getHeaders()));
         }
 
         if (httpCode == HttpStatus.NOT_FOUND.value()) {
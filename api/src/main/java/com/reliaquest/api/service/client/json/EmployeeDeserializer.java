@@ -0,0 +1,78 @@
+package com.reliaquest.api.service.client.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+
+/**
+ * Reads an upstream employee straight into the record
+ * <p>
+ * Upstream names are matched in a switch instead of going through
+ * the naming strategy and bean properties, unknown fields are skipped
+ * <p>
+ * Input ending inside the employee fails the read instead of
+ * returning the fields read so far
+ */
+final class EmployeeDeserializer extends StdDeserializer<Employee> {
+
+    EmployeeDeserializer() {
+        super(Employee.class);
+    }
+
+    @Override
+    public Employee deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = next(p);
+        } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            return (Employee) ctxt.handleUnexpectedToken(Employee.class, p);
+        }
+
+        String id = null;
+        String name = null;
+        Integer salary = null;
+        Integer age = null;
+        String title = null;
+        String email = null;
+        for (; token == JsonToken.FIELD_NAME; token = next(p)) {
+            EmployeeField field = EmployeeField.of(p.currentName());
+            next(p);
+            switch (field) {
+                case ID -> id = text(p, ctxt);
+                case NAME -> name = text(p, ctxt);
+                case SALARY -> salary = _parseInteger(p, ctxt, Integer.class);
+                case AGE -> age = _parseInteger(p, ctxt, Integer.class);
+                case TITLE -> title = text(p, ctxt);
+                case EMAIL -> email = text(p, ctxt);
+                case UNKNOWN -> p.skipChildren();
+            }
+        }
+        if (token != JsonToken.END_OBJECT) {
+            return (Employee) ctxt.handleUnexpectedToken(Employee.class, p);
+        }
+        return new Employee(id, name, salary, age, title, email);
+    }
+
+    /**
+     * Next token, failing when the input ends instead of returning null
+     */
+    static JsonToken next(JsonParser p) throws IOException {
+        JsonToken token = p.nextToken();
+        if (token == null) {
+            throw new JsonEOFException(p, null, "Unexpected end of input in an upstream employee response");
+        }
+        return token;
+    }
+
+    static String text(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (p.currentToken().isScalarValue()) {
+            // null for a json null
+            return p.getValueAsString();
+        }
+        return (String) ctxt.handleUnexpectedToken(String.class, p);
+    }
+}
@@ -0,0 +1,33 @@
+package com.reliaquest.api.service.client.json;
+
+/**
+ * Employee fields by their upstream names, for everything that
+ * reads employees token by token instead of through the mapper
+ */
+public enum EmployeeField {
+    ID,
+    NAME,
+    SALARY,
+    AGE,
+    TITLE,
+    EMAIL,
+    /**
+     * Any field the employee does not have, skipped by readers
+     */
+    UNKNOWN;
+
+    /**
+     * Field with the upstream name, a switch so no map is looked up per field
+     */
+    public static EmployeeField of(String upstreamName) {
+        return switch (upstreamName) {
+            case "id" -> ID;
+            case "employee_name" -> NAME;
+            case "employee_salary" -> SALARY;
+            case "employee_age" -> AGE;
+            case "employee_title" -> TITLE;
+            case "employee_email" -> EMAIL;
+            default -> UNKNOWN;
+        };
+    }
+}
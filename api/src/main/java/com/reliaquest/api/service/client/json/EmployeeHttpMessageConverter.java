@@ -0,0 +1,70 @@
+package com.reliaquest.api.service.client.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.exc.InvalidDefinitionException;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.HttpMessageConversionException;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Jackson converter keeping one reader and one writer per type
+ * <p>
+ * The default converter resolves the java type and builds a new
+ * reader or writer on every call, here they are built on first use
+ * with their root (de)serializer already looked up
+ */
+public class EmployeeHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final Map<Type, ObjectReader> readers = new ConcurrentHashMap<>();
+    private final Map<Type, ObjectWriter> writers = new ConcurrentHashMap<>();
+
+    public EmployeeHttpMessageConverter(ObjectMapper objectMapper) {
+        super(objectMapper);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        ObjectReader reader = readers.computeIfAbsent(
+                type, ignored -> getObjectMapper().readerFor(getJavaType(type, contextClass)));
+        try {
+            return reader.readValue(inputMessage.getBody());
+        } catch (InvalidDefinitionException e) {
+            throw new HttpMessageConversionException("Type definition error: " + e.getType(), e);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotReadableException("JSON parse error: " + e.getOriginalMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (object instanceof MappingJacksonValue) {
+            // views and filters are per call
+            super.writeInternal(object, type, outputMessage);
+            return;
+        }
+
+        Type writtenType = type == null ? object.getClass() : type;
+        ObjectWriter writer = writers.computeIfAbsent(
+                writtenType, ignored -> getObjectMapper().writerFor(getJavaType(writtenType, null)));
+        try {
+            // the container closes its own stream
+            writer.writeValue(StreamUtils.nonClosing(outputMessage.getBody()), object);
+        } catch (InvalidDefinitionException e) {
+            throw new HttpMessageConversionException("Type definition error: " + e.getType(), e);
+        } catch (JsonProcessingException e) {
+            throw new HttpMessageNotWritableException("Could not write JSON: " + e.getOriginalMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.reliaquest.api.service.client.json;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.Deserializers;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.client.model.Response;
+import java.util.List;
+
+/**
+ * Hand written deserializers of the upstream employee wire format,
+ * for employees wherever they appear and for the one employee
+ * and employee list responses
+ */
+public class EmployeeJacksonModule extends SimpleModule {
+
+    public EmployeeJacksonModule() {
+        super(EmployeeJacksonModule.class.getSimpleName());
+        addDeserializer(Employee.class, new EmployeeDeserializer());
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        super.setupModule(context);
+        context.addDeserializers(new ResponseDeserializers());
+    }
+
+    /**
+     * Simple deserializers are looked up by raw class,
+     * the response type parameter is checked here
+     */
+    private static final class ResponseDeserializers extends Deserializers.Base {
+
+        private final EmployeeResponseDeserializer employeeResponse = new EmployeeResponseDeserializer(false);
+        private final EmployeeResponseDeserializer employeeListResponse = new EmployeeResponseDeserializer(true);
+
+        @Override
+        public JsonDeserializer<?> findBeanDeserializer(
+                JavaType type, DeserializationConfig config, BeanDescription beanDesc) {
+            if (!type.hasRawClass(Response.class)) {
+                return null;
+            }
+
+            JavaType data = type.containedType(0);
+            if (data == null) {
+                return null;
+            }
+            if (data.hasRawClass(Employee.class)) {
+                return employeeResponse;
+            }
+            if (data.hasRawClass(List.class) && data.getContentType().hasRawClass(Employee.class)) {
+                return employeeListResponse;
+            }
+            return null;
+        }
+    }
+}
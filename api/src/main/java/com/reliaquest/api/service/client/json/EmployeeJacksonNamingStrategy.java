@@ -6,9 +6,11 @@ import java.lang.reflect.Field;
 import java.util.Arrays;
 import java.util.Set;
 import java.util.stream.Collectors;
-import lombok.extern.slf4j.Slf4j;
 
-@Slf4j
+/**
+ * Upstream names of the employee fields for types without a hand written
+ * deserializer, employees themselves are read by {@link EmployeeJacksonModule}
+ */
 public class EmployeeJacksonNamingStrategy extends PropertyNamingStrategies.NamingBase {
 
     private static final String PREFIX = "employee_";
@@ -21,9 +23,7 @@ public class EmployeeJacksonNamingStrategy extends PropertyNamingStrategies.Nami
         }
 
         if (SUPPORTED_FIELDS.contains(propertyName)) {
-            String result = PREFIX + propertyName;
-            log.debug("Translated {} to {}", propertyName, result);
-            return result;
+            return PREFIX + propertyName;
         }
 
         return propertyName;
@@ -0,0 +1,163 @@
+package com.reliaquest.api.service.client.json;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.reliaquest.api.model.Employee;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import reactor.core.publisher.Flux;
+
+/**
+ * Decodes the employees of an upstream list response as its buffers
+ * arrive, each employee is emitted once its last token was read
+ * <p>
+ * The parser never blocks on a buffer that is not there yet, so
+ * a slow upstream holds no thread while the list comes in
+ */
+public final class EmployeeListDecoder {
+
+    private final ObjectMapper objectMapper;
+    private final ObjectReader employeeReader;
+
+    public EmployeeListDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.employeeReader = objectMapper.readerFor(Employee.class);
+    }
+
+    public Flux<Employee> decode(Flux<DataBuffer> body) {
+        return Flux.defer(() -> {
+            Tokenizer tokenizer = new Tokenizer(createParser(), employeeReader);
+            return body.concatMapIterable(tokenizer::feed)
+                    // buffers prefetched when the subscriber cancels are never fed
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(tokenizer.end())))
+                    .doFinally(signal -> tokenizer.close());
+        });
+    }
+
+    private JsonParser createParser() {
+        try {
+            return objectMapper.getFactory().createNonBlockingByteArrayParser();
+        } catch (IOException e) {
+            throw new DecodingException("Could not create employee list parser", e);
+        }
+    }
+
+    /**
+     * Parser state carried from one buffer to the next, only ever
+     * used by one subscription so it needs no locking
+     */
+    private static final class Tokenizer {
+
+        // envelope object, then the data array, employees start one level further in
+        private static final int EMPLOYEE_DEPTH = 2;
+
+        private final JsonParser parser;
+        private final ByteArrayFeeder feeder;
+        private final ObjectReader employeeReader;
+
+        // containers open before the next token
+        private int depth;
+        private boolean started;
+        private boolean inData;
+
+        // tokens of the employee being read, null between employees
+        private TokenBuffer employee;
+
+        Tokenizer(JsonParser parser, ObjectReader employeeReader) {
+            this.parser = parser;
+            this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+            this.employeeReader = employeeReader;
+        }
+
+        List<Employee> feed(DataBuffer buffer) {
+            try {
+                byte[] bytes = new byte[buffer.readableByteCount()];
+                buffer.read(bytes);
+                feeder.feedInput(bytes, 0, bytes.length);
+                return drain();
+            } catch (IOException e) {
+                throw new DecodingException("Could not read employee list: " + e.getMessage(), e);
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+        }
+
+        /**
+         * A body cut short fails instead of ending the list early
+         */
+        List<Employee> end() {
+            try {
+                feeder.endOfInput();
+                List<Employee> employees = drain();
+                if (depth != 0 || !started) {
+                    throw new JsonEOFException(parser, null, "Employee list response ended early");
+                }
+                return employees;
+            } catch (IOException e) {
+                throw new DecodingException("Could not read employee list: " + e.getMessage(), e);
+            }
+        }
+
+        void close() {
+            try {
+                parser.close();
+            } catch (IOException ignored) {
+                // nothing left to release
+            }
+        }
+
+        private List<Employee> drain() throws IOException {
+            List<Employee> employees = new ArrayList<>();
+            for (JsonToken token = parser.nextToken();
+                    token != null && token != JsonToken.NOT_AVAILABLE;
+                    token = parser.nextToken()) {
+                if (depth == 0) {
+                    if (started || token != JsonToken.START_OBJECT) {
+                        throw new JsonParseException(parser, "Expected an employee list response");
+                    }
+                    started = true;
+                }
+
+                if (employee != null) {
+                    employee.copyCurrentEvent(parser);
+                    depth += nesting(token);
+                    if (depth == EMPLOYEE_DEPTH) {
+                        employees.add(employeeReader.readValue(employee.asParser()));
+                        employee = null;
+                    }
+                    continue;
+                }
+
+                if (inData && depth == EMPLOYEE_DEPTH && token == JsonToken.START_OBJECT) {
+                    employee = new TokenBuffer(parser);
+                    employee.copyCurrentEvent(parser);
+                } else if (depth == 1 && token == JsonToken.START_ARRAY && "data".equals(parser.currentName())) {
+                    inData = true;
+                } else if (depth == EMPLOYEE_DEPTH && token == JsonToken.END_ARRAY) {
+                    inData = false;
+                }
+                // null entries and any other field are passed over
+                depth += nesting(token);
+            }
+            return employees;
+        }
+
+        private static int nesting(JsonToken token) {
+            if (token.isStructStart()) {
+                return 1;
+            }
+            return token.isStructEnd() ? -1 : 0;
+        }
+    }
+}
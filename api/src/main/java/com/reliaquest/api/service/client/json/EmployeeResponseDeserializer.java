@@ -0,0 +1,76 @@
+package com.reliaquest.api.service.client.json;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.client.model.Response;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the upstream envelope of one employee or a list of them
+ * without resolving the generic response type on every read
+ * <p>
+ * Input ending inside the envelope fails the read, see {@link EmployeeDeserializer}
+ */
+final class EmployeeResponseDeserializer extends StdDeserializer<Response<?>> {
+
+    private final EmployeeDeserializer employeeDeserializer = new EmployeeDeserializer();
+    private final boolean list;
+
+    /**
+     * @param list whether data is a list of employees rather than one
+     */
+    EmployeeResponseDeserializer(boolean list) {
+        super(Response.class);
+        this.list = list;
+    }
+
+    @Override
+    public Response<?> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = EmployeeDeserializer.next(p);
+        } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            return (Response<?>) ctxt.handleUnexpectedToken(Response.class, p);
+        }
+
+        Object data = null;
+        String status = null;
+        String error = null;
+        for (; token == JsonToken.FIELD_NAME; token = EmployeeDeserializer.next(p)) {
+            String field = p.currentName();
+            JsonToken value = EmployeeDeserializer.next(p);
+            switch (field) {
+                case "data" -> data = value == JsonToken.VALUE_NULL ? null : data(p, ctxt);
+                case "status" -> status = EmployeeDeserializer.text(p, ctxt);
+                case "error" -> error = EmployeeDeserializer.text(p, ctxt);
+                default -> p.skipChildren();
+            }
+        }
+        if (token != JsonToken.END_OBJECT) {
+            return (Response<?>) ctxt.handleUnexpectedToken(Response.class, p);
+        }
+        return new Response<>(data, status, error);
+    }
+
+    private Object data(JsonParser p, DeserializationContext ctxt) throws IOException {
+        if (!list) {
+            return employeeDeserializer.deserialize(p, ctxt);
+        }
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            return ctxt.handleUnexpectedToken(List.class, p);
+        }
+
+        List<Employee> employees = new ArrayList<>();
+        for (JsonToken token = EmployeeDeserializer.next(p);
+                token != JsonToken.END_ARRAY;
+                token = EmployeeDeserializer.next(p)) {
+            employees.add(token == JsonToken.VALUE_NULL ? null : employeeDeserializer.deserialize(p, ctxt));
+        }
+        return employees;
+    }
+}
@@ -0,0 +1,154 @@
+package com.reliaquest.api.service.client.limit;
+
+import com.reliaquest.api.controller.exceptions.RequestShedException;
+import com.reliaquest.api.service.client.EmployeeClientProperties;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Client side token bucket sized from what upstream lets through
+ * <p>
+ * Upstream lets a random number of requests through and then rejects
+ * everything for a random window, neither is published. The bucket
+ * size is learnt from the number of successful calls before a 429 and
+ * the window from how long it took until a call succeeded again,
+ * which is an upper bound of the real window.
+ * <p>
+ * Once the bucket is empty, or after a 429, calls wait for the window
+ * to pass if that is quick enough, otherwise they are rejected here
+ * without a round trip that would be rejected anyway
+ */
+@Slf4j
+public class AdaptiveRateLimiter {
+
+    private final Duration maxBackoff;
+    private final Duration maxWait;
+    private final Clock clock;
+
+    // learnt from upstream, 0 and null while unknown
+    private int budget;
+    private Duration window;
+
+    private int callsInWindow;
+    private int successesInWindow;
+    private Instant lastSuccess;
+    private Instant blockedUntil;
+    private Duration backoff;
+    private boolean throttled;
+
+    public AdaptiveRateLimiter(EmployeeClientProperties.RateLimit rateLimitProperties) {
+        this(rateLimitProperties, Clock.systemUTC());
+    }
+
+    AdaptiveRateLimiter(EmployeeClientProperties.RateLimit rateLimitProperties, Clock clock) {
+        this.backoff = rateLimitProperties.initialBackoff();
+        this.maxBackoff = rateLimitProperties.maxBackoff();
+        this.maxWait = rateLimitProperties.maxWait();
+        this.clock = clock;
+    }
+
+    /**
+     * Waits until a call can be made
+     *
+     * @throws RequestShedException if upstream will not accept calls within the max wait
+     */
+    public void acquire() {
+        Duration wait = tryAcquire();
+        while (!wait.isZero()) {
+            if (wait.compareTo(maxWait) > 0) {
+                log.info("Upstream is rate limiting for another {}, rejecting call", wait);
+                throw new RequestShedException(wait);
+            }
+
+            log.debug("Upstream is rate limiting, waiting {}", wait);
+            sleep(wait);
+            wait = tryAcquire();
+        }
+    }
+
+    /**
+     * Takes a token if there is one
+     *
+     * @return zero if the call can go ahead, otherwise how long until it can
+     */
+    synchronized Duration tryAcquire() {
+        Instant now = clock.instant();
+        if (blockedUntil != null && now.isBefore(blockedUntil)) {
+            return Duration.between(now, blockedUntil);
+        }
+
+        if (budget > 0 && window != null && callsInWindow >= budget) {
+            // upstream refills the bucket once the window after the last call passed
+            Instant refill = lastSuccess.plus(window);
+            if (now.isBefore(refill)) {
+                blockedUntil = refill;
+                return Duration.between(now, refill);
+            }
+            callsInWindow = 0;
+            successesInWindow = 0;
+        }
+
+        callsInWindow++;
+        return Duration.ZERO;
+    }
+
+    public synchronized void onSuccess() {
+        Instant now = clock.instant();
+        if (throttled && lastSuccess != null) {
+            window = Duration.between(lastSuccess, now);
+            backoff = window;
+            log.info("Learnt upstream rate limit of {} calls every {}", budget, window);
+        }
+
+        throttled = false;
+        successesInWindow++;
+        lastSuccess = now;
+    }
+
+    /**
+     * Upstream answered without counting the call against its budget,
+     * a 304 to a conditional read, the token is given back
+     */
+    public synchronized void onNotCounted() {
+        if (callsInWindow > 0) {
+            callsInWindow--;
+        }
+    }
+
+    /**
+     * @param retryAfter how long upstream asked to wait, null if it did not say
+     */
+    public synchronized void onThrottled(Duration retryAfter) {
+        if (!throttled && successesInWindow > 0) {
+            budget = successesInWindow;
+        }
+
+        Duration wait = retryAfter;
+        if (wait == null) {
+            // probe less often until a call goes through
+            wait = backoff;
+            backoff = min(backoff.multipliedBy(2), maxBackoff);
+        }
+
+        throttled = true;
+        callsInWindow = 0;
+        successesInWindow = 0;
+        blockedUntil = clock.instant().plus(wait);
+        log.info("Upstream rate limited after {} calls, backing off for {}", budget, wait);
+    }
+
+    private static Duration min(Duration first, Duration second) {
+        return first.compareTo(second) <= 0 ? first : second;
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(Math.max(1, duration.toMillis()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RequestShedException(duration);
+        }
+    }
+}
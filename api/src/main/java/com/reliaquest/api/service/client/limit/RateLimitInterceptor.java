@@ -0,0 +1,80 @@
+package com.reliaquest.api.service.client.limit;
+
+import com.reliaquest.api.controller.exceptions.UpstreamUnavailableException;
+import java.io.IOException;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Asks the {@link AdaptiveRateLimiter} before every upstream call
+ * and tells it how upstream answered
+ * <p>
+ * 429 is still handed back to the rest client so the error handler
+ * can turn it into an exception, 304 is free upstream
+ * <p>
+ * Only a 2xx or 3xx answer counts towards the learnt budget, a 5xx or
+ * an I/O error says nothing about how many calls upstream lets through
+ * and leaves the limiter as it was
+ * <p>
+ * Registered outside the circuit breaker, so calls shed here are never
+ * counted as upstream failures and a call the open breaker rejects
+ * gives its token back
+ */
+@RequiredArgsConstructor
+@Slf4j
+public class RateLimitInterceptor implements ClientHttpRequestInterceptor {
+
+    private final AdaptiveRateLimiter rateLimiter;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        rateLimiter.acquire();
+
+        ClientHttpResponse response;
+        try {
+            response = execution.execute(request, body);
+        } catch (UpstreamUnavailableException e) {
+            // the circuit breaker rejected the call before it went upstream
+            rateLimiter.onNotCounted();
+            throw e;
+        }
+
+        HttpStatusCode status = response.getStatusCode();
+        if (status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS)) {
+            rateLimiter.onThrottled(retryAfter(response.getHeaders()));
+        } else if (status.isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            rateLimiter.onNotCounted();
+        } else if (status.is2xxSuccessful() || status.is3xxRedirection()) {
+            rateLimiter.onSuccess();
+        }
+
+        return response;
+    }
+
+    /**
+     * Only the delay in seconds form is supported,
+     * anything else falls back to the limiter backoff
+     */
+    public static Duration retryAfter(HttpHeaders headers) {
+        String retryAfter = headers.getFirst(HttpHeaders.RETRY_AFTER);
+        if (retryAfter == null) {
+            return null;
+        }
+
+        try {
+            return Duration.ofSeconds(Long.parseLong(retryAfter.trim()));
+        } catch (NumberFormatException e) {
+            log.debug("Ignoring Retry-After: {}", retryAfter);
+            return null;
+        }
+    }
+}
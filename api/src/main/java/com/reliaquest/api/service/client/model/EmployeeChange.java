@@ -0,0 +1,16 @@
+package com.reliaquest.api.service.client.model;
+
+import com.reliaquest.api.model.Employee;
+
+/**
+ * One create or delete upstream
+ *
+ * @param version upstream version right after the change
+ */
+public record EmployeeChange(long version, Type type, Employee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
@@ -0,0 +1,11 @@
+package com.reliaquest.api.service.client.model;
+
+import java.util.List;
+
+/**
+ * Upstream changes since a version, oldest first
+ *
+ * @param version upstream version the changes lead up to
+ * @param reset upstream no longer had the changes, changes is empty and the whole list has to be read again
+ */
+public record EmployeeChanges(long version, boolean reset, List<EmployeeChange> changes) {}
@@ -0,0 +1,9 @@
+package com.reliaquest.api.service.client.model;
+
+import com.reliaquest.api.model.Employee;
+import java.util.List;
+
+/**
+ * @param nextCursor cursor of the next page, null on the last page
+ */
+public record EmployeePage(List<Employee> employees, String nextCursor) {}
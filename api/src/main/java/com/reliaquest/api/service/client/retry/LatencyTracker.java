@@ -0,0 +1,44 @@
+package com.reliaquest.api.service.client.retry;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Latency of the most recent successful calls,
+ * used to decide when a call is slow enough to be hedged
+ */
+class LatencyTracker {
+
+    static final int SAMPLES = 128;
+
+    // too few samples say nothing about the tail
+    static final int MIN_SAMPLES = 20;
+
+    private final long[] latencies = new long[SAMPLES];
+    private int next;
+    private int size;
+
+    synchronized void record(Duration latency) {
+        latencies[next] = latency.toNanos();
+        next = (next + 1) % SAMPLES;
+        size = Math.min(size + 1, SAMPLES);
+    }
+
+    /**
+     * @param percentile between 0 and 1
+     * @return latency at the percentile, null while there are too few samples
+     */
+    Duration percentile(double percentile) {
+        long[] sorted;
+        synchronized (this) {
+            if (size < MIN_SAMPLES) {
+                return null;
+            }
+            sorted = Arrays.copyOf(latencies, size);
+        }
+
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return Duration.ofNanos(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+    }
+}
@@ -0,0 +1,208 @@
+package com.reliaquest.api.service.client.retry;
+
+import com.reliaquest.api.controller.exceptions.RequestShedException;
+import com.reliaquest.api.controller.exceptions.TooManyRequestException;
+import com.reliaquest.api.service.client.EmployeeClientProperties;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+/**
+ * Retries and hedges idempotent upstream calls, never use it for writes
+ * <p>
+ * Failed calls are retried after a decorrelated jitter delay, each delay
+ * is random between the base delay and three times the previous one.
+ * No retry starts once it would end past the deadline, a call already
+ * running is only bounded by the read timeout
+ * <p>
+ * With hedging on, a call still running after the configured latency
+ * percentile of recent calls gets a second identical call and the
+ * first one to succeed wins
+ */
+@Slf4j
+public class RetryExecutor {
+
+    private final int maxAttempts;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final Duration deadline;
+    private final double hedgePercentile;
+    private final Executor hedgeExecutor;
+    private final LatencyTracker latencyTracker = new LatencyTracker();
+
+    public RetryExecutor(EmployeeClientProperties.Retry retryProperties) {
+        this(retryProperties, hedgeExecutor(retryProperties));
+    }
+
+    RetryExecutor(EmployeeClientProperties.Retry retryProperties, Executor hedgeExecutor) {
+        this.maxAttempts = Math.max(1, retryProperties.maxAttempts());
+        this.baseDelay = retryProperties.baseDelay();
+        this.maxDelay = retryProperties.maxDelay();
+        this.deadline = retryProperties.deadline();
+        this.hedgePercentile = retryProperties.hedgePercentile();
+        this.hedgeExecutor = hedgeExecutor;
+    }
+
+    public <T> T execute(Supplier<T> call) {
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+        Duration delay = baseDelay;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return attempt(call);
+            } catch (RuntimeException e) {
+                if (!isRetryable(e) || attempt >= maxAttempts) {
+                    throw e;
+                }
+
+                delay = nextDelay(delay, e);
+                if (System.nanoTime() + delay.toNanos() > deadlineNanos) {
+                    log.info("No time left to retry within {}, giving up", deadline);
+                    throw e;
+                }
+
+                log.info("Attempt {} failed with {}, retrying in {}", attempt, e.getClass().getSimpleName(), delay);
+                sleep(delay, e);
+            }
+        }
+    }
+
+    /**
+     * Only failures a second try could fix, an unknown employee
+     * or a response we cannot read stay the same. A call the client
+     * side limiter shed never went upstream, trying again only waits
+     * for the limiter to shed it again
+     */
+    static boolean isRetryable(RuntimeException e) {
+        return e instanceof TooManyRequestException && !(e instanceof RequestShedException)
+                || e instanceof ResourceAccessException
+                || e instanceof HttpServerErrorException;
+    }
+
+    private <T> T attempt(Supplier<T> call) {
+        Duration hedgeAfter = hedgeExecutor == null ? null : latencyTracker.percentile(hedgePercentile);
+        if (hedgeAfter == null) {
+            long start = System.nanoTime();
+            T result = call.get();
+            latencyTracker.record(Duration.ofNanos(System.nanoTime() - start));
+            return result;
+        }
+
+        CompletableFuture<T> primary = timed(call);
+        try {
+            return primary.get(hedgeAfter.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            log.debug("Call slower than {}, hedging", hedgeAfter);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            primary.cancel(true);
+            throw new IllegalStateException("Interrupted while waiting for upstream", e);
+        }
+
+        CompletableFuture<T> hedge = timed(call);
+        return firstSuccess(primary, hedge);
+    }
+
+    /**
+     * Every call that succeeds is recorded, the slow ones and the
+     * losers of a hedge too, or the percentile would only ever see
+     * calls faster than itself and keep going down
+     */
+    private <T> CompletableFuture<T> timed(Supplier<T> call) {
+        return CompletableFuture.supplyAsync(
+                () -> {
+                    long start = System.nanoTime();
+                    T result = call.get();
+                    // before the future completes, the next call sees it
+                    latencyTracker.record(Duration.ofNanos(System.nanoTime() - start));
+                    return result;
+                },
+                hedgeExecutor);
+    }
+
+    private static <T> T firstSuccess(CompletableFuture<T> primary, CompletableFuture<T> hedge) {
+        CompletableFuture<T> winner = new CompletableFuture<>();
+        AtomicInteger failures = new AtomicInteger();
+        BiConsumer<T, Throwable> race = (result, failure) -> {
+            if (failure == null) {
+                winner.complete(result);
+            } else if (failures.incrementAndGet() == 2) {
+                winner.completeExceptionally(failure);
+            }
+        };
+        primary.whenComplete(race);
+        hedge.whenComplete(race);
+
+        try {
+            return winner.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private Duration nextDelay(Duration previous, RuntimeException failure) {
+        return nextDelay(baseDelay, maxDelay, previous, failure);
+    }
+
+    /**
+     * Decorrelated jitter delay after the previous one, never sooner than
+     * upstream asked, the deadline still decides whether waiting that
+     * long is worth it. Shared with the reactive client
+     */
+    public static Duration nextDelay(Duration baseDelay, Duration maxDelay, Duration previous, Throwable failure) {
+        long base = baseDelay.toNanos();
+        long bound = Math.max(base + 1, previous.toNanos() * 3);
+        long delay = Math.min(ThreadLocalRandom.current().nextLong(base, bound), maxDelay.toNanos());
+        if (failure instanceof TooManyRequestException tooManyRequests && tooManyRequests.getRetryAfter() != null) {
+            delay = Math.max(delay, tooManyRequests.getRetryAfter().toNanos());
+        }
+        return Duration.ofNanos(delay);
+    }
+
+    private static RuntimeException unwrap(Throwable failure) {
+        if (failure instanceof CompletionException && failure.getCause() != null) {
+            failure = failure.getCause();
+        }
+        // surface upstream errors as they are, controller advice relies on the type
+        if (failure instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        if (failure instanceof Error error) {
+            throw error;
+        }
+        return new IllegalStateException(failure);
+    }
+
+    private static void sleep(Duration delay, RuntimeException failure) {
+        try {
+            Thread.sleep(delay.toMillis(), delay.toNanosPart() % 1_000_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw failure;
+        }
+    }
+
+    private static Executor hedgeExecutor(EmployeeClientProperties.Retry retryProperties) {
+        if (retryProperties.hedgePercentile() <= 0) {
+            return null;
+        }
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("employee-hedge-");
+        threadFactory.setDaemon(true);
+        return Executors.newCachedThreadPool(threadFactory);
+    }
+}
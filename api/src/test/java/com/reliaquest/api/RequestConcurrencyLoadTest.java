@@ -0,0 +1,202 @@
+package com.reliaquest.api;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+/**
+ * Many concurrent requests for single employees while upstream holds
+ * every call for a while, once on the tomcat thread pool and once
+ * on virtual threads
+ * <p>
+ * Logs how many requests were in flight upstream at once and what each
+ * in-flight request cost in heap and platform threads, virtual thread
+ * stacks live on the heap while platform thread stacks do not
+ * <p>
+ * Not part of the test task, run with ./gradlew :api:loadTest
+ * and -DloadTest.requests to change the number of requests
+ */
+@Tag("load")
+abstract class RequestConcurrencyLoadTest {
+
+    static final int REQUESTS = Integer.getInteger("loadTest.requests", 1000);
+    static final Duration UPSTREAM_DELAY = Duration.ofSeconds(2);
+    static final Duration SAMPLE_EVERY = Duration.ofMillis(50);
+
+    static final String EMPLOYEE =
+            """
+            {
+                "data": {
+                    "id": "%s",
+                    "employee_name": "Martin Okuneva",
+                    "employee_salary": 366039,
+                    "employee_age": 28,
+                    "employee_title": "Investor Retail Technician",
+                    "employee_email": "lotstring@company.com"
+                },
+                "status": "Successfully processed request."
+            }
+            """;
+
+    private static final Logger log = LoggerFactory.getLogger(RequestConcurrencyLoadTest.class);
+
+    private static final AtomicInteger upstreamInFlight = new AtomicInteger();
+    private static final HttpServer upstream = startUpstream();
+
+    @LocalServerPort
+    int port;
+
+    @Value("${server.tomcat.threads.max:200}")
+    int tomcatMaxThreads;
+
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        registry.add("employeeClient.baseurl", () -> "http://localhost:" + upstream.getAddress().getPort());
+        // the jdk server does not speak h2c, no point in trying to upgrade every connection
+        registry.add("employeeClient.transport.version", () -> "HTTP_1_1");
+    }
+
+    @Test
+    void concurrentRequests() throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        System.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+        int threadsBefore = threads.getThreadCount();
+
+        HttpClient httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        long started = System.nanoTime();
+        List<Future<HttpResponse<Void>>> responses = new ArrayList<>(REQUESTS);
+        Sample peak = new Sample(0, 0, 0);
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int index = 0; index < REQUESTS; index++) {
+                HttpRequest request = HttpRequest.newBuilder(
+                                URI.create("http://localhost:" + port + "/api/v1/employee/" + UUID.randomUUID()))
+                        .build();
+                responses.add(callers.submit(() -> httpClient.send(request, HttpResponse.BodyHandlers.discarding())));
+            }
+
+            // the first wave is held upstream for the whole delay, sample it while it is there
+            long sampleUntil = System.nanoTime() + UPSTREAM_DELAY.toNanos();
+            while (System.nanoTime() < sampleUntil) {
+                Sample sample = new Sample(
+                        upstreamInFlight.get(), memory.getHeapMemoryUsage().getUsed(), threads.getThreadCount());
+                if (sample.inFlight() > peak.inFlight()) {
+                    peak = sample;
+                }
+                Thread.sleep(SAMPLE_EVERY);
+            }
+
+            for (Future<HttpResponse<Void>> response : responses) {
+                assertThat(response.get().statusCode()).isEqualTo(200);
+            }
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        int inFlight = Math.max(1, peak.inFlight());
+        log.info(
+                "{}: {} of {} requests in flight upstream at once, {} KB heap and {} platform threads"
+                        + " per in-flight request, all answered in {} ms",
+                getClass().getSimpleName(),
+                peak.inFlight(),
+                REQUESTS,
+                (peak.heapUsed() - heapBefore) / 1024 / inFlight,
+                String.format("%.2f", (double) (peak.threads() - threadsBefore) / inFlight),
+                elapsed.toMillis());
+        assertConcurrency(peak.inFlight());
+    }
+
+    abstract void assertConcurrency(int peakInFlight);
+
+    @SpringBootTest(
+            webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = "spring.threads.virtual.enabled=false")
+    static class PlatformThreads extends RequestConcurrencyLoadTest {
+
+        @Override
+        void assertConcurrency(int peakInFlight) {
+            // every request holds a tomcat thread while upstream answers
+            assertThat(peakInFlight).isLessThanOrEqualTo(tomcatMaxThreads);
+        }
+    }
+
+    @SpringBootTest(
+            webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+            properties = "spring.threads.virtual.enabled=true")
+    static class VirtualThreads extends RequestConcurrencyLoadTest {
+
+        @Override
+        void assertConcurrency(int peakInFlight) {
+            assertThat(peakInFlight).isGreaterThan(tomcatMaxThreads);
+        }
+    }
+
+    private record Sample(int inFlight, long heapUsed, int threads) {}
+
+    /**
+     * Upstream answering every employee after the delay, on a virtual
+     * thread per call so it never limits how many are in flight
+     */
+    private static HttpServer startUpstream() {
+        try {
+            HttpServer server =
+                    HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), REQUESTS);
+            server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+            server.createContext("/api/v1/employee/", exchange -> {
+                upstreamInFlight.incrementAndGet();
+                try {
+                    Thread.sleep(UPSTREAM_DELAY);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    upstreamInFlight.decrementAndGet();
+                }
+
+                String path = exchange.getRequestURI().getPath();
+                byte[] body = EMPLOYEE.formatted(path.substring(path.lastIndexOf('/') + 1))
+                        .getBytes(StandardCharsets.UTF_8);
+                exchange.getResponseHeaders().set("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream responseBody = exchange.getResponseBody()) {
+                    responseBody.write(body);
+                }
+            });
+            server.start();
+            return server;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start upstream", e);
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.reliaquest.api.controller;
 
 import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
 import com.reliaquest.api.controller.exceptions.CannotGuaranteeEmployeeDeletionException;
@@ -11,23 +13,23 @@ import com.reliaquest.api.controller.exceptions.TooManyRequestException;
 import com.reliaquest.api.model.CreateEmployee;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.ReactiveEmployeeService;
 import java.util.List;
 import net.javacrumbs.jsonunit.core.Option;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.*;
+import org.springframework.test.context.ActiveProfiles;
 import org.springframework.web.client.RestClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 class IEmployeeControllerImplIntegrationTest {
 
-    @Autowired
-    RestClient.Builder restclientBuilder;
-
     @MockBean
     EmployeeService employeeService;
 
@@ -38,7 +40,8 @@ class IEmployeeControllerImplIntegrationTest {
 
     @BeforeEach
     void setUp() {
-        restClient = restclientBuilder
+        // built here, the reactive stack has no rest client builder bean
+        restClient = RestClient.builder()
                 .defaultStatusHandler(httpStatusCode -> true, (request, response) -> {
                     // no op
                 })
@@ -518,4 +521,37 @@ class IEmployeeControllerImplIntegrationTest {
                 }
                 """);
     }
+
+    /**
+     * Same tests against the reactive stack, the reactive service
+     * answers with whatever the service mock was told to
+     */
+    @ActiveProfiles("reactive")
+    static class Reactive extends IEmployeeControllerImplIntegrationTest {
+
+        @MockBean
+        ReactiveEmployeeService reactiveEmployeeService;
+
+        @BeforeEach
+        void answerFromEmployeeService() {
+            when(reactiveEmployeeService.getAllEmployees())
+                    .thenAnswer(invocation -> Flux.defer(() -> Flux.fromIterable(employeeService.getAllEmployees())));
+            when(reactiveEmployeeService.getEmployeesByNameSearch(anyString()))
+                    .thenAnswer(invocation -> Mono.fromCallable(
+                            () -> employeeService.getEmployeesByNameSearch(invocation.getArgument(0))));
+            when(reactiveEmployeeService.getEmployee(anyString()))
+                    .thenAnswer(invocation ->
+                            Mono.fromCallable(() -> employeeService.getEmployee(invocation.getArgument(0))));
+            when(reactiveEmployeeService.getHighestSalaryOfEmployees())
+                    .thenAnswer(invocation -> Mono.fromCallable(employeeService::getHighestSalaryOfEmployees));
+            when(reactiveEmployeeService.getTopTenHighestEarningEmployeeNames())
+                    .thenAnswer(invocation -> Mono.fromCallable(employeeService::getTopTenHighestEarningEmployeeNames));
+            when(reactiveEmployeeService.createEmployee(any()))
+                    .thenAnswer(invocation ->
+                            Mono.fromCallable(() -> employeeService.createEmployee(invocation.getArgument(0))));
+            when(reactiveEmployeeService.deleteEmployeeById(anyString()))
+                    .thenAnswer(invocation ->
+                            Mono.fromCallable(() -> employeeService.deleteEmployeeById(invocation.getArgument(0))));
+        }
+    }
 }
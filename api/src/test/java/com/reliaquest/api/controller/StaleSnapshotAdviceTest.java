@@ -0,0 +1,68 @@
+package com.reliaquest.api.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.api.service.client.cache.StaleSnapshots;
+import java.time.Instant;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+class StaleSnapshotAdviceTest {
+
+    MockHttpServletRequest request = new MockHttpServletRequest();
+
+    ServletServerHttpResponse response = new ServletServerHttpResponse(new MockHttpServletResponse());
+
+    StaleSnapshotAdvice staleSnapshotAdvice = new StaleSnapshotAdvice();
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void beforeBodyWrite_stale_headersAdded() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        StaleSnapshots.markStale(Instant.now().minusSeconds(120));
+
+        Object body = beforeBodyWrite("body");
+
+        assertThat(body).isEqualTo("body");
+        assertThat(Long.parseLong(response.getHeaders().getFirst(HttpHeaders.AGE))).isBetween(120L, 130L);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.WARNING)).isEqualTo(StaleSnapshotAdvice.STALE_WARNING);
+    }
+
+    @Test
+    void beforeBodyWrite_fresh_noHeaders() {
+        Object body = beforeBodyWrite("body");
+
+        assertThat(body).isEqualTo("body");
+        assertThat(response.getHeaders()).isEmpty();
+    }
+
+    @Test
+    void markStale_outsideRequest_ignored() {
+        StaleSnapshots.markStale(Instant.now());
+
+        assertThat(RequestContextHolder.getRequestAttributes()).isNull();
+    }
+
+    Object beforeBodyWrite(Object body) {
+        return staleSnapshotAdvice.beforeBodyWrite(
+                body,
+                null,
+                MediaType.APPLICATION_JSON,
+                MappingJackson2HttpMessageConverter.class,
+                new ServletServerHttpRequest(request),
+                response);
+    }
+}
@@ -2,18 +2,31 @@ package com.reliaquest.api.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.reliaquest.api.controller.exceptions.CannotGuaranteeEmployeeDeletionException;
 import com.reliaquest.api.controller.exceptions.EmployeeNotDeletedException;
+import com.reliaquest.api.controller.exceptions.RequestShedException;
+import com.reliaquest.api.controller.exceptions.TooManyRequestException;
+import com.reliaquest.api.controller.exceptions.UpstreamUnavailableException;
 import com.reliaquest.api.model.CreateEmployee;
 import com.reliaquest.api.model.Employee;
 import com.reliaquest.api.service.client.EmployeeClient;
+import com.reliaquest.api.service.client.aggregate.EmployeeAggregation;
+import com.reliaquest.api.service.client.cache.EmployeeSnapshot;
+import com.reliaquest.api.service.client.cache.EmployeeSnapshotCache;
 import com.reliaquest.api.service.client.model.Response;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -24,6 +37,12 @@ class EmployeeServiceImplTest {
     @Mock
     EmployeeClient employeeClient;
 
+    @Mock
+    EmployeeSnapshotCache employeeSnapshotCache;
+
+    @Captor
+    ArgumentCaptor<EmployeeAggregation<Object>> aggregation;
+
     @InjectMocks
     EmployeeServiceImpl employeeService;
 
@@ -60,7 +79,7 @@ class EmployeeServiceImplTest {
                 "Successfully processed request.",
                 null);
 
-        when(employeeClient.getAllEmployees()).thenReturn(apiResponse);
+        when(employeeSnapshotCache.get()).thenReturn(new EmployeeSnapshot(1, Instant.now(), apiResponse.data()));
 
         List<Employee> employees = employeeService.getEmployeesByNameSearch("Richard");
 
@@ -70,13 +89,58 @@ class EmployeeServiceImplTest {
                         new Employee("id", "Richard Almenares", 190, 20, "Mr", "email@email.com")));
     }
 
+    @Test
+    void getEmployeesByNameSearch_withoutSnapshot() {
+        List<Employee> expected = List.of(new Employee("id", "Richard Calderin", 190, 20, "Mr", "email@email.com"));
+        when(employeeSnapshotCache.get()).thenThrow(new IllegalStateException("snapshot"));
+        when(employeeClient.aggregateEmployees(aggregation.capture())).thenReturn(expected);
+
+        List<Employee> employees = employeeService.getEmployeesByNameSearch("Richard");
+
+        assertThat(employees).isEqualTo(expected);
+        assertThat(aggregation.getValue().kind()).isEqualTo("name-matches");
+        assertThat(aggregation.getValue().key())
+                .isEqualTo(EmployeeAggregation.nameMatches("Richard").key())
+                .doesNotContain("Richard");
+    }
+
     @Test
     void getEmployeesByNameSearch_fail() {
-        when(employeeClient.getAllEmployees()).thenThrow(new RuntimeException("test"));
+        when(employeeSnapshotCache.get()).thenThrow(new IllegalStateException("snapshot"));
+        when(employeeClient.aggregateEmployees(any())).thenThrow(new RuntimeException("test"));
 
         assertThatThrownBy(() -> employeeService.getEmployeesByNameSearch("Richard"))
                 .isInstanceOf(RuntimeException.class)
-                .hasMessage("test");
+                .hasMessage("test")
+                .satisfies(thrown ->
+                        assertThat(thrown.getSuppressed()).hasOnlyElementsOfType(IllegalStateException.class));
+    }
+
+    @Test
+    void getEmployeesByNameSearch_upstreamThrottled_notStreamed() {
+        when(employeeSnapshotCache.get()).thenThrow(new TooManyRequestException());
+
+        assertThatThrownBy(() -> employeeService.getEmployeesByNameSearch("Richard"))
+                .isInstanceOf(TooManyRequestException.class);
+        verify(employeeClient, never()).aggregateEmployees(any());
+    }
+
+    @Test
+    void getHighestSalaryOfEmployees_requestShed_notStreamed() {
+        when(employeeSnapshotCache.get()).thenThrow(new RequestShedException(Duration.ofSeconds(1)));
+
+        assertThatThrownBy(() -> employeeService.getHighestSalaryOfEmployees())
+                .isInstanceOf(RequestShedException.class);
+        verify(employeeClient, never()).aggregateEmployees(any());
+    }
+
+    @Test
+    void getTopTenHighestEarningEmployeeNames_upstreamUnavailable_notStreamed() {
+        when(employeeSnapshotCache.get()).thenThrow(new UpstreamUnavailableException());
+
+        assertThatThrownBy(() -> employeeService.getTopTenHighestEarningEmployeeNames())
+                .isInstanceOf(UpstreamUnavailableException.class);
+        verify(employeeClient, never()).aggregateEmployees(any());
     }
 
     @Test
@@ -110,16 +174,28 @@ class EmployeeServiceImplTest {
                 "Successfully processed request.",
                 null);
 
-        when(employeeClient.getAllEmployees()).thenReturn(apiResponse);
+        when(employeeSnapshotCache.get()).thenReturn(new EmployeeSnapshot(1, Instant.now(), apiResponse.data()));
 
         Integer actual = employeeService.getHighestSalaryOfEmployees();
 
         assertThat(actual).isEqualTo(195);
     }
 
+    @Test
+    void getHighestSalaryOfEmployees_withoutSnapshot() {
+        when(employeeSnapshotCache.get()).thenThrow(new IllegalStateException("snapshot"));
+        when(employeeClient.aggregateEmployees(aggregation.capture())).thenReturn(195);
+
+        Integer actual = employeeService.getHighestSalaryOfEmployees();
+
+        assertThat(actual).isEqualTo(195);
+        assertThat(aggregation.getValue().key()).isEqualTo("highest-salary");
+    }
+
     @Test
     void getHighestSalaryOfEmployees_fail() {
-        when(employeeClient.getAllEmployees()).thenThrow(new RuntimeException("test"));
+        when(employeeSnapshotCache.get()).thenThrow(new IllegalStateException("snapshot"));
+        when(employeeClient.aggregateEmployees(any())).thenThrow(new RuntimeException("test"));
 
         assertThatThrownBy(() -> employeeService.getHighestSalaryOfEmployees())
                 .isInstanceOf(RuntimeException.class)
@@ -132,9 +208,7 @@ class EmployeeServiceImplTest {
                 .mapToObj(index ->
                         new Employee("id", "Richard Calderin " + index, 190 + index, 20, "Mr", "email@email.com"))
                 .toList();
-        Response<List<Employee>> apiResponse = new Response<>(employees, "Successfully processed request.", null);
-
-        when(employeeClient.getAllEmployees()).thenReturn(apiResponse);
+        when(employeeSnapshotCache.get()).thenReturn(new EmployeeSnapshot(1, Instant.now(), employees));
 
         List<String> names = employeeService.getTopTenHighestEarningEmployeeNames();
 
@@ -152,9 +226,21 @@ class EmployeeServiceImplTest {
                         "Richard Calderin 5"));
     }
 
+    @Test
+    void getTopTenHighestEarningEmployeeNames_withoutSnapshot() {
+        when(employeeSnapshotCache.get()).thenThrow(new IllegalStateException("snapshot"));
+        when(employeeClient.aggregateEmployees(aggregation.capture())).thenReturn(List.of("Richard Calderin"));
+
+        List<String> names = employeeService.getTopTenHighestEarningEmployeeNames();
+
+        assertThat(names).isEqualTo(List.of("Richard Calderin"));
+        assertThat(aggregation.getValue().key()).isEqualTo("top-earner-names-10");
+    }
+
     @Test
     void getTopTenHighestEarningEmployeeNames_fail() {
-        when(employeeClient.getAllEmployees()).thenThrow(new RuntimeException("test"));
+        when(employeeSnapshotCache.get()).thenThrow(new IllegalStateException("snapshot"));
+        when(employeeClient.aggregateEmployees(any())).thenThrow(new RuntimeException("test"));
 
         assertThatThrownBy(() -> employeeService.getTopTenHighestEarningEmployeeNames())
                 .isInstanceOf(RuntimeException.class)
@@ -174,6 +260,19 @@ class EmployeeServiceImplTest {
         Employee employee = employeeService.createEmployee(createEmployee);
 
         assertThat(employee).isEqualTo(employeeResponse.data());
+        verify(employeeSnapshotCache).employeeCreated(employeeResponse.data());
+    }
+
+    @Test
+    void createEmployee_fail() {
+        CreateEmployee createEmployee = new CreateEmployee("Richard Test", 12345, 21, "Mr");
+
+        when(employeeClient.createEmployee(createEmployee)).thenThrow(new RuntimeException("test"));
+
+        assertThatThrownBy(() -> employeeService.createEmployee(createEmployee))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("test");
+        verify(employeeSnapshotCache, never()).employeeCreated(any());
     }
 
     @Test
@@ -197,6 +296,7 @@ class EmployeeServiceImplTest {
         String name = employeeService.deleteEmployeeById("id");
 
         assertThat(name).isEqualTo("Richard Test");
+        verify(employeeSnapshotCache).employeeDeleted("id");
     }
 
     @Test
@@ -219,6 +319,7 @@ class EmployeeServiceImplTest {
 
         assertThatThrownBy(() -> employeeService.deleteEmployeeById("id"))
                 .isInstanceOf(EmployeeNotDeletedException.class);
+        verify(employeeSnapshotCache, never()).employeeDeleted("id");
     }
 
     @Test
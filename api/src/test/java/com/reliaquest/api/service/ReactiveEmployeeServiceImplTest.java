@@ -0,0 +1,140 @@
+package com.reliaquest.api.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.controller.exceptions.CannotGuaranteeEmployeeDeletionException;
+import com.reliaquest.api.controller.exceptions.EmployeeNotDeletedException;
+import com.reliaquest.api.controller.exceptions.EmployeeNotFoundException;
+import com.reliaquest.api.model.CreateEmployee;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.client.ReactiveEmployeeClient;
+import com.reliaquest.api.service.client.aggregate.EmployeeAggregation;
+import com.reliaquest.api.service.client.model.Response;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveEmployeeServiceImplTest {
+
+    static final Employee RICHARD = new Employee("id", "Richard Calderin", 190, 20, "Mr", "email@email.com");
+
+    @Mock
+    ReactiveEmployeeClient employeeClient;
+
+    @Captor
+    ArgumentCaptor<EmployeeAggregation<Object>> aggregation;
+
+    @InjectMocks
+    ReactiveEmployeeServiceImpl employeeService;
+
+    @Test
+    void getAllEmployees() {
+        when(employeeClient.getAllEmployees()).thenReturn(Flux.just(RICHARD));
+
+        StepVerifier.create(employeeService.getAllEmployees())
+                .expectNext(RICHARD)
+                .verifyComplete();
+    }
+
+    @Test
+    void getEmployeesByNameSearch() {
+        when(employeeClient.aggregateEmployees(aggregation.capture())).thenReturn(Mono.just(List.of(RICHARD)));
+
+        List<Employee> employees = employeeService.getEmployeesByNameSearch("Richard").block();
+
+        assertThat(employees).containsExactly(RICHARD);
+        assertThat(aggregation.getValue().kind()).isEqualTo("name-matches");
+        assertThat(aggregation.getValue().key())
+                .isEqualTo(EmployeeAggregation.nameMatches("Richard").key())
+                .doesNotContain("Richard");
+    }
+
+    @Test
+    void getEmployee() {
+        when(employeeClient.getEmployee("id")).thenReturn(Mono.just(new Response<>(RICHARD, "ok", null)));
+
+        assertThat(employeeService.getEmployee("id").block()).isEqualTo(RICHARD);
+    }
+
+    @Test
+    void getEmployee_fail() {
+        when(employeeClient.getEmployee("id")).thenReturn(Mono.error(new EmployeeNotFoundException()));
+
+        StepVerifier.create(employeeService.getEmployee("id"))
+                .expectError(EmployeeNotFoundException.class)
+                .verify();
+    }
+
+    @Test
+    void getHighestSalaryOfEmployees() {
+        when(employeeClient.aggregateEmployees(aggregation.capture())).thenReturn(Mono.just(195));
+
+        assertThat(employeeService.getHighestSalaryOfEmployees().block()).isEqualTo(195);
+        assertThat(aggregation.getValue().key()).isEqualTo("highest-salary");
+    }
+
+    @Test
+    void getTopTenHighestEarningEmployeeNames() {
+        when(employeeClient.aggregateEmployees(aggregation.capture()))
+                .thenReturn(Mono.just(List.of("Richard Calderin")));
+
+        assertThat(employeeService.getTopTenHighestEarningEmployeeNames().block())
+                .containsExactly("Richard Calderin");
+        assertThat(aggregation.getValue().key()).isEqualTo("top-earner-names-10");
+    }
+
+    @Test
+    void createEmployee() {
+        CreateEmployee createEmployee = new CreateEmployee("Richard Calderin", 190, 20, "Mr");
+        when(employeeClient.createEmployee(createEmployee)).thenReturn(Mono.just(new Response<>(RICHARD, "ok", null)));
+
+        assertThat(employeeService.createEmployee(createEmployee).block()).isEqualTo(RICHARD);
+    }
+
+    @Test
+    void deleteEmployeeById_success() {
+        when(employeeClient.getEmployee("id")).thenReturn(Mono.just(new Response<>(RICHARD, "ok", null)));
+        when(employeeClient.getAllEmployees())
+                .thenReturn(Flux.just(RICHARD, new Employee("id2", "Robert Lima", 200, 30, "Dr", "robert@email.com")));
+        when(employeeClient.deleteEmployee("Richard Calderin")).thenReturn(Mono.just(new Response<>(true, "ok", null)));
+
+        assertThat(employeeService.deleteEmployeeById("id").block()).isEqualTo("Richard Calderin");
+    }
+
+    @Test
+    void deleteEmployeeById_ServerSaysNotDeleted() {
+        when(employeeClient.getEmployee("id")).thenReturn(Mono.just(new Response<>(RICHARD, "ok", null)));
+        when(employeeClient.getAllEmployees()).thenReturn(Flux.just(RICHARD));
+        when(employeeClient.deleteEmployee("Richard Calderin"))
+                .thenReturn(Mono.just(new Response<>(false, "ok", null)));
+
+        StepVerifier.create(employeeService.deleteEmployeeById("id"))
+                .expectError(EmployeeNotDeletedException.class)
+                .verify();
+    }
+
+    @Test
+    void deleteEmployeeById_multiplePeopleSameName() {
+        when(employeeClient.getEmployee("id")).thenReturn(Mono.just(new Response<>(RICHARD, "ok", null)));
+        when(employeeClient.getAllEmployees())
+                .thenReturn(Flux.just(RICHARD, new Employee("id2", "richard calderin", 200, 30, "Dr", "r@email.com")));
+
+        StepVerifier.create(employeeService.deleteEmployeeById("id"))
+                .expectError(CannotGuaranteeEmployeeDeletionException.class)
+                .verify();
+        verify(employeeClient, never()).deleteEmployee(any());
+    }
+}
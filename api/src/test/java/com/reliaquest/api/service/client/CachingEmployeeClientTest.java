@@ -0,0 +1,180 @@
+package com.reliaquest.api.service.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.controller.exceptions.EmployeeNotFoundException;
+import com.reliaquest.api.controller.exceptions.TooManyRequestException;
+import com.reliaquest.api.controller.exceptions.UpstreamUnavailableException;
+import com.reliaquest.api.model.CreateEmployee;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.client.cache.EmployeeSnapshot;
+import com.reliaquest.api.service.client.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.service.client.model.EmployeeChanges;
+import com.reliaquest.api.service.client.model.EmployeePage;
+import com.reliaquest.api.service.client.model.Response;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CachingEmployeeClientTest {
+
+    @Mock
+    EmployeeClientImpl employeeClientImpl;
+
+    @Mock
+    EmployeeSnapshotCache employeeSnapshotCache;
+
+    @InjectMocks
+    CachingEmployeeClient cachingEmployeeClient;
+
+    @Test
+    void getAllEmployees_fromSnapshot() {
+        List<Employee> employees = List.of(new Employee("id", "name", 190, 20, "Mr", "email@email.com"));
+        when(employeeSnapshotCache.get()).thenReturn(new EmployeeSnapshot(1, Instant.now(), employees));
+
+        Response<List<Employee>> actual = cachingEmployeeClient.getAllEmployees();
+
+        assertThat(actual.data()).isEqualTo(employees);
+        assertThat(actual.status()).isEqualTo(CachingEmployeeClient.SNAPSHOT_STATUS);
+        assertThat(actual.error()).isNull();
+    }
+
+    @Test
+    void getAllEmployees_fail() {
+        when(employeeSnapshotCache.get()).thenThrow(new TooManyRequestException());
+
+        assertThatThrownBy(() -> cachingEmployeeClient.getAllEmployees())
+                .isInstanceOf(TooManyRequestException.class);
+    }
+
+    @Test
+    void getEmployee_fromSnapshot() {
+        Employee employee = new Employee("id", "name", 190, 20, "Mr", "email@email.com");
+        when(employeeSnapshotCache.peek())
+                .thenReturn(Optional.of(new EmployeeSnapshot(1, Instant.now(), List.of(employee))));
+
+        Response<Employee> actual = cachingEmployeeClient.getEmployee("id");
+
+        assertThat(actual.data()).isEqualTo(employee);
+        assertThat(actual.status()).isEqualTo(CachingEmployeeClient.SNAPSHOT_STATUS);
+        verifyNoInteractions(employeeClientImpl);
+    }
+
+    @Test
+    void getEmployee_notInSnapshot_delegated() {
+        Employee employee = new Employee("id", "name", 190, 20, "Mr", "email@email.com");
+        Response<Employee> expected = new Response<>(
+                new Employee("id2", "name", 190, 20, "Mr", "email@email.com"), "Successfully processed request.", null);
+        when(employeeSnapshotCache.peek())
+                .thenReturn(Optional.of(new EmployeeSnapshot(1, Instant.now(), List.of(employee))));
+        when(employeeClientImpl.getEmployee("id2")).thenReturn(expected);
+
+        assertThat(cachingEmployeeClient.getEmployee("id2")).isEqualTo(expected);
+    }
+
+    @Test
+    void getEmployee_noSnapshot_delegated() {
+        Response<Employee> expected = new Response<>(
+                new Employee("id", "name", 190, 20, "Mr", "email@email.com"), "Successfully processed request.", null);
+        when(employeeSnapshotCache.peek()).thenReturn(Optional.empty());
+        when(employeeClientImpl.getEmployee("id")).thenReturn(expected);
+
+        assertThat(cachingEmployeeClient.getEmployee("id")).isEqualTo(expected);
+    }
+
+    @Test
+    void getEmployee_notFound() {
+        when(employeeSnapshotCache.peek()).thenReturn(Optional.empty());
+        when(employeeClientImpl.getEmployee("id")).thenThrow(new EmployeeNotFoundException());
+
+        assertThatThrownBy(() -> cachingEmployeeClient.getEmployee("id"))
+                .isInstanceOf(EmployeeNotFoundException.class);
+    }
+
+    @Test
+    void getEmployee_upstreamUnavailable_fromLastSnapshot() {
+        Employee employee = new Employee("id", "name", 190, 20, "Mr", "email@email.com");
+        when(employeeSnapshotCache.peek()).thenReturn(Optional.empty());
+        when(employeeSnapshotCache.lastKnown())
+                .thenReturn(Optional.of(new EmployeeSnapshot(1, Instant.now(), List.of(employee))));
+        when(employeeClientImpl.getEmployee("id")).thenThrow(new UpstreamUnavailableException());
+
+        Response<Employee> actual = cachingEmployeeClient.getEmployee("id");
+
+        assertThat(actual.data()).isEqualTo(employee);
+        assertThat(actual.status()).isEqualTo(CachingEmployeeClient.SNAPSHOT_STATUS);
+    }
+
+    @Test
+    void getEmployee_upstreamUnavailable_notInLastSnapshot() {
+        when(employeeSnapshotCache.peek()).thenReturn(Optional.empty());
+        when(employeeSnapshotCache.lastKnown())
+                .thenReturn(Optional.of(new EmployeeSnapshot(1, Instant.now(), List.of())));
+        when(employeeClientImpl.getEmployee("id")).thenThrow(new UpstreamUnavailableException());
+
+        assertThatThrownBy(() -> cachingEmployeeClient.getEmployee("id"))
+                .isInstanceOf(UpstreamUnavailableException.class);
+    }
+
+    @Test
+    void getEmployeePage_delegated() {
+        EmployeePage expected =
+                new EmployeePage(List.of(new Employee("id", "name", 190, 20, "Mr", "email@email.com")), "1");
+        when(employeeClientImpl.getEmployeePage(null, 10)).thenReturn(expected);
+
+        assertThat(cachingEmployeeClient.getEmployeePage(null, 10)).isEqualTo(expected);
+    }
+
+    @Test
+    void getEmployeeChanges_delegated() {
+        EmployeeChanges expected = new EmployeeChanges(3, false, List.of());
+        when(employeeClientImpl.getEmployeeChanges(2)).thenReturn(expected);
+
+        assertThat(cachingEmployeeClient.getEmployeeChanges(2)).isEqualTo(expected);
+    }
+
+    @Test
+    void createEmployee_delegated() {
+        CreateEmployee createEmployee = new CreateEmployee("name", 190, 20, "Mr");
+        Response<Employee> expected = new Response<>(
+                new Employee("id", "name", 190, 20, "Mr", "email@email.com"), "Successfully processed request.", null);
+        when(employeeClientImpl.createEmployee(createEmployee)).thenReturn(expected);
+
+        assertThat(cachingEmployeeClient.createEmployee(createEmployee)).isEqualTo(expected);
+    }
+
+    @Test
+    void deleteEmployee_delegated() {
+        Response<Boolean> expected = new Response<>(true, "Successfully processed request.", null);
+        when(employeeClientImpl.deleteEmployee("name")).thenReturn(expected);
+
+        assertThat(cachingEmployeeClient.deleteEmployee("name")).isEqualTo(expected);
+    }
+
+    @Test
+    void createEmployees_delegated() {
+        List<CreateEmployee> createEmployees = List.of(new CreateEmployee("name", 190, 20, "Mr"));
+        List<Response<Employee>> expected = List.of(new Response<>(
+                new Employee("id", "name", 190, 20, "Mr", "email@email.com"), "Successfully processed request.", null));
+        when(employeeClientImpl.createEmployees(createEmployees)).thenReturn(expected);
+
+        assertThat(cachingEmployeeClient.createEmployees(createEmployees)).isEqualTo(expected);
+    }
+
+    @Test
+    void deleteEmployees_delegated() {
+        List<Response<Boolean>> expected = List.of(new Response<>(true, "Successfully processed request.", null));
+        when(employeeClientImpl.deleteEmployees(List.of("name"))).thenReturn(expected);
+
+        assertThat(cachingEmployeeClient.deleteEmployees(List.of("name"))).isEqualTo(expected);
+    }
+}
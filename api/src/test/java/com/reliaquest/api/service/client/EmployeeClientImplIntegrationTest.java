@@ -11,6 +11,7 @@ import com.reliaquest.api.controller.exceptions.EmployeeNotFoundException;
 import com.reliaquest.api.controller.exceptions.TooManyRequestException;
 import com.reliaquest.api.model.CreateEmployee;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.client.aggregate.EmployeeAggregation;
 import com.reliaquest.api.service.client.model.Response;
 import java.nio.charset.StandardCharsets;
 import java.util.List;
@@ -66,6 +67,51 @@ class EmployeeClientImplIntegrationTest {
         assertThat(allEmployees.error()).isNull();
     }
 
+    @Test
+    void aggregateEmployees() {
+        String response =
+                """
+                {
+                    "data": [
+                        {
+                            "id": "fa73472f-6a51-42fd-9fd8-80bc07232075",
+                            "employee_name": "Martin Okuneva",
+                            "employee_salary": 366039,
+                            "employee_age": 28,
+                            "employee_title": "Investor Retail Technician",
+                            "employee_email": "lotstring@company.com"
+                        },
+                        {
+                            "id": "5255f1a5-f9f7-4be5-829a-134bde088d17",
+                            "employee_name": "Bill Bob",
+                            "employee_salary": 89750,
+                            "employee_age": 24,
+                            "employee_title": "Documentation Engineer",
+                            "employee_email": "billBob@company.com"
+                        }
+                    ],
+                    "status": "Successfully processed request."
+                }
+                """;
+        WireMock.stubFor(WireMock.get(WireMock.urlEqualTo("/api/v1/employee"))
+                .willReturn(ResponseDefinitionBuilder.responseDefinition()
+                        .withStatus(200)
+                        .withBody(response)
+                        .withHeader("Content-Type", "application/json")));
+
+        assertThat(employeeClient.aggregateEmployees(EmployeeAggregation.highestSalary())).isEqualTo(366039);
+        assertThat(employeeClient.aggregateEmployees(EmployeeAggregation.topEarnerNames(10)))
+                .containsExactly("Martin Okuneva", "Bill Bob");
+        assertThat(employeeClient.aggregateEmployees(EmployeeAggregation.nameMatches("bob")))
+                .containsExactly(new Employee(
+                        "5255f1a5-f9f7-4be5-829a-134bde088d17",
+                        "Bill Bob",
+                        89750,
+                        24,
+                        "Documentation Engineer",
+                        "billBob@company.com"));
+    }
+
     @Test
     void getEmployee() {
         String response =
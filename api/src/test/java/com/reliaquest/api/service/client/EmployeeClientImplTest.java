@@ -7,16 +7,33 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.controller.exceptions.EmployeeNotCreatedException;
+import com.reliaquest.api.controller.exceptions.EmployeeNotDeletedException;
+import com.reliaquest.api.controller.exceptions.TooManyRequestException;
 import com.reliaquest.api.model.CreateEmployee;
 import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.client.breaker.CircuitBreakerInterceptor;
 import com.reliaquest.api.service.client.error.EmployeeErrorHandler;
+import com.reliaquest.api.service.client.json.EmployeeHttpMessageConverter;
 import com.reliaquest.api.service.client.json.EmployeeJacksonNamingStrategy;
+import com.reliaquest.api.service.client.limit.RateLimitInterceptor;
 import com.reliaquest.api.service.client.model.DeleteEmployee;
+import com.reliaquest.api.service.client.model.EmployeeChange;
+import com.reliaquest.api.service.client.model.EmployeeChanges;
+import com.reliaquest.api.service.client.model.EmployeePage;
 import com.reliaquest.api.service.client.model.Response;
+import java.net.URI;
+import java.net.http.HttpClient;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -26,8 +43,11 @@ import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.ClientHttpRequestFactory;
 import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.http.converter.HttpMessageConverter;
@@ -35,6 +55,8 @@ import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.RestClient;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriBuilder;
 
 @ExtendWith(MockitoExtension.class)
 class EmployeeClientImplTest {
@@ -69,6 +91,12 @@ class EmployeeClientImplTest {
     @Captor
     ArgumentCaptor<Consumer<List<HttpMessageConverter<?>>>> configurerCaptor;
 
+    @Captor
+    ArgumentCaptor<Function<UriBuilder, URI>> uriFunctionCaptor;
+
+    @Captor
+    ArgumentCaptor<Consumer<HttpHeaders>> headersCaptor;
+
     EmployeeClientImpl employeeClient;
 
     @BeforeEach
@@ -81,13 +109,30 @@ class EmployeeClientImplTest {
         when(restClientBuilder.defaultStatusHandler(any(), any(EmployeeErrorHandler.class)))
                 .thenReturn(restClientBuilder);
         when(restClientBuilder.requestFactory(any())).thenReturn(restClientBuilder);
+        when(restClientBuilder.requestInterceptor(any(CircuitBreakerInterceptor.class)))
+                .thenReturn(restClientBuilder);
+        when(restClientBuilder.requestInterceptor(any(RateLimitInterceptor.class))).thenReturn(restClientBuilder);
         when(restClientBuilder.baseUrl("http://localhost:8080")).thenReturn(restClientBuilder);
         when(restClientBuilder.build()).thenReturn(restClient);
 
-        EmployeeClientProperties employeeClientProperties =
-                new EmployeeClientProperties(Duration.ofSeconds(10), "http://localhost:8080");
-        employeeClient =
-                new EmployeeClientImpl(employeeClientProperties, restClientBuilder, jackson2ObjectMapperBuilder);
+        employeeClient = new EmployeeClientImpl(
+                employeeClientProperties(new EmployeeClientProperties.Batch(Duration.ZERO, 100)),
+                restClientBuilder,
+                jackson2ObjectMapperBuilder);
+    }
+
+    static EmployeeClientProperties employeeClientProperties(EmployeeClientProperties.Batch batch) {
+        return new EmployeeClientProperties(
+                Duration.ofSeconds(10),
+                "http://localhost:8080",
+                null,
+                new EmployeeClientProperties.RateLimit(Duration.ofSeconds(1), Duration.ofSeconds(90), Duration.ZERO),
+                new EmployeeClientProperties.Retry(
+                        3, Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofSeconds(1), 0),
+                new EmployeeClientProperties.CircuitBreaker(20, 10, 50, Duration.ofSeconds(30), 3),
+                new EmployeeClientProperties.Transport(
+                        HttpClient.Version.HTTP_2, Duration.ofSeconds(2), 4, 16, Duration.ofSeconds(60), false, 100),
+                batch);
     }
 
     @AfterEach
@@ -99,6 +144,10 @@ class EmployeeClientImplTest {
                 (JdkClientHttpRequestFactory) clientHttpRequestFactoryCaptor.getValue();
         assertThat(ReflectionTestUtils.getField(jdkClientHttpRequestFactory, "readTimeout"))
                 .isEqualTo(Duration.ofSeconds(10));
+        HttpClient httpClient = (HttpClient) ReflectionTestUtils.getField(jdkClientHttpRequestFactory, "httpClient");
+        assertThat(httpClient.version()).isEqualTo(HttpClient.Version.HTTP_2);
+        assertThat(httpClient.connectTimeout()).contains(Duration.ofSeconds(2));
+        assertThat(httpClient.executor()).isPresent();
 
         Consumer<List<HttpMessageConverter<?>>> configurer = configurerCaptor.getValue();
         List<HttpMessageConverter<?>> converterList = new ArrayList<>();
@@ -106,9 +155,24 @@ class EmployeeClientImplTest {
         converterList.add(new MappingJackson2HttpMessageConverter());
         configurer.accept(converterList);
         assertThat(converterList).hasSize(1);
+        assertThat(converterList.get(0)).isInstanceOf(EmployeeHttpMessageConverter.class);
         MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter =
                 (MappingJackson2HttpMessageConverter) converterList.get(0);
         assertThat(mappingJackson2HttpMessageConverter.getObjectMapper()).isEqualTo(objectMapper);
+
+        employeeClient.destroy();
+    }
+
+    @Test
+    void destroy_httpExecutorShutDown() {
+        verify(restClientBuilder).requestFactory(clientHttpRequestFactoryCaptor.capture());
+        HttpClient httpClient =
+                (HttpClient) ReflectionTestUtils.getField(clientHttpRequestFactoryCaptor.getValue(), "httpClient");
+        ExecutorService httpExecutor = (ExecutorService) httpClient.executor().orElseThrow();
+
+        employeeClient.destroy();
+
+        assertThat(httpExecutor.isShutdown()).isTrue();
     }
 
     @Test
@@ -121,19 +185,50 @@ class EmployeeClientImplTest {
         doReturn(requestHeadersUriSpec).when(restClient).get();
         doReturn(requestHeadersSpec).when(requestHeadersUriSpec).uri("/api/v1/employee");
         doReturn(requestHeadersSpec).when(requestHeadersSpec).accept(MediaType.APPLICATION_JSON);
+        doReturn(requestHeadersSpec).when(requestHeadersSpec).headers(any());
         when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
-        when(responseSpec.body(any(ParameterizedTypeReference.class))).thenReturn(expected);
+        when(responseSpec.toEntity(any(ParameterizedTypeReference.class))).thenReturn(ResponseEntity.ok(expected));
 
         Response<List<Employee>> actual = employeeClient.getAllEmployees();
 
         assertThat(actual).isEqualTo(expected);
     }
 
+    @Test
+    void getAllEmployees_notModified_previousResponseReused() {
+        Response<List<Employee>> expected = new Response<>(
+                List.of(new Employee("id", "name", 190, 20, "Mr", "email@email.com")),
+                "Successfully processed request.",
+                null);
+
+        doReturn(requestHeadersUriSpec).when(restClient).get();
+        doReturn(requestHeadersSpec).when(requestHeadersUriSpec).uri("/api/v1/employee");
+        doReturn(requestHeadersSpec).when(requestHeadersSpec).accept(MediaType.APPLICATION_JSON);
+        doReturn(requestHeadersSpec).when(requestHeadersSpec).headers(headersCaptor.capture());
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toEntity(any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok().eTag("\"1\"").body(expected))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+
+        Response<List<Employee>> first = employeeClient.getAllEmployees();
+        Response<List<Employee>> second = employeeClient.getAllEmployees();
+
+        assertThat(first).isSameAs(expected);
+        assertThat(second).isSameAs(expected);
+        HttpHeaders firstHeaders = new HttpHeaders();
+        headersCaptor.getAllValues().get(0).accept(firstHeaders);
+        assertThat(firstHeaders.getIfNoneMatch()).isEmpty();
+        HttpHeaders secondHeaders = new HttpHeaders();
+        headersCaptor.getAllValues().get(1).accept(secondHeaders);
+        assertThat(secondHeaders.getIfNoneMatch()).containsExactly("\"1\"");
+    }
+
     @Test
     void getAllEmployees_failure() {
         doReturn(requestHeadersUriSpec).when(restClient).get();
         doReturn(requestHeadersSpec).when(requestHeadersUriSpec).uri("/api/v1/employee");
         doReturn(requestHeadersSpec).when(requestHeadersSpec).accept(MediaType.APPLICATION_JSON);
+        doReturn(requestHeadersSpec).when(requestHeadersSpec).headers(any());
         when(requestHeadersSpec.retrieve()).thenThrow(new RuntimeException("test"));
 
         assertThatThrownBy(() -> employeeClient.getAllEmployees())
@@ -141,6 +236,83 @@ class EmployeeClientImplTest {
                 .hasMessage("test");
     }
 
+    @Test
+    void getAllEmployees_throttled_retried() {
+        Response<List<Employee>> expected = new Response<>(List.of(), "Successfully processed request.", null);
+
+        doReturn(requestHeadersUriSpec).when(restClient).get();
+        doReturn(requestHeadersSpec).when(requestHeadersUriSpec).uri("/api/v1/employee");
+        doReturn(requestHeadersSpec).when(requestHeadersSpec).accept(MediaType.APPLICATION_JSON);
+        doReturn(requestHeadersSpec).when(requestHeadersSpec).headers(any());
+        when(requestHeadersSpec.retrieve()).thenThrow(new TooManyRequestException()).thenReturn(responseSpec);
+        when(responseSpec.toEntity(any(ParameterizedTypeReference.class))).thenReturn(ResponseEntity.ok(expected));
+
+        Response<List<Employee>> actual = employeeClient.getAllEmployees();
+
+        assertThat(actual).isEqualTo(expected);
+        verify(requestHeadersSpec, times(2)).retrieve();
+    }
+
+    @Test
+    void getEmployeePage() {
+        List<Employee> employees = List.of(new Employee("id", "name", 190, 20, "Mr", "email@email.com"));
+        ResponseEntity<Response<List<Employee>>> expected = ResponseEntity.ok()
+                .header(EmployeeClientImpl.NEXT_CURSOR_HEADER, "5")
+                .body(new Response<>(employees, "Successfully processed request.", null));
+
+        doReturn(requestHeadersUriSpec).when(restClient).get();
+        doReturn(requestHeadersSpec).when(requestHeadersUriSpec).uri(uriFunctionCaptor.capture());
+        doReturn(requestHeadersSpec).when(requestHeadersSpec).accept(MediaType.APPLICATION_JSON);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toEntity(any(ParameterizedTypeReference.class))).thenReturn(expected);
+
+        EmployeePage actual = employeeClient.getEmployeePage("2", 3);
+
+        assertThat(actual).isEqualTo(new EmployeePage(employees, "5"));
+        assertThat(uriFunctionCaptor.getValue().apply(new DefaultUriBuilderFactory().builder()))
+                .hasToString("/api/v1/employee?cursor=2&limit=3");
+    }
+
+    @Test
+    void getEmployeePage_firstAndLastPage() {
+        ResponseEntity<Response<List<Employee>>> expected =
+                ResponseEntity.ok(new Response<>(null, "Successfully processed request.", null));
+
+        doReturn(requestHeadersUriSpec).when(restClient).get();
+        doReturn(requestHeadersSpec).when(requestHeadersUriSpec).uri(uriFunctionCaptor.capture());
+        doReturn(requestHeadersSpec).when(requestHeadersSpec).accept(MediaType.APPLICATION_JSON);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toEntity(any(ParameterizedTypeReference.class))).thenReturn(expected);
+
+        EmployeePage actual = employeeClient.getEmployeePage(null, 3);
+
+        assertThat(actual).isEqualTo(new EmployeePage(List.of(), null));
+        assertThat(uriFunctionCaptor.getValue().apply(new DefaultUriBuilderFactory().builder()))
+                .hasToString("/api/v1/employee?limit=3");
+    }
+
+    @Test
+    void getEmployeeChanges() {
+        EmployeeChanges expected = new EmployeeChanges(
+                6,
+                false,
+                List.of(new EmployeeChange(
+                        6,
+                        EmployeeChange.Type.CREATED,
+                        new Employee("id", "name", 190, 20, "Mr", "email@email.com"))));
+
+        doReturn(requestHeadersUriSpec).when(restClient).get();
+        doReturn(requestHeadersSpec).when(requestHeadersUriSpec).uri("/api/v1/employee/changes?since={since}", 5L);
+        doReturn(requestHeadersSpec).when(requestHeadersSpec).accept(MediaType.APPLICATION_JSON);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.body(any(ParameterizedTypeReference.class)))
+                .thenReturn(new Response<>(expected, "Successfully processed request.", null));
+
+        EmployeeChanges actual = employeeClient.getEmployeeChanges(5);
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
     @Test
     void getEmployee() {
         Response<Employee> expected = new Response<>(
@@ -192,6 +364,83 @@ class EmployeeClientImplTest {
         assertThat(actual).isEqualTo(expected);
     }
 
+    @Test
+    void createEmployee_mixedBatch_onlyRejectedCallerFails() throws Exception {
+        CreateEmployee valid = new CreateEmployee("name", 12345, 18, "Mr");
+        CreateEmployee invalid = new CreateEmployee("", 12345, 18, "Mr");
+        Employee created = new Employee("employeeId", "name", 12345, 18, "Mr", "email@email.com");
+        // both callers join one batch, it is sealed as soon as it is full
+        clearInvocations(restClientBuilder);
+        EmployeeClientImpl batchingClient = new EmployeeClientImpl(
+                employeeClientProperties(new EmployeeClientProperties.Batch(Duration.ofSeconds(10), 2)),
+                restClientBuilder,
+                jackson2ObjectMapperBuilder);
+        AtomicReference<List<CreateEmployee>> batch = new AtomicReference<>();
+
+        when(restClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri("/api/v1/employee/batch")).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.accept(MediaType.APPLICATION_JSON)).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.contentType(MediaType.APPLICATION_JSON)).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.body(any(Object.class))).thenAnswer(invocation -> {
+            batch.set(invocation.getArgument(0));
+            return requestBodyUriSpec;
+        });
+        when(requestBodyUriSpec.retrieve()).thenReturn(responseSpec);
+        // results follow the order the callers joined the batch in
+        when(responseSpec.body(any(ParameterizedTypeReference.class))).thenAnswer(invocation -> new Response<>(
+                batch.get().stream()
+                        .map(createEmployee -> createEmployee.equals(valid)
+                                ? new Response<>(created, "Successfully processed request.", null)
+                                : new Response<>(null, "Failed to process request.", "name must not be blank"))
+                        .toList(),
+                "Successfully processed request.",
+                null));
+
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            Future<Response<Employee>> validResult = callers.submit(() -> batchingClient.createEmployee(valid));
+            Future<Response<Employee>> invalidResult = callers.submit(() -> batchingClient.createEmployee(invalid));
+
+            assertThat(validResult.get(5, TimeUnit.SECONDS).data()).isEqualTo(created);
+            assertThatThrownBy(() -> invalidResult.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(EmployeeNotCreatedException.class);
+        } finally {
+            callers.shutdownNow();
+            batchingClient.destroy();
+        }
+        assertThat(batch.get()).containsExactlyInAnyOrder(valid, invalid);
+        verify(restClient, times(1)).post();
+    }
+
+    @Test
+    void deleteEmployee_rejected_notDeleted() {
+        when(restClient.method(HttpMethod.DELETE)).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri("/api/v1/employee")).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.accept(MediaType.APPLICATION_JSON)).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.contentType(MediaType.APPLICATION_JSON)).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.body(new DeleteEmployee(""))).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.body(any(ParameterizedTypeReference.class)))
+                .thenReturn(new Response<>(null, "Failed to process request.", "name must not be blank"));
+
+        assertThatThrownBy(() -> employeeClient.deleteEmployee("")).isInstanceOf(EmployeeNotDeletedException.class);
+    }
+
+    @Test
+    void createEmployee_throttled_notRetried() {
+        CreateEmployee request = new CreateEmployee("name", 12345, 18, "Mr");
+
+        when(restClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri("/api/v1/employee")).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.accept(MediaType.APPLICATION_JSON)).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.contentType(MediaType.APPLICATION_JSON)).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.body(request)).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.retrieve()).thenThrow(new TooManyRequestException());
+
+        assertThatThrownBy(() -> employeeClient.createEmployee(request)).isInstanceOf(TooManyRequestException.class);
+        verify(requestBodyUriSpec, times(1)).retrieve();
+    }
+
     @Test
     void createEmployee_failure() {
         CreateEmployee request = new CreateEmployee("name", 12345, 18, "Mr");
@@ -225,6 +474,52 @@ class EmployeeClientImplTest {
         assertThat(actual).isEqualTo(expected);
     }
 
+    @Test
+    void createEmployees() {
+        List<CreateEmployee> request =
+                List.of(new CreateEmployee("name", 12345, 18, "Mr"), new CreateEmployee("", 12345, 18, "Mr"));
+        List<Response<Employee>> expected = List.of(
+                new Response<>(
+                        new Employee("employeeId", "name", 12345, 18, "Mr", "email@email.com"),
+                        "Successfully processed request.",
+                        null),
+                new Response<>(null, "Failed to process request.", "name must not be blank"));
+
+        when(restClient.post()).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri("/api/v1/employee/batch")).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.accept(MediaType.APPLICATION_JSON)).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.contentType(MediaType.APPLICATION_JSON)).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.body(request)).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.body(any(ParameterizedTypeReference.class)))
+                .thenReturn(new Response<>(expected, "Successfully processed request.", null));
+
+        List<Response<Employee>> actual = employeeClient.createEmployees(request);
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    @Test
+    void deleteEmployees() {
+        List<Response<Boolean>> expected = List.of(
+                new Response<>(true, "Successfully processed request.", null),
+                new Response<>(false, "Successfully processed request.", null));
+
+        when(restClient.method(HttpMethod.DELETE)).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.uri("/api/v1/employee/batch")).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.accept(MediaType.APPLICATION_JSON)).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.contentType(MediaType.APPLICATION_JSON)).thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.body(List.of(new DeleteEmployee("Richard Test"), new DeleteEmployee("Robert Test"))))
+                .thenReturn(requestBodyUriSpec);
+        when(requestBodyUriSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.body(any(ParameterizedTypeReference.class)))
+                .thenReturn(new Response<>(expected, "Successfully processed request.", null));
+
+        List<Response<Boolean>> actual = employeeClient.deleteEmployees(List.of("Richard Test", "Robert Test"));
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
     @Test
     void deleteEmployee_failure() {
         when(restClient.method(HttpMethod.DELETE)).thenReturn(requestBodyUriSpec);
@@ -0,0 +1,74 @@
+package com.reliaquest.api.service.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.client.model.EmployeePage;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeePageIteratorTest {
+
+    @Mock
+    EmployeeClient employeeClient;
+
+    @Test
+    void iterate_allPages() {
+        when(employeeClient.getEmployeePage(null, 2))
+                .thenReturn(new EmployeePage(List.of(employee("id1"), employee("id2")), "2"));
+        when(employeeClient.getEmployeePage("2", 2))
+                .thenReturn(new EmployeePage(List.of(employee("id3"), employee("id4")), "4"));
+        when(employeeClient.getEmployeePage("4", 2)).thenReturn(new EmployeePage(List.of(employee("id5")), null));
+
+        List<Employee> employees = new ArrayList<>();
+        new EmployeePageIterator(employeeClient, 2).forEachRemaining(employees::add);
+
+        assertThat(employees)
+                .containsExactly(employee("id1"), employee("id2"), employee("id3"), employee("id4"), employee("id5"));
+    }
+
+    @Test
+    void iterate_pagesFetchedLazily() {
+        when(employeeClient.getEmployeePage(null, 1)).thenReturn(new EmployeePage(List.of(employee("id1")), "1"));
+
+        Iterator<Employee> iterator = new EmployeePageIterator(employeeClient, 1);
+
+        assertThat(iterator.next()).isEqualTo(employee("id1"));
+        verify(employeeClient, times(1)).getEmployeePage(any(), anyInt());
+    }
+
+    @Test
+    void iterate_emptyPageBeforeLast_followed() {
+        when(employeeClient.getEmployeePage(null, 2)).thenReturn(new EmployeePage(List.of(), "2"));
+        when(employeeClient.getEmployeePage("2", 2)).thenReturn(new EmployeePage(List.of(employee("id3")), null));
+
+        Iterator<Employee> iterator = new EmployeePageIterator(employeeClient, 2);
+
+        assertThat(iterator.next()).isEqualTo(employee("id3"));
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    void iterate_noEmployees() {
+        when(employeeClient.getEmployeePage(null, 2)).thenReturn(new EmployeePage(List.of(), null));
+
+        Iterator<Employee> iterator = new EmployeePageIterator(employeeClient, 2);
+
+        assertThat(iterator.hasNext()).isFalse();
+        assertThatThrownBy(iterator::next).isInstanceOf(NoSuchElementException.class);
+        verify(employeeClient, times(1)).getEmployeePage(any(), anyInt());
+    }
+
+    static Employee employee(String id) {
+        return new Employee(id, "Richard Test", 12345, 21, "Mr", "email@email.com");
+    }
+}
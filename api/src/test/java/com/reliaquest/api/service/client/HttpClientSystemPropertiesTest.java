@@ -0,0 +1,78 @@
+package com.reliaquest.api.service.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.DefaultBootstrapContext;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.event.ApplicationEnvironmentPreparedEvent;
+import org.springframework.mock.env.MockEnvironment;
+
+class HttpClientSystemPropertiesTest {
+
+    static final String POOL_SIZE = "jdk.httpclient.connectionPoolSize";
+    static final String KEEP_ALIVE = "jdk.httpclient.keepalive.timeout";
+    static final String KEEP_ALIVE_H2 = "jdk.httpclient.keepalive.timeout.h2";
+
+    Map<String, String> saved = new HashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        for (String property : new String[] {POOL_SIZE, KEEP_ALIVE, KEEP_ALIVE_H2}) {
+            saved.put(property, System.getProperty(property));
+            System.clearProperty(property);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        saved.forEach((property, value) -> {
+            if (value == null) {
+                System.clearProperty(property);
+            } else {
+                System.setProperty(property, value);
+            }
+        });
+    }
+
+    @Test
+    void onApplicationEvent_setsTransportSettings() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("employee-client.transport.connection-pool-size", "32")
+                .withProperty("employee-client.transport.keep-alive", "2m");
+
+        new HttpClientSystemProperties().onApplicationEvent(event(environment));
+
+        assertThat(System.getProperty(POOL_SIZE)).isEqualTo("32");
+        assertThat(System.getProperty(KEEP_ALIVE)).isEqualTo("120");
+        assertThat(System.getProperty(KEEP_ALIVE_H2)).isEqualTo("120");
+    }
+
+    @Test
+    void onApplicationEvent_notConfigured_defaults() {
+        new HttpClientSystemProperties().onApplicationEvent(event(new MockEnvironment()));
+
+        assertThat(System.getProperty(POOL_SIZE)).isEqualTo("16");
+        assertThat(System.getProperty(KEEP_ALIVE)).isEqualTo("60");
+    }
+
+    @Test
+    void onApplicationEvent_explicitSystemPropertyWins() {
+        System.setProperty(POOL_SIZE, "4");
+
+        new HttpClientSystemProperties()
+                .onApplicationEvent(event(
+                        new MockEnvironment().withProperty("employee-client.transport.connection-pool-size", "32")));
+
+        assertThat(System.getProperty(POOL_SIZE)).isEqualTo("4");
+    }
+
+    private static ApplicationEnvironmentPreparedEvent event(MockEnvironment environment) {
+        return new ApplicationEnvironmentPreparedEvent(
+                new DefaultBootstrapContext(), new SpringApplication(), new String[0], environment);
+    }
+}
@@ -0,0 +1,291 @@
+package com.reliaquest.api.service.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.matching.EqualToJsonPattern;
+import com.github.tomakehurst.wiremock.stubbing.Scenario;
+import com.reliaquest.api.controller.exceptions.EmployeeNotFoundException;
+import com.reliaquest.api.controller.exceptions.TooManyRequestException;
+import com.reliaquest.api.model.CreateEmployee;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.client.aggregate.EmployeeAggregation;
+import com.reliaquest.api.service.client.model.Response;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.contract.wiremock.AutoConfigureWireMock;
+import org.springframework.test.context.ActiveProfiles;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles({"integ", "reactive"})
+@AutoConfigureWireMock(port = 0)
+class WebClientEmployeeClientIntegrationTest {
+
+    static final String EMPLOYEES =
+            """
+            {
+                "data": [
+                    {
+                        "id": "fa73472f-6a51-42fd-9fd8-80bc07232075",
+                        "employee_name": "Martin Okuneva",
+                        "employee_salary": 366039,
+                        "employee_age": 28,
+                        "employee_title": "Investor Retail Technician",
+                        "employee_email": "lotstring@company.com"
+                    },
+                    {
+                        "id": "5255f1a5-f9f7-4be5-829a-134bde088d17",
+                        "employee_name": "Richard Test",
+                        "employee_salary": 12345,
+                        "employee_age": 21,
+                        "employee_title": "Mr",
+                        "employee_email": "richard@company.com"
+                    }
+                ],
+                "status": "Successfully processed request."
+            }
+            """;
+
+    static final Employee MARTIN = new Employee(
+            "fa73472f-6a51-42fd-9fd8-80bc07232075",
+            "Martin Okuneva",
+            366039,
+            28,
+            "Investor Retail Technician",
+            "lotstring@company.com");
+
+    @Autowired
+    WebClientEmployeeClient employeeClient;
+
+    @Test
+    void getAllEmployees() {
+        stubEmployees();
+
+        List<Employee> employees = employeeClient.getAllEmployees().collectList().block();
+
+        assertThat(employees)
+                .containsExactly(
+                        MARTIN,
+                        new Employee(
+                                "5255f1a5-f9f7-4be5-829a-134bde088d17",
+                                "Richard Test",
+                                12345,
+                                21,
+                                "Mr",
+                                "richard@company.com"));
+    }
+
+    @Test
+    void aggregateEmployees() {
+        stubEmployees();
+
+        Integer highestSalary = employeeClient.aggregateEmployees(EmployeeAggregation.highestSalary()).block();
+        List<String> topEarnerNames =
+                employeeClient.aggregateEmployees(EmployeeAggregation.topEarnerNames(1)).block();
+
+        assertThat(highestSalary).isEqualTo(366039);
+        assertThat(topEarnerNames).containsExactly("Martin Okuneva");
+    }
+
+    @Test
+    void getEmployee() {
+        String response =
+                """
+                {
+                    "data": {
+                        "id": "fa73472f-6a51-42fd-9fd8-80bc07232075",
+                        "employee_name": "Martin Okuneva",
+                        "employee_salary": 366039,
+                        "employee_age": 28,
+                        "employee_title": "Investor Retail Technician",
+                        "employee_email": "lotstring@company.com"
+                    },
+                    "status": "Successfully processed request."
+                }
+                """;
+        WireMock.stubFor(WireMock.get(WireMock.urlEqualTo("/api/v1/employee/fa73472f-6a51-42fd-9fd8-80bc07232075"))
+                .willReturn(ResponseDefinitionBuilder.responseDefinition()
+                        .withStatus(200)
+                        .withBody(response)
+                        .withHeader("Content-Type", "application/json")));
+
+        Response<Employee> employee = employeeClient.getEmployee("fa73472f-6a51-42fd-9fd8-80bc07232075").block();
+
+        assertThat(employee.data()).isEqualTo(MARTIN);
+        assertThat(employee.status()).isEqualTo("Successfully processed request.");
+    }
+
+    @Test
+    void getEmployee_404() {
+        WireMock.stubFor(WireMock.get(WireMock.urlEqualTo("/api/v1/employee/fa73472f-6a51-42fd-9fd8-80bc07232075"))
+                .willReturn(ResponseDefinitionBuilder.responseDefinition()
+                        .withStatus(404)
+                        .withBody("{\"status\": \"Successfully processed request.\"}")
+                        .withHeader("Content-Type", "application/json")));
+
+        assertThatThrownBy(() -> employeeClient.getEmployee("fa73472f-6a51-42fd-9fd8-80bc07232075").block())
+                .isInstanceOf(EmployeeNotFoundException.class);
+    }
+
+    @Test
+    void getEmployee_404_proxy() {
+        WireMock.stubFor(WireMock.get(WireMock.urlEqualTo("/api/v1/employee/fa73472f-6a51-42fd-9fd8-80bc07232075"))
+                .willReturn(ResponseDefinitionBuilder.responseDefinition()
+                        .withStatus(404)
+                        .withBody("{}")
+                        .withHeader("Content-Type", "application/json")));
+
+        assertThatThrownBy(() -> employeeClient.getEmployee("fa73472f-6a51-42fd-9fd8-80bc07232075").block())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessage("Cannot handle http code: 404");
+    }
+
+    @Test
+    void createEmployee() {
+        String response =
+                """
+                {
+                    "data": {
+                        "id": "fa73472f-6a51-42fd-9fd8-80bc07232075",
+                        "employee_name": "Martin Okuneva",
+                        "employee_salary": 366039,
+                        "employee_age": 28,
+                        "employee_title": "Investor Retail Technician",
+                        "employee_email": "lotstring@company.com"
+                    },
+                    "status": "Successfully processed request."
+                }
+                """;
+        WireMock.stubFor(WireMock.post(WireMock.urlEqualTo("/api/v1/employee"))
+                .withRequestBody(new EqualToJsonPattern(
+                        """
+                                        {
+                                            "name": "Martin Okuneva",
+                                            "salary": 366039,
+                                            "age": 28,
+                                            "title": "Investor Retail Technician"
+                                        }
+                                        """,
+                        true,
+                        false))
+                .willReturn(ResponseDefinitionBuilder.responseDefinition()
+                        .withStatus(200)
+                        .withBody(response)
+                        .withHeader("Content-Type", "application/json")));
+
+        Response<Employee> employee = employeeClient
+                .createEmployee(new CreateEmployee("Martin Okuneva", 366039, 28, "Investor Retail Technician"))
+                .block();
+
+        assertThat(employee.data()).isEqualTo(MARTIN);
+    }
+
+    @Test
+    void deleteEmployee() {
+        WireMock.stubFor(WireMock.delete(WireMock.urlEqualTo("/api/v1/employee"))
+                .withRequestBody(new EqualToJsonPattern("{\"name\": \"Richard Test\"}", true, false))
+                .willReturn(ResponseDefinitionBuilder.responseDefinition()
+                        .withStatus(200)
+                        .withBody("{\"data\": true, \"status\": \"Successfully processed request.\"}")
+                        .withHeader("Content-Type", "application/json")));
+
+        Response<Boolean> result = employeeClient.deleteEmployee("Richard Test").block();
+
+        assertThat(result.data()).isTrue();
+    }
+
+    @Test
+    void test429Handling() {
+        WireMock.stubFor(WireMock.delete(WireMock.urlEqualTo("/api/v1/employee"))
+                .willReturn(ResponseDefinitionBuilder.responseDefinition().withStatus(429)));
+
+        assertThatThrownBy(() -> employeeClient.deleteEmployee("Richard Test").block())
+                .isInstanceOf(TooManyRequestException.class);
+    }
+
+    @Test
+    void getEmployee_429_withoutRetryAfter_notRetried() {
+        String path = "/api/v1/employee/" + MARTIN.id();
+        WireMock.resetAllRequests();
+        WireMock.stubFor(WireMock.get(WireMock.urlEqualTo(path))
+                .willReturn(ResponseDefinitionBuilder.responseDefinition().withStatus(429)));
+
+        assertThatThrownBy(() -> employeeClient.getEmployee(MARTIN.id()).block())
+                .isInstanceOf(TooManyRequestException.class);
+        WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo(path)));
+    }
+
+    @Test
+    void getEmployee_429_withRetryAfter_retriedAfterWaiting() {
+        String path = "/api/v1/employee/" + MARTIN.id();
+        String response =
+                """
+                {
+                    "data": {
+                        "id": "fa73472f-6a51-42fd-9fd8-80bc07232075",
+                        "employee_name": "Martin Okuneva",
+                        "employee_salary": 366039,
+                        "employee_age": 28,
+                        "employee_title": "Investor Retail Technician",
+                        "employee_email": "lotstring@company.com"
+                    },
+                    "status": "Successfully processed request."
+                }
+                """;
+        WireMock.resetAllRequests();
+        WireMock.stubFor(WireMock.get(WireMock.urlEqualTo(path))
+                .inScenario("rate limited")
+                .whenScenarioStateIs(Scenario.STARTED)
+                .willReturn(ResponseDefinitionBuilder.responseDefinition()
+                        .withStatus(429)
+                        .withHeader("Retry-After", "1"))
+                .willSetStateTo("waited"));
+        WireMock.stubFor(WireMock.get(WireMock.urlEqualTo(path))
+                .inScenario("rate limited")
+                .whenScenarioStateIs("waited")
+                .willReturn(ResponseDefinitionBuilder.responseDefinition()
+                        .withStatus(200)
+                        .withBody(response)
+                        .withHeader("Content-Type", "application/json")));
+
+        long start = System.nanoTime();
+        Response<Employee> employee = employeeClient.getEmployee(MARTIN.id()).block();
+
+        assertThat(employee.data()).isEqualTo(MARTIN);
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(1_000_000_000L);
+        WireMock.verify(2, WireMock.getRequestedFor(WireMock.urlEqualTo(path)));
+    }
+
+    @Test
+    void getAllEmployees_concurrentReads_shareOneUpstreamCall() {
+        WireMock.resetAllRequests();
+        WireMock.stubFor(WireMock.get(WireMock.urlEqualTo("/api/v1/employee"))
+                .willReturn(ResponseDefinitionBuilder.responseDefinition()
+                        .withStatus(200)
+                        .withBody(EMPLOYEES)
+                        .withHeader("Content-Type", "application/json")
+                        .withFixedDelay(500)));
+
+        Tuple2<List<Employee>, List<Employee>> reads = Mono.zip(
+                        employeeClient.getAllEmployees().collectList(),
+                        employeeClient.getAllEmployees().collectList())
+                .block();
+
+        assertThat(reads.getT1()).hasSize(2).isEqualTo(reads.getT2());
+        WireMock.verify(1, WireMock.getRequestedFor(WireMock.urlEqualTo("/api/v1/employee")));
+    }
+
+    private static void stubEmployees() {
+        WireMock.stubFor(WireMock.get(WireMock.urlEqualTo("/api/v1/employee"))
+                .willReturn(ResponseDefinitionBuilder.responseDefinition()
+                        .withStatus(200)
+                        .withBody(EMPLOYEES)
+                        .withHeader("Content-Type", "application/json")));
+    }
+}
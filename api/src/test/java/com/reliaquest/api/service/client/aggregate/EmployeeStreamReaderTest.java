@@ -0,0 +1,155 @@
+package com.reliaquest.api.service.client.aggregate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.reliaquest.api.model.Employee;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class EmployeeStreamReaderTest {
+
+    static final String RESPONSE =
+            """
+            {
+                "data": [
+                    {
+                        "id": "1",
+                        "employee_name": "Richard Calderin",
+                        "employee_salary": 190,
+                        "employee_age": 20,
+                        "employee_title": "Mr",
+                        "employee_email": "richard@company.com",
+                        "employee_unknown": {"nested": [1, 2]}
+                    },
+                    {
+                        "id": "2",
+                        "employee_name": "Robert Lima",
+                        "employee_salary": 200,
+                        "employee_age": 30,
+                        "employee_title": "Dr",
+                        "employee_email": "robert@company.com"
+                    },
+                    null,
+                    {
+                        "id": "3",
+                        "employee_name": "Richard Almenares",
+                        "employee_salary": null,
+                        "employee_age": 40,
+                        "employee_title": "Ms",
+                        "employee_email": "almenares@company.com"
+                    },
+                    {
+                        "id": "4",
+                        "employee_name": "Martin Okuneva",
+                        "employee_salary": 200,
+                        "employee_age": 50,
+                        "employee_title": "Mr",
+                        "employee_email": "martin@company.com"
+                    }
+                ],
+                "status": "Successfully processed request."
+            }
+            """;
+
+    EmployeeStreamReader employeeStreamReader = new EmployeeStreamReader(new JsonFactory());
+
+    @Test
+    void read_highestSalary() throws IOException {
+        Integer highestSalary = read(RESPONSE, EmployeeAggregation.highestSalary());
+
+        assertThat(highestSalary).isEqualTo(200);
+    }
+
+    @Test
+    void read_highestSalary_empty() throws IOException {
+        Integer highestSalary = read("{\"data\": [], \"status\": \"ok\"}", EmployeeAggregation.highestSalary());
+
+        assertThat(highestSalary).isZero();
+    }
+
+    @Test
+    void read_topEarnerNames_tiesKeepListOrder() throws IOException {
+        List<String> names = read(RESPONSE, EmployeeAggregation.topEarnerNames(10));
+
+        assertThat(names).containsExactly("Robert Lima", "Martin Okuneva", "Richard Calderin");
+    }
+
+    @Test
+    void read_topEarnerNames_keepsOnlyCount() throws IOException {
+        List<String> names = read(RESPONSE, EmployeeAggregation.topEarnerNames(1));
+
+        assertThat(names).containsExactly("Robert Lima");
+    }
+
+    @Test
+    void read_nameMatches() throws IOException {
+        List<Employee> employees = read(RESPONSE, EmployeeAggregation.nameMatches("richard"));
+
+        assertThat(employees)
+                .containsExactly(
+                        new Employee("1", "Richard Calderin", 190, 20, "Mr", "richard@company.com"),
+                        new Employee("3", "Richard Almenares", null, 40, "Ms", "almenares@company.com"));
+    }
+
+    @Test
+    void read_onlyNameAndSalaryUnlessAllFieldsAreRead() throws IOException {
+        List<Employee> employees = new ArrayList<>();
+
+        employeeStreamReader.read(body(RESPONSE), new EmployeeAggregator<Void>() {
+            @Override
+            public void accept(StreamedEmployee employee) {
+                employees.add(employee.toEmployee());
+            }
+
+            @Override
+            public Void result() {
+                return null;
+            }
+        });
+
+        assertThat(employees).first().isEqualTo(new Employee(null, "Richard Calderin", 190, null, null, null));
+        assertThat(employees).hasSize(4);
+    }
+
+    @Test
+    void read_dataAfterOtherFields() throws IOException {
+        String response =
+                """
+                {"status": "Successfully processed request.", "error": null,
+                 "data": [{"employee_salary": 5, "employee_name": "late"}]}
+                """;
+
+        List<String> names = read(response, EmployeeAggregation.topEarnerNames(10));
+
+        assertThat(names).containsExactly("late");
+    }
+
+    @Test
+    void read_truncated() {
+        String truncated = RESPONSE.substring(0, RESPONSE.indexOf("Robert"));
+
+        assertThatThrownBy(() -> read(truncated, EmployeeAggregation.highestSalary()))
+                .isInstanceOf(JsonProcessingException.class);
+    }
+
+    @Test
+    void read_notAnObject() {
+        assertThatThrownBy(() -> read("[]", EmployeeAggregation.highestSalary()))
+                .isInstanceOf(JsonProcessingException.class);
+    }
+
+    private <R> R read(String response, EmployeeAggregation<R> aggregation) throws IOException {
+        return employeeStreamReader.read(body(response), aggregation.aggregator().get());
+    }
+
+    private static ByteArrayInputStream body(String response) {
+        return new ByteArrayInputStream(response.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,114 @@
+package com.reliaquest.api.service.client.batch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.reliaquest.api.controller.exceptions.TooManyRequestException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class GroupCommitBatcherTest {
+
+    static final int CALLERS = 8;
+    static final Duration LONG_LINGER = Duration.ofSeconds(30);
+
+    List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+
+    Function<List<Integer>, List<String>> doubling = items -> {
+        batches.add(List.copyOf(items));
+        return items.stream().map(item -> "result" + item * 2).toList();
+    };
+
+    ExecutorService executorService = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void submit_noLinger_callsAlone() {
+        GroupCommitBatcher<Integer, String> batcher = new GroupCommitBatcher<>(doubling, Duration.ZERO, 100);
+
+        assertThat(batcher.submit(1)).isEqualTo("result2");
+        assertThat(batcher.submit(2)).isEqualTo("result4");
+        assertThat(batches).containsExactly(List.of(1), List.of(2));
+    }
+
+    @Test
+    void submit_lingerOver_callsWithWhatJoined() {
+        GroupCommitBatcher<Integer, String> batcher = new GroupCommitBatcher<>(doubling, Duration.ofMillis(20), 100);
+
+        assertThat(batcher.submit(1)).isEqualTo("result2");
+        assertThat(batches).containsExactly(List.of(1));
+    }
+
+    @Test
+    void submit_concurrentCallers_shareOneCall() throws Exception {
+        GroupCommitBatcher<Integer, String> batcher = new GroupCommitBatcher<>(doubling, LONG_LINGER, CALLERS);
+
+        List<Future<String>> futures = submitCallers(batcher);
+
+        for (int caller = 0; caller < CALLERS; caller++) {
+            assertThat(futures.get(caller).get(5, TimeUnit.SECONDS)).isEqualTo("result" + caller * 2);
+        }
+        assertThat(batches).hasSize(1);
+        assertThat(batches.get(0)).containsExactlyInAnyOrder(0, 1, 2, 3, 4, 5, 6, 7);
+    }
+
+    @Test
+    void submit_batchFull_nextCallerStartsAnother() throws Exception {
+        GroupCommitBatcher<Integer, String> batcher = new GroupCommitBatcher<>(doubling, LONG_LINGER, CALLERS / 2);
+
+        List<Future<String>> futures = submitCallers(batcher);
+
+        for (int caller = 0; caller < CALLERS; caller++) {
+            assertThat(futures.get(caller).get(5, TimeUnit.SECONDS)).isEqualTo("result" + caller * 2);
+        }
+        assertThat(batches).hasSize(2).allSatisfy(batch -> assertThat(batch).hasSize(CALLERS / 2));
+    }
+
+    @Test
+    void submit_failure_sharedWithEveryCaller() throws Exception {
+        GroupCommitBatcher<Integer, String> batcher = new GroupCommitBatcher<>(
+                items -> {
+                    throw new TooManyRequestException();
+                },
+                LONG_LINGER,
+                CALLERS);
+
+        List<Future<String>> futures = submitCallers(batcher);
+
+        for (Future<String> future : futures) {
+            assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(TooManyRequestException.class);
+        }
+    }
+
+    @Test
+    void submit_resultMissing_fails() {
+        GroupCommitBatcher<Integer, String> batcher = new GroupCommitBatcher<>(items -> List.of(), Duration.ZERO, 100);
+
+        assertThatThrownBy(() -> batcher.submit(1)).isInstanceOf(IllegalStateException.class);
+    }
+
+    List<Future<String>> submitCallers(GroupCommitBatcher<Integer, String> batcher) {
+        List<Future<String>> futures = new ArrayList<>();
+        for (int caller = 0; caller < CALLERS; caller++) {
+            int item = caller;
+            futures.add(executorService.submit(() -> batcher.submit(item)));
+        }
+        return futures;
+    }
+}
@@ -0,0 +1,93 @@
+package com.reliaquest.api.service.client.breaker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.controller.exceptions.UpstreamUnavailableException;
+import java.io.IOException;
+import java.net.SocketTimeoutException;
+import java.time.Clock;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+
+@ExtendWith(MockitoExtension.class)
+class CircuitBreakerInterceptorTest {
+
+    static final byte[] BODY = new byte[0];
+
+    @Mock
+    CircuitBreaker circuitBreaker;
+
+    @Mock
+    HttpRequest request;
+
+    @Mock
+    ClientHttpRequestExecution execution;
+
+    @Mock
+    ClientHttpResponse response;
+
+    @InjectMocks
+    CircuitBreakerInterceptor circuitBreakerInterceptor;
+
+    @ParameterizedTest
+    @CsvSource({"200, true", "201, true", "404, true", "429, true", "500, false", "503, false"})
+    void intercept_outcomeByStatus(int status, boolean success) throws IOException {
+        when(circuitBreaker.tryAcquirePermission()).thenReturn(true);
+        when(execution.execute(request, BODY)).thenReturn(response);
+        when(response.getStatusCode()).thenReturn(HttpStatusCode.valueOf(status));
+
+        assertThat(circuitBreakerInterceptor.intercept(request, BODY, execution)).isSameAs(response);
+
+        verify(circuitBreaker, times(success ? 1 : 0)).onSuccess();
+        verify(circuitBreaker, times(success ? 0 : 1)).onFailure();
+    }
+
+    @Test
+    void intercept_burstOf429_staysClosed() throws IOException {
+        CircuitBreaker realCircuitBreaker =
+                new CircuitBreaker(CircuitBreakerTest.CIRCUIT_BREAKER_PROPERTIES, Clock.systemUTC());
+        CircuitBreakerInterceptor interceptor = new CircuitBreakerInterceptor(realCircuitBreaker);
+        when(execution.execute(request, BODY)).thenReturn(response);
+        when(response.getStatusCode()).thenReturn(HttpStatus.TOO_MANY_REQUESTS);
+
+        for (int call = 0; call < 20; call++) {
+            assertThat(interceptor.intercept(request, BODY, execution)).isSameAs(response);
+        }
+
+        assertThat(realCircuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(realCircuitBreaker.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    void intercept_ioFailure() throws IOException {
+        when(circuitBreaker.tryAcquirePermission()).thenReturn(true);
+        when(execution.execute(request, BODY)).thenThrow(new SocketTimeoutException());
+
+        assertThatThrownBy(() -> circuitBreakerInterceptor.intercept(request, BODY, execution))
+                .isInstanceOf(SocketTimeoutException.class);
+
+        verify(circuitBreaker).onFailure();
+    }
+
+    @Test
+    void intercept_open_failsFast() throws IOException {
+        when(circuitBreaker.tryAcquirePermission()).thenReturn(false);
+
+        assertThatThrownBy(() -> circuitBreakerInterceptor.intercept(request, BODY, execution))
+                .isInstanceOf(UpstreamUnavailableException.class);
+
+        verify(execution, never()).execute(any(), any());
+    }
+}
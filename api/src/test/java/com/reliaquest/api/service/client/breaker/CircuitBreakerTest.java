@@ -0,0 +1,135 @@
+package com.reliaquest.api.service.client.breaker;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.service.client.EmployeeClientProperties;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class CircuitBreakerTest {
+
+    static final Instant START = Instant.parse("2024-01-01T10:00:00Z");
+    static final EmployeeClientProperties.CircuitBreaker CIRCUIT_BREAKER_PROPERTIES =
+            new EmployeeClientProperties.CircuitBreaker(10, 4, 50, Duration.ofSeconds(30), 2);
+
+    @Mock
+    Clock clock;
+
+    Instant now = START;
+
+    CircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(clock.instant()).thenAnswer(invocation -> now);
+        circuitBreaker = new CircuitBreaker(CIRCUIT_BREAKER_PROPERTIES, clock);
+    }
+
+    @Test
+    void closed_belowMinimumCalls_staysClosed() {
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    void closed_failureRateReached_opens() {
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+        circuitBreaker.onSuccess();
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        circuitBreaker.onFailure();
+
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    void closed_onlyRecentCallsCount() {
+        for (int call = 0; call < 10; call++) {
+            circuitBreaker.onSuccess();
+        }
+        for (int call = 0; call < 4; call++) {
+            circuitBreaker.onFailure();
+        }
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+
+        // 5 failures out of the last 10 calls, 5 out of 15 overall
+        circuitBreaker.onFailure();
+
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    @Test
+    void open_afterOpenDuration_halfOpenProbes() {
+        open();
+
+        now = START.plusSeconds(29);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+
+        now = START.plusSeconds(30);
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+    }
+
+    @Test
+    void halfOpen_probesSucceed_closes() {
+        open();
+        now = START.plusSeconds(30);
+        circuitBreaker.tryAcquirePermission();
+        circuitBreaker.tryAcquirePermission();
+
+        circuitBreaker.onSuccess();
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        circuitBreaker.onSuccess();
+
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    void halfOpen_probeFails_opensAgain() {
+        open();
+        now = START.plusSeconds(30);
+        circuitBreaker.tryAcquirePermission();
+
+        circuitBreaker.onFailure();
+
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        now = START.plusSeconds(59);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+        now = START.plusSeconds(60);
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    void open_lateOutcomesIgnored() {
+        open();
+
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    void open() {
+        for (int call = 0; call < 4; call++) {
+            circuitBreaker.onFailure();
+        }
+        assertThat(circuitBreaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+}
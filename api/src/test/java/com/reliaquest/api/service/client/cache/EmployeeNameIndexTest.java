@@ -0,0 +1,82 @@
+package com.reliaquest.api.service.client.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.apache.commons.lang3.StringUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.NullAndEmptySource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class EmployeeNameIndexTest {
+
+    List<Employee> employees = List.of(
+            employee("id1", "Richard Calderin"),
+            employee("id2", "Robert Lima"),
+            employee("id3", null),
+            employee("id4", ""),
+            employee("id5", "richard almenares"),
+            employee("id6", "Lima Richards"));
+
+    EmployeeNameIndex employeeNameIndex = new EmployeeNameIndex(employees);
+
+    @Test
+    void search_longQuery_listOrder() {
+        assertThat(employeeNameIndex.search("RICHARD"))
+                .containsExactly(employees.get(0), employees.get(4), employees.get(5));
+    }
+
+    @Test
+    void search_shortQuery() {
+        assertThat(employeeNameIndex.search("lim")).containsExactly(employees.get(1), employees.get(5));
+        assertThat(employeeNameIndex.search("z")).isEmpty();
+    }
+
+    @Test
+    void search_noMatch() {
+        assertThat(employeeNameIndex.search("Richardo")).isEmpty();
+    }
+
+    @Test
+    void search_emptyQuery_namedEmployees() {
+        assertThat(employeeNameIndex.search(""))
+                .containsExactly(employees.get(0), employees.get(1), employees.get(4), employees.get(5));
+    }
+
+    @Test
+    void search_null() {
+        assertThat(employeeNameIndex.search(null)).isEmpty();
+    }
+
+    @ParameterizedTest
+    @NullAndEmptySource
+    @ValueSource(strings = {"a", "ri", "ard", "rd c", "Lima Richards", "\u0130", "\u00df", "\u00e9", "ima richardsx"})
+    void search_sameAsStringUtils(String searchString) {
+        Random random = new Random(42);
+        String alphabet = "abcrdAB \u0130\u0131Ii\u00e9\u00c9\u00df";
+        List<Employee> generated = new ArrayList<>();
+        for (int index = 0; index < 2_000; index++) {
+            StringBuilder name = new StringBuilder();
+            int length = random.nextInt(10);
+            for (int charIndex = 0; charIndex < length; charIndex++) {
+                name.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            generated.add(employee("id" + index, name.toString()));
+        }
+        generated.addAll(employees);
+
+        List<Employee> expected = generated.stream()
+                .filter(employee -> StringUtils.containsAnyIgnoreCase(employee.name(), searchString))
+                .toList();
+
+        assertThat(new EmployeeNameIndex(generated).search(searchString)).isEqualTo(expected);
+    }
+
+    static Employee employee(String id, String name) {
+        return new Employee(id, name, 12345, 21, "Mr", "email@email.com");
+    }
+}
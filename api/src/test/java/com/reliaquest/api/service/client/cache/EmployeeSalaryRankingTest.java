@@ -0,0 +1,146 @@
+package com.reliaquest.api.service.client.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.api.model.Employee;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Random;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class EmployeeSalaryRankingTest {
+
+    @Test
+    void of_empty() {
+        EmployeeSalaryRanking ranking = EmployeeSalaryRanking.of(List.of());
+
+        assertThat(ranking.highestSalary()).isZero();
+        assertThat(ranking.topEarnerNames()).isEmpty();
+    }
+
+    @Test
+    void of_bestPaidFirst() {
+        List<Employee> employees = IntStream.range(0, 15)
+                .mapToObj(index -> employee("Richard Calderin " + index, 190 + (index * 7 % 15)))
+                .toList();
+
+        EmployeeSalaryRanking ranking = EmployeeSalaryRanking.of(employees);
+
+        assertThat(ranking.highestSalary()).isEqualTo(204);
+        assertThat(ranking.topEarnerNames()).isEqualTo(reference(employees));
+    }
+
+    @Test
+    void of_tiesKeepListOrder() {
+        List<Employee> employees = List.of(
+                employee("first", 100),
+                employee("second", 200),
+                employee("third", 100),
+                employee("fourth", 200),
+                employee("fifth", 100));
+
+        EmployeeSalaryRanking ranking = EmployeeSalaryRanking.of(employees);
+
+        assertThat(ranking.topEarnerNames()).containsExactly("second", "fourth", "first", "third", "fifth");
+    }
+
+    @Test
+    void withAdded_tieLosesToEarlierEmployees() {
+        List<Employee> employees = new ArrayList<>(
+                IntStream.range(0, 10).mapToObj(index -> employee("name" + index, 100)).toList());
+        EmployeeSalaryRanking ranking = EmployeeSalaryRanking.of(employees);
+
+        Employee tied = employee("tied", 100);
+        employees.add(tied);
+        EmployeeSalaryRanking actual = ranking.withAdded(tied, employees.size() - 1);
+
+        assertThat(actual).isSameAs(ranking);
+        assertThat(actual.topEarnerNames()).isEqualTo(reference(employees));
+    }
+
+    @Test
+    void withAdded_tieWinsOverLaterEmployees() {
+        List<Employee> employees = new ArrayList<>(
+                IntStream.range(0, 10).mapToObj(index -> employee("name" + index, 100)).toList());
+        EmployeeSalaryRanking ranking = EmployeeSalaryRanking.of(employees.subList(1, 10));
+
+        EmployeeSalaryRanking actual = ranking.withAdded(employees.get(0), -1);
+
+        assertThat(actual.topEarnerNames()).isEqualTo(reference(employees));
+    }
+
+    @Test
+    void ranks_onlyTopEarners() {
+        List<Employee> employees = IntStream.range(0, 15)
+                .mapToObj(index -> employee("name" + index, 100 + index))
+                .toList();
+
+        EmployeeSalaryRanking ranking = EmployeeSalaryRanking.of(employees);
+
+        assertThat(ranking.ranks(14)).isTrue();
+        assertThat(ranking.ranks(5)).isTrue();
+        assertThat(ranking.ranks(4)).isFalse();
+    }
+
+    @Test
+    void randomChanges_sameAsSortingTheList() {
+        Random random = new Random(7);
+        // removed employees leave their position empty, same as in a snapshot
+        List<Employee> positions = new ArrayList<>();
+        for (int index = 0; index < 50; index++) {
+            positions.add(employee("name" + index, random.nextInt(1, 8)));
+        }
+        EmployeeSalaryRanking ranking = EmployeeSalaryRanking.of(positions);
+
+        for (int change = 0; change < 1_000; change++) {
+            List<Employee> employees = positions.stream().filter(Objects::nonNull).toList();
+            if (employees.isEmpty() || random.nextBoolean()) {
+                Employee employee = employee("created" + change, random.nextInt(1, 8));
+                positions.add(employee);
+                ranking = ranking.withAdded(employee, positions.size() - 1);
+            } else {
+                int position = positions.indexOf(employees.get(random.nextInt(employees.size())));
+                positions.set(position, null);
+                if (ranking.ranks(position)) {
+                    ranking = rank(positions);
+                }
+            }
+
+            employees = positions.stream().filter(Objects::nonNull).toList();
+            assertThat(ranking.topEarnerNames()).isEqualTo(reference(employees));
+            assertThat(ranking.highestSalary())
+                    .isEqualTo(employees.stream()
+                            .map(Employee::salary)
+                            .max(Comparator.naturalOrder())
+                            .orElse(0));
+        }
+    }
+
+    static EmployeeSalaryRanking rank(List<Employee> positions) {
+        EmployeeSalaryRanking.Builder builder = new EmployeeSalaryRanking.Builder();
+        for (int position = positions.size() - 1; position >= 0; position--) {
+            if (positions.get(position) != null) {
+                builder.add(position, positions.get(position));
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * What the service used to do on every request
+     */
+    static List<String> reference(List<Employee> employees) {
+        return employees.stream()
+                .sorted(Comparator.comparingInt(Employee::salary).reversed())
+                .limit(10)
+                .map(Employee::name)
+                .toList();
+    }
+
+    static Employee employee(String name, int salary) {
+        return new Employee(name, name, salary, 21, "Mr", "email@email.com");
+    }
+}
@@ -0,0 +1,468 @@
+package com.reliaquest.api.service.client.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.controller.exceptions.TooManyRequestException;
+import com.reliaquest.api.controller.exceptions.UpstreamUnavailableException;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.client.EmployeeClientProperties;
+import com.reliaquest.api.service.client.model.EmployeeChange;
+import com.reliaquest.api.service.client.model.EmployeeChanges;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeSnapshotCacheTest {
+
+    static final Instant NOW = Instant.parse("2024-01-01T10:00:00Z");
+    static final EmployeeClientProperties.Cache CACHE_PROPERTIES =
+            new EmployeeClientProperties.Cache(Duration.ofSeconds(10), Duration.ofSeconds(50));
+
+    @Mock
+    Supplier<List<Employee>> loader;
+
+    @Mock
+    LongFunction<EmployeeChanges> changesLoader;
+
+    @Mock
+    Clock clock;
+
+    List<Runnable> backgroundTasks = new ArrayList<>();
+
+    EmployeeSnapshotCache employeeSnapshotCache;
+
+    @BeforeEach
+    void setUp() {
+        employeeSnapshotCache = new EmployeeSnapshotCache(loader, CACHE_PROPERTIES, backgroundTasks::add, clock);
+    }
+
+    @Test
+    void get_loadsOnFirstCall() {
+        List<Employee> employees = List.of(employee("id"));
+        when(clock.instant()).thenReturn(NOW);
+        when(loader.get()).thenReturn(employees);
+
+        EmployeeSnapshot snapshot = employeeSnapshotCache.get();
+
+        assertThat(snapshot.getEmployees()).isEqualTo(employees);
+        assertThat(snapshot.getVersion()).isEqualTo(1);
+        assertThat(snapshot.getFetchedAt()).isEqualTo(NOW);
+    }
+
+    @Test
+    void get_withinTtl_servedFromSnapshot() {
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(9));
+        when(loader.get()).thenReturn(List.of(employee("id")));
+
+        EmployeeSnapshot first = employeeSnapshotCache.get();
+        EmployeeSnapshot second = employeeSnapshotCache.get();
+
+        assertThat(second).isSameAs(first);
+        verify(loader, times(1)).get();
+        assertThat(backgroundTasks).isEmpty();
+    }
+
+    @Test
+    void get_stale_servedWhileRefreshing() {
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(30), NOW.plusSeconds(30), NOW.plusSeconds(31));
+        when(loader.get()).thenReturn(List.of(employee("id")), List.of(employee("id2")));
+
+        EmployeeSnapshot first = employeeSnapshotCache.get();
+        EmployeeSnapshot stale = employeeSnapshotCache.get();
+
+        assertThat(stale).isSameAs(first);
+        assertThat(backgroundTasks).hasSize(1);
+
+        backgroundTasks.get(0).run();
+
+        EmployeeSnapshot refreshed = employeeSnapshotCache.get();
+        assertThat(refreshed.getVersion()).isEqualTo(2);
+        assertThat(refreshed.getEmployees()).containsExactly(employee("id2"));
+    }
+
+    @Test
+    void get_stale_refreshFailureKeepsSnapshot() {
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(30), NOW.plusSeconds(31));
+        when(loader.get()).thenReturn(List.of(employee("id"))).thenThrow(new TooManyRequestException());
+
+        EmployeeSnapshot first = employeeSnapshotCache.get();
+        employeeSnapshotCache.get();
+        backgroundTasks.get(0).run();
+
+        assertThat(employeeSnapshotCache.get()).isSameAs(first);
+    }
+
+    @Test
+    void get_stale_onlyOneRefreshInFlight() {
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(30));
+        when(loader.get()).thenReturn(List.of(employee("id")));
+
+        employeeSnapshotCache.get();
+        employeeSnapshotCache.get();
+        employeeSnapshotCache.get();
+
+        assertThat(backgroundTasks).hasSize(1);
+    }
+
+    @Test
+    void get_expired_waitsForLoad() {
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(60));
+        when(loader.get()).thenReturn(List.of(employee("id")), List.of(employee("id2")));
+
+        employeeSnapshotCache.get();
+        EmployeeSnapshot reloaded = employeeSnapshotCache.get();
+
+        assertThat(reloaded.getEmployees()).containsExactly(employee("id2"));
+        assertThat(backgroundTasks).isEmpty();
+    }
+
+    @Test
+    void get_sameListLoaded_snapshotKept() {
+        List<Employee> employees = List.of(employee("id"));
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(60), NOW.plusSeconds(60));
+        when(loader.get()).thenReturn(employees);
+
+        EmployeeSnapshot first = employeeSnapshotCache.get();
+        EmployeeSnapshot second = employeeSnapshotCache.get();
+
+        assertThat(second.getVersion()).isEqualTo(first.getVersion());
+        assertThat(second.getFetchedAt()).isEqualTo(NOW.plusSeconds(60));
+        assertThat(second.getEmployees()).isSameAs(first.getEmployees());
+    }
+
+    @Test
+    void get_sameListLoadedAfterPatch_rebuilt() {
+        List<Employee> employees = List.of(employee("id"));
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(60), NOW.plusSeconds(60));
+        when(loader.get()).thenReturn(employees);
+
+        employeeSnapshotCache.get();
+        employeeSnapshotCache.employeeCreated(employee("id2"));
+        EmployeeSnapshot reloaded = employeeSnapshotCache.get();
+
+        assertThat(reloaded.getVersion()).isEqualTo(3);
+        assertThat(reloaded.getEmployees()).containsExactly(employee("id"));
+    }
+
+    @Test
+    void get_failurePropagated() {
+        when(loader.get()).thenThrow(new TooManyRequestException());
+
+        assertThatThrownBy(() -> employeeSnapshotCache.get()).isInstanceOf(TooManyRequestException.class);
+    }
+
+    @Test
+    void get_failureNotCached() {
+        when(clock.instant()).thenReturn(NOW);
+        when(loader.get()).thenThrow(new TooManyRequestException()).thenReturn(List.of(employee("id")));
+
+        assertThatThrownBy(() -> employeeSnapshotCache.get()).isInstanceOf(TooManyRequestException.class);
+
+        assertThat(employeeSnapshotCache.get().getEmployees()).containsExactly(employee("id"));
+    }
+
+    @Test
+    void get_nullData_emptySnapshot() {
+        when(clock.instant()).thenReturn(NOW);
+        when(loader.get()).thenReturn(null);
+
+        assertThat(employeeSnapshotCache.get().getEmployees()).isEmpty();
+    }
+
+    @Test
+    void get_expired_upstreamUnavailable_lastSnapshotFlaggedStale() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(600));
+        when(loader.get()).thenReturn(List.of(employee("id"))).thenThrow(new UpstreamUnavailableException());
+
+        try {
+            EmployeeSnapshot loaded = employeeSnapshotCache.get();
+
+            assertThat(employeeSnapshotCache.get()).isSameAs(loaded);
+            assertThat(request.getAttribute(StaleSnapshots.FETCHED_AT_ATTRIBUTE)).isEqualTo(NOW);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+    }
+
+    @Test
+    void get_upstreamUnavailable_noSnapshot() {
+        when(loader.get()).thenThrow(new UpstreamUnavailableException());
+
+        assertThatThrownBy(() -> employeeSnapshotCache.get()).isInstanceOf(UpstreamUnavailableException.class);
+    }
+
+    @Test
+    void lastKnown() {
+        assertThat(employeeSnapshotCache.lastKnown()).isEmpty();
+
+        when(clock.instant()).thenReturn(NOW);
+        when(loader.get()).thenReturn(List.of(employee("id")));
+        EmployeeSnapshot loaded = employeeSnapshotCache.get();
+
+        assertThat(employeeSnapshotCache.lastKnown()).containsSame(loaded);
+    }
+
+    @Test
+    void peek_noSnapshot() {
+        assertThat(employeeSnapshotCache.peek()).isEmpty();
+        verifyNoInteractions(loader);
+    }
+
+    @Test
+    void peek_usableSnapshot() {
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(30));
+        when(loader.get()).thenReturn(List.of(employee("id")));
+
+        EmployeeSnapshot loaded = employeeSnapshotCache.get();
+
+        assertThat(employeeSnapshotCache.peek()).containsSame(loaded);
+        assertThat(backgroundTasks).isEmpty();
+    }
+
+    @Test
+    void peek_expiredSnapshot() {
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(60));
+        when(loader.get()).thenReturn(List.of(employee("id")));
+
+        employeeSnapshotCache.get();
+
+        assertThat(employeeSnapshotCache.peek()).isEmpty();
+        verify(loader, times(1)).get();
+    }
+
+    @Test
+    void employeeCreated_patchesSnapshot() {
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(1));
+        when(loader.get()).thenReturn(List.of(employee("id")));
+
+        EmployeeSnapshot loaded = employeeSnapshotCache.get();
+        employeeSnapshotCache.employeeCreated(employee("id2"));
+        EmployeeSnapshot patched = employeeSnapshotCache.get();
+
+        assertThat(patched.getEmployees()).containsExactly(employee("id"), employee("id2"));
+        assertThat(patched.getVersion()).isEqualTo(loaded.getVersion() + 1);
+        assertThat(loaded.getEmployees()).containsExactly(employee("id"));
+        verify(loader, times(1)).get();
+    }
+
+    @Test
+    void employeeDeleted_patchesSnapshot() {
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(1));
+        when(loader.get()).thenReturn(List.of(employee("id"), employee("id2")));
+
+        employeeSnapshotCache.get();
+        employeeSnapshotCache.employeeDeleted("id");
+
+        assertThat(employeeSnapshotCache.get().getEmployees()).containsExactly(employee("id2"));
+        verify(loader, times(1)).get();
+    }
+
+    @Test
+    void employeeCreated_noSnapshot_ignored() {
+        employeeSnapshotCache.employeeCreated(employee("id"));
+
+        verifyNoInteractions(loader);
+    }
+
+    @Test
+    void employeeCreated_duringLoad_reappliedOnLoadedList() {
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(30), NOW.plusSeconds(30), NOW.plusSeconds(31));
+        when(loader.get()).thenReturn(List.of(employee("id"), employee("id2"))).thenAnswer(invocation -> {
+            // writes land while the refresh is in flight, upstream answered before seeing them
+            employeeSnapshotCache.employeeCreated(employee("id3"));
+            employeeSnapshotCache.employeeDeleted("id2");
+            return List.of(employee("id"), employee("id2"));
+        });
+
+        employeeSnapshotCache.get();
+        employeeSnapshotCache.get();
+        backgroundTasks.get(0).run();
+
+        assertThat(employeeSnapshotCache.get().getEmployees()).containsExactly(employee("id"), employee("id3"));
+    }
+
+    @Test
+    void employeeCreated_beforeLoad_notReapplied() {
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(30), NOW.plusSeconds(30), NOW.plusSeconds(31));
+        when(loader.get()).thenReturn(List.of(employee("id")), List.of(employee("id2")));
+
+        employeeSnapshotCache.get();
+        employeeSnapshotCache.employeeCreated(employee("id3"));
+        employeeSnapshotCache.get();
+        backgroundTasks.get(0).run();
+
+        // refresh started after the write, upstream answer is authoritative
+        assertThat(employeeSnapshotCache.get().getEmployees()).containsExactly(employee("id2"));
+    }
+
+    @Test
+    void get_concurrentCallersShareOneLoad() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        EmployeeSnapshotCache cache = new EmployeeSnapshotCache(
+                () -> {
+                    calls.incrementAndGet();
+                    loading.countDown();
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return List.of(employee("id"));
+                },
+                CACHE_PROPERTIES,
+                Runnable::run,
+                Clock.systemUTC());
+        ExecutorService executorService = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<EmployeeSnapshot>> results = new ArrayList<>();
+            results.add(executorService.submit(cache::get));
+            loading.await(5, TimeUnit.SECONDS);
+            for (int i = 0; i < 7; i++) {
+                results.add(executorService.submit(cache::get));
+            }
+            release.countDown();
+
+            for (Future<EmployeeSnapshot> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS).getVersion()).isEqualTo(1);
+            }
+            assertThat(calls).hasValue(1);
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void get_changeFeed_onlyChangesLoadedAfterFirst() {
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(60), NOW.plusSeconds(60));
+        when(changesLoader.apply(-1)).thenReturn(new EmployeeChanges(5, true, List.of()));
+        when(loader.get()).thenReturn(List.of(employee("id")));
+        when(changesLoader.apply(5))
+                .thenReturn(new EmployeeChanges(
+                        7,
+                        false,
+                        List.of(
+                                new EmployeeChange(6, EmployeeChange.Type.CREATED, employee("id2")),
+                                new EmployeeChange(7, EmployeeChange.Type.DELETED, employee("id")))));
+        EmployeeSnapshotCache cache = changeFeedCache();
+
+        EmployeeSnapshot first = cache.get();
+        EmployeeSnapshot second = cache.get();
+
+        assertThat(first.getEmployees()).containsExactly(employee("id"));
+        assertThat(second.getEmployees()).containsExactly(employee("id2"));
+        assertThat(second.getVersion()).isEqualTo(2);
+        assertThat(second.getFetchedAt()).isEqualTo(NOW.plusSeconds(60));
+        verify(loader, times(1)).get();
+    }
+
+    @Test
+    void get_changeFeedWithoutChanges_snapshotKept() {
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(60), NOW.plusSeconds(60));
+        when(changesLoader.apply(-1)).thenReturn(new EmployeeChanges(5, true, List.of()));
+        when(loader.get()).thenReturn(List.of(employee("id")));
+        when(changesLoader.apply(5)).thenReturn(new EmployeeChanges(5, false, List.of()));
+        EmployeeSnapshotCache cache = changeFeedCache();
+
+        EmployeeSnapshot first = cache.get();
+        EmployeeSnapshot second = cache.get();
+
+        assertThat(second.getEmployees()).isSameAs(first.getEmployees());
+        assertThat(second.getVersion()).isEqualTo(1);
+        assertThat(second.getFetchedAt()).isEqualTo(NOW.plusSeconds(60));
+    }
+
+    @Test
+    void get_changeFeedReset_wholeListLoaded() {
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(60), NOW.plusSeconds(60));
+        when(changesLoader.apply(-1)).thenReturn(new EmployeeChanges(5, true, List.of()));
+        when(loader.get()).thenReturn(List.of(employee("id")), List.of(employee("id2"), employee("id3")));
+        when(changesLoader.apply(5)).thenReturn(new EmployeeChanges(2000, true, List.of()));
+        EmployeeSnapshotCache cache = changeFeedCache();
+
+        cache.get();
+        EmployeeSnapshot second = cache.get();
+
+        assertThat(second.getEmployees()).containsExactly(employee("id2"), employee("id3"));
+        assertThat(second.getVersion()).isEqualTo(2);
+        verify(loader, times(2)).get();
+    }
+
+    @Test
+    void get_changeFeedReset_unchangedListKept() {
+        List<Employee> employees = List.of(employee("id"));
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(60), NOW.plusSeconds(60));
+        when(changesLoader.apply(-1)).thenReturn(new EmployeeChanges(5, true, List.of()));
+        when(changesLoader.apply(5)).thenReturn(new EmployeeChanges(5, true, List.of()));
+        // the client hands back the same list when upstream answers not modified
+        when(loader.get()).thenReturn(employees);
+        EmployeeSnapshotCache cache = changeFeedCache();
+
+        EmployeeSnapshot first = cache.get();
+        EmployeeSnapshot second = cache.get();
+
+        assertThat(second.getEmployees()).isSameAs(first.getEmployees());
+        assertThat(second.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void get_changeFeedWithPatchedChange_notDuplicated() {
+        when(clock.instant()).thenReturn(NOW, NOW.plusSeconds(60), NOW.plusSeconds(60));
+        when(changesLoader.apply(-1)).thenReturn(new EmployeeChanges(5, true, List.of()));
+        when(loader.get()).thenReturn(List.of(employee("id")));
+        when(changesLoader.apply(5))
+                .thenReturn(new EmployeeChanges(
+                        6, false, List.of(new EmployeeChange(6, EmployeeChange.Type.CREATED, employee("id2")))));
+        EmployeeSnapshotCache cache = changeFeedCache();
+
+        cache.get();
+        cache.employeeCreated(employee("id2"));
+        EmployeeSnapshot second = cache.get();
+
+        assertThat(second.getEmployees()).containsExactly(employee("id"), employee("id2"));
+    }
+
+    @Test
+    void get_noChangeFeed_wholeListLoaded() {
+        when(clock.instant()).thenReturn(NOW);
+        when(loader.get()).thenReturn(List.of(employee("id")));
+        EmployeeSnapshotCache cache = changeFeedCache();
+
+        EmployeeSnapshot snapshot = cache.get();
+
+        assertThat(snapshot.getEmployees()).containsExactly(employee("id"));
+        verify(changesLoader).apply(-1);
+    }
+
+    EmployeeSnapshotCache changeFeedCache() {
+        return new EmployeeSnapshotCache(loader, changesLoader, CACHE_PROPERTIES, backgroundTasks::add, clock);
+    }
+
+    static Employee employee(String id) {
+        return new Employee(id, "Richard Test", 12345, 21, "Mr", "email@email.com");
+    }
+}
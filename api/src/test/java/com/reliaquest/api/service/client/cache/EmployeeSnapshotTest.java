@@ -0,0 +1,201 @@
+package com.reliaquest.api.service.client.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.client.model.EmployeeChange;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class EmployeeSnapshotTest {
+
+    static final Instant FETCHED_AT = Instant.parse("2024-01-01T10:00:00Z");
+
+    EmployeeSnapshot employeeSnapshot = new EmployeeSnapshot(
+            3, FETCHED_AT, List.of(employee("id", "Richard Test"), employee("id2", "Robert Test")));
+
+    @Test
+    void employees_immutable() {
+        assertThatThrownBy(() -> employeeSnapshot.getEmployees().add(employee("id3", "John Test")))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void findById() {
+        assertThat(employeeSnapshot.findById("id2")).contains(employee("id2", "Robert Test"));
+        assertThat(employeeSnapshot.findById("unknown")).isEmpty();
+    }
+
+    @Test
+    void refreshedAt_sameDataNewAge() {
+        EmployeeSnapshot actual = employeeSnapshot.refreshedAt(FETCHED_AT.plusSeconds(60));
+
+        assertThat(actual.getVersion()).isEqualTo(3);
+        assertThat(actual.getFetchedAt()).isEqualTo(FETCHED_AT.plusSeconds(60));
+        assertThat(actual.getEmployees()).isSameAs(employeeSnapshot.getEmployees());
+        assertThat(actual.findById("id2")).contains(employee("id2", "Robert Test"));
+        assertThat(employeeSnapshot.getFetchedAt()).isEqualTo(FETCHED_AT);
+    }
+
+    @Test
+    void withChanges_appliedInOrder() {
+        EmployeeSnapshot actual = employeeSnapshot.withChanges(
+                List.of(
+                        change(EmployeeChange.Type.CREATED, employee("id3", "John Test")),
+                        change(EmployeeChange.Type.DELETED, employee("id", "Richard Test")),
+                        change(EmployeeChange.Type.CREATED, employee("id4", "Jane Test")),
+                        change(EmployeeChange.Type.DELETED, employee("id4", "Jane Test"))),
+                FETCHED_AT.plusSeconds(60));
+
+        assertThat(actual.getVersion()).isEqualTo(4);
+        assertThat(actual.getFetchedAt()).isEqualTo(FETCHED_AT.plusSeconds(60));
+        assertThat(actual.getEmployees())
+                .containsExactly(employee("id2", "Robert Test"), employee("id3", "John Test"));
+        assertThat(actual.findById("id3")).contains(employee("id3", "John Test"));
+        assertThat(actual.findById("id")).isEmpty();
+        assertThat(actual.searchByName("test")).hasSize(2);
+        assertThat(employeeSnapshot.getEmployees()).hasSize(2);
+    }
+
+    @Test
+    void withChanges_alreadyApplied_harmless() {
+        EmployeeSnapshot patched = employeeSnapshot.withEmployee(employee("id3", "John Test"));
+
+        EmployeeSnapshot actual = patched.withChanges(
+                List.of(
+                        change(EmployeeChange.Type.CREATED, employee("id3", "John Test")),
+                        change(EmployeeChange.Type.DELETED, employee("unknown", "Nobody"))),
+                FETCHED_AT);
+
+        assertThat(actual.getEmployees()).isEqualTo(patched.getEmployees());
+    }
+
+    @Test
+    void withChanges_none_sameData() {
+        EmployeeSnapshot actual = employeeSnapshot.withChanges(List.of(), FETCHED_AT.plusSeconds(60));
+
+        assertThat(actual.getVersion()).isEqualTo(3);
+        assertThat(actual.getFetchedAt()).isEqualTo(FETCHED_AT.plusSeconds(60));
+        assertThat(actual.getEmployees()).isSameAs(employeeSnapshot.getEmployees());
+    }
+
+    @Test
+    void findById_followsPatches() {
+        EmployeeSnapshot actual = employeeSnapshot.withEmployee(employee("id3", "John Test")).withoutEmployee("id");
+
+        assertThat(actual.findById("id3")).contains(employee("id3", "John Test"));
+        assertThat(actual.findById("id")).isEmpty();
+        assertThat(employeeSnapshot.findById("id")).contains(employee("id", "Richard Test"));
+    }
+
+    @Test
+    void searchByName_followsPatches() {
+        EmployeeSnapshot actual = employeeSnapshot.withEmployee(employee("id3", "Richard Other")).withoutEmployee("id");
+
+        assertThat(employeeSnapshot.searchByName("richard")).containsExactly(employee("id", "Richard Test"));
+        assertThat(actual.searchByName("richard")).containsExactly(employee("id3", "Richard Other"));
+    }
+
+    @Test
+    void salaries_followPatches() {
+        EmployeeSnapshot actual = employeeSnapshot
+                .withEmployee(new Employee("id3", "John Test", 99999, 21, "Mr", "email@email.com"))
+                .withoutEmployee("id");
+
+        assertThat(employeeSnapshot.getHighestSalary()).isEqualTo(12345);
+        assertThat(employeeSnapshot.getTopEarnerNames()).containsExactly("Richard Test", "Robert Test");
+        assertThat(actual.getHighestSalary()).isEqualTo(99999);
+        assertThat(actual.getTopEarnerNames()).containsExactly("John Test", "Robert Test");
+    }
+
+    @Test
+    void withEmployee_appended() {
+        EmployeeSnapshot actual = employeeSnapshot.withEmployee(employee("id3", "John Test"));
+
+        assertThat(actual.getEmployees())
+                .containsExactly(
+                        employee("id", "Richard Test"), employee("id2", "Robert Test"), employee("id3", "John Test"));
+        assertThat(actual.getVersion()).isEqualTo(4);
+        assertThat(actual.getFetchedAt()).isEqualTo(FETCHED_AT);
+        assertThat(employeeSnapshot.getEmployees()).hasSize(2);
+    }
+
+    @Test
+    void withEmployee_knownIdReplacedInPlace() {
+        EmployeeSnapshot actual = employeeSnapshot.withEmployee(employee("id", "Richard Changed"));
+
+        assertThat(actual.getEmployees())
+                .containsExactly(employee("id", "Richard Changed"), employee("id2", "Robert Test"));
+    }
+
+    @Test
+    void withoutEmployee_removed() {
+        EmployeeSnapshot actual = employeeSnapshot.withoutEmployee("id");
+
+        assertThat(actual.getEmployees()).containsExactly(employee("id2", "Robert Test"));
+        assertThat(actual.getVersion()).isEqualTo(4);
+        assertThat(employeeSnapshot.getEmployees()).hasSize(2);
+    }
+
+    @Test
+    void withoutEmployee_unknown() {
+        EmployeeSnapshot actual = employeeSnapshot.withoutEmployee("unknown");
+
+        assertThat(actual).isSameAs(employeeSnapshot);
+    }
+
+    @Test
+    void randomChanges_sameAsBuildingTheList() {
+        Random random = new Random(11);
+        Map<String, Employee> reference = new LinkedHashMap<>();
+        for (int index = 0; index < 400; index++) {
+            reference.put("id" + index, randomEmployee(random, "id" + index));
+        }
+        EmployeeSnapshot actual = new EmployeeSnapshot(1, FETCHED_AT, List.copyOf(reference.values()));
+
+        for (int round = 0; round < 200; round++) {
+            List<EmployeeChange> changes = new ArrayList<>();
+            for (int change = random.nextInt(1, 4); change > 0; change--) {
+                // ids are reused so creates of known and of deleted employees come up too
+                Employee employee = randomEmployee(random, "id" + random.nextInt(500));
+                if (random.nextBoolean()) {
+                    changes.add(change(EmployeeChange.Type.CREATED, employee));
+                    reference.put(employee.id(), employee);
+                } else {
+                    changes.add(change(EmployeeChange.Type.DELETED, employee));
+                    reference.remove(employee.id());
+                }
+            }
+            actual = actual.withChanges(changes, FETCHED_AT);
+
+            EmployeeSnapshot expected = new EmployeeSnapshot(1, FETCHED_AT, List.copyOf(reference.values()));
+            String searchString = "name" + random.nextInt(10);
+            String employeeId = "id" + random.nextInt(500);
+            assertThat(actual.getSize()).isEqualTo(reference.size());
+            assertThat(actual.findById(employeeId)).isEqualTo(expected.findById(employeeId));
+            assertThat(actual.searchByName(searchString)).isEqualTo(expected.searchByName(searchString));
+            assertThat(actual.getTopEarnerNames()).isEqualTo(expected.getTopEarnerNames());
+            assertThat(actual.getHighestSalary()).isEqualTo(expected.getHighestSalary());
+            assertThat(actual.getEmployees()).isEqualTo(expected.getEmployees());
+        }
+    }
+
+    static Employee randomEmployee(Random random, String id) {
+        return new Employee(
+                id, "Name" + random.nextInt(100), random.nextInt(1, 1000), 21, "Mr", "email@email.com");
+    }
+
+    static Employee employee(String id, String name) {
+        return new Employee(id, name, 12345, 21, "Mr", "email@email.com");
+    }
+
+    static EmployeeChange change(EmployeeChange.Type type, Employee employee) {
+        return new EmployeeChange(0, type, employee);
+    }
+}
@@ -0,0 +1,127 @@
+package com.reliaquest.api.service.client.coalesce;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.reliaquest.api.controller.exceptions.TooManyRequestException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+
+class RequestCoalescerTest {
+
+    static final int CALLERS = 8;
+
+    RequestCoalescer requestCoalescer = new RequestCoalescer();
+
+    ExecutorService executorService = Executors.newFixedThreadPool(CALLERS);
+
+    @AfterEach
+    void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    void execute_concurrentCallers_shareOneCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        Object response = new Object();
+        Supplier<Object> call = () -> {
+            calls.incrementAndGet();
+            await(release);
+            return response;
+        };
+
+        List<Future<Object>> futures = submitCallers("/api/v1/employee", call);
+        waitForCallers();
+        release.countDown();
+
+        for (Future<Object> future : futures) {
+            assertThat(future.get(5, TimeUnit.SECONDS)).isSameAs(response);
+        }
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void execute_failure_sharedWithEveryCaller() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<Object> call = () -> {
+            calls.incrementAndGet();
+            await(release);
+            throw new TooManyRequestException();
+        };
+
+        List<Future<Object>> futures = submitCallers("/api/v1/employee", call);
+        waitForCallers();
+        release.countDown();
+
+        for (Future<Object> future : futures) {
+            assertThatThrownBy(() -> future.get(5, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .hasCauseInstanceOf(TooManyRequestException.class);
+        }
+        assertThat(calls).hasValue(1);
+    }
+
+    @Test
+    void execute_completedCall_notReused() {
+        AtomicInteger calls = new AtomicInteger();
+
+        requestCoalescer.execute(HttpMethod.GET, "/api/v1/employee", calls::incrementAndGet);
+        requestCoalescer.execute(HttpMethod.GET, "/api/v1/employee", calls::incrementAndGet);
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void execute_differentUri_notShared() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<String> first = executorService.submit(() -> requestCoalescer.execute(HttpMethod.GET, "/id1", () -> {
+            started.countDown();
+            await(release);
+            return "id1";
+        }));
+        await(started);
+
+        assertThat(requestCoalescer.execute(HttpMethod.GET, "/id2", () -> "id2")).isEqualTo("id2");
+
+        release.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("id1");
+    }
+
+    List<Future<Object>> submitCallers(String uri, Supplier<Object> call) {
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int caller = 0; caller < CALLERS; caller++) {
+            futures.add(executorService.submit(() -> requestCoalescer.execute(HttpMethod.GET, uri, call)));
+        }
+        return futures;
+    }
+
+    /**
+     * Callers joining an in flight call park without a signal,
+     * give them time to get there before the call completes
+     */
+    static void waitForCallers() throws InterruptedException {
+        Thread.sleep(200);
+    }
+
+    static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -9,6 +9,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.reliaquest.api.controller.exceptions.TooManyRequestException;
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -16,6 +17,7 @@ import org.junit.jupiter.params.provider.EnumSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
@@ -46,9 +48,23 @@ class EmployeeErrorHandlerTest {
     @Test
     void handle_429() throws Exception {
         when(response.getStatusCode()).thenReturn(HttpStatusCode.valueOf(429));
+        when(response.getHeaders()).thenReturn(new HttpHeaders());
 
         assertThatThrownBy(() -> employeeErrorHandler.handle(request, response))
-                .isInstanceOf(TooManyRequestException.class);
+                .isInstanceOf(TooManyRequestException.class)
+                .hasFieldOrPropertyWithValue("retryAfter", null);
+    }
+
+    @Test
+    void handle_429_retryAfter() throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "30");
+        when(response.getStatusCode()).thenReturn(HttpStatusCode.valueOf(429));
+        when(response.getHeaders()).thenReturn(headers);
+
+        assertThatThrownBy(() -> employeeErrorHandler.handle(request, response))
+                .isInstanceOf(TooManyRequestException.class)
+                .hasFieldOrPropertyWithValue("retryAfter", Duration.ofSeconds(30));
     }
 
     @ParameterizedTest
@@ -0,0 +1,73 @@
+package com.reliaquest.api.service.client.json;
+
+import static net.javacrumbs.jsonunit.assertj.JsonAssertions.assertThatJson;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.CreateEmployee;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.client.model.Response;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class EmployeeHttpMessageConverterTest {
+
+    static final Type EMPLOYEE_LIST_RESPONSE = new ParameterizedTypeReference<Response<List<Employee>>>() {}.getType();
+
+    EmployeeHttpMessageConverter converter =
+            new EmployeeHttpMessageConverter(new ObjectMapper().registerModule(new EmployeeJacksonModule()));
+
+    @Test
+    void read() throws Exception {
+        Object first = converter.read(EMPLOYEE_LIST_RESPONSE, null, input(EmployeeJacksonModuleTest.EMPLOYEE));
+        Object second = converter.read(
+                new ParameterizedTypeReference<Response<List<Employee>>>() {}.getType(),
+                null,
+                input(EmployeeJacksonModuleTest.EMPLOYEE));
+
+        assertThat(first).isEqualTo(new Response<>(List.of(EmployeeJacksonModuleTest.MARTIN), "ok", null));
+        assertThat(second).isEqualTo(first);
+        // equal types from different references share the reader
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(converter, "readers")).hasSize(1);
+    }
+
+    @Test
+    void read_invalid() {
+        assertThatThrownBy(() -> converter.read(
+                        EMPLOYEE_LIST_RESPONSE,
+                        null,
+                        new MockHttpInputMessage("{\"data\": [".getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(HttpMessageNotReadableException.class);
+    }
+
+    @Test
+    void write() throws Exception {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+
+        converter.write(
+                new CreateEmployee("Richard Test", 12345, 21, "Mr"),
+                CreateEmployee.class,
+                MediaType.APPLICATION_JSON,
+                outputMessage);
+
+        assertThatJson(outputMessage.getBodyAsString())
+                .isEqualTo("{\"name\": \"Richard Test\", \"salary\": 12345, \"age\": 21, \"title\": \"Mr\"}");
+        assertThat((Map<?, ?>) ReflectionTestUtils.getField(converter, "writers"))
+                .containsOnlyKeys(CreateEmployee.class);
+    }
+
+    private static MockHttpInputMessage input(String employee) {
+        String body = "{\"data\": [" + employee + "], \"status\": \"ok\"}";
+        return new MockHttpInputMessage(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
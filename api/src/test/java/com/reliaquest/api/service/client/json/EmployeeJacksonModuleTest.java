@@ -0,0 +1,145 @@
+package com.reliaquest.api.service.client.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.core.io.JsonEOFException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.client.model.EmployeeChange;
+import com.reliaquest.api.service.client.model.EmployeeChanges;
+import com.reliaquest.api.service.client.model.Response;
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class EmployeeJacksonModuleTest {
+
+    static final String EMPLOYEE =
+            """
+            {
+                "id": "fa73472f-6a51-42fd-9fd8-80bc07232075",
+                "employee_name": "Martin Okuneva",
+                "employee_salary": 366039,
+                "employee_age": 28,
+                "employee_title": "Investor Retail Technician",
+                "employee_email": "lotstring@company.com"
+            }
+            """;
+
+    static final Employee MARTIN = new Employee(
+            "fa73472f-6a51-42fd-9fd8-80bc07232075",
+            "Martin Okuneva",
+            366039,
+            28,
+            "Investor Retail Technician",
+            "lotstring@company.com");
+
+    ObjectMapper objectMapper = objectMapper().registerModule(new EmployeeJacksonModule());
+
+    @Test
+    void readEmployeeListResponse() throws Exception {
+        String json = "{\"data\": [" + EMPLOYEE + ", null], \"status\": \"Successfully processed request.\"}";
+
+        Response<List<Employee>> response = objectMapper.readValue(json, new TypeReference<>() {});
+
+        assertThat(response.data()).isEqualTo(Arrays.asList(MARTIN, null));
+        assertThat(response.status()).isEqualTo("Successfully processed request.");
+        assertThat(response.error()).isNull();
+    }
+
+    @Test
+    void readEmployeeResponse() throws Exception {
+        String json = "{\"status\": \"Successfully processed request.\", \"data\": " + EMPLOYEE + "}";
+
+        Response<Employee> response = objectMapper.readValue(json, new TypeReference<>() {});
+
+        assertThat(response).isEqualTo(new Response<>(MARTIN, "Successfully processed request.", null));
+    }
+
+    @Test
+    void readEmployeeResponse_sameAsNamingStrategy() throws Exception {
+        String json =
+                """
+                {"data": {"id": "1", "employee_name": "Bill", "employee_salary": "100", "employee_age": null,
+                          "employee_unknown": [{"nested": true}]},
+                 "status": "Successfully processed request.", "error": "none", "extra": {}}
+                """;
+
+        Response<Employee> response = objectMapper.readValue(json, new TypeReference<>() {});
+        Response<Employee> expected = objectMapper().readValue(json, new TypeReference<>() {});
+
+        assertThat(response).isEqualTo(expected);
+        assertThat(response.data()).isEqualTo(new Employee("1", "Bill", 100, null, null, null));
+    }
+
+    @Test
+    void readEmployeeResponse_nullData() throws Exception {
+        Response<Employee> response =
+                objectMapper.readValue("{\"data\": null, \"status\": \"ok\"}", new TypeReference<>() {});
+
+        assertThat(response).isEqualTo(new Response<>(null, "ok", null));
+    }
+
+    @Test
+    void readEmployeeListResponse_notAList() {
+        assertThatThrownBy(() -> objectMapper.readValue(
+                        "{\"data\": " + EMPLOYEE + "}", new TypeReference<Response<List<Employee>>>() {}))
+                .isInstanceOf(MismatchedInputException.class);
+    }
+
+    @Test
+    void readEmployeeResponse_inputEndsInsideEmployee() throws Exception {
+        TokenBuffer truncated = new TokenBuffer(objectMapper, false);
+        truncated.writeStartObject();
+        truncated.writeFieldName("data");
+        truncated.writeStartObject();
+        truncated.writeStringField("employee_name", "Martin Okuneva");
+
+        assertThatThrownBy(() -> objectMapper.readValue(
+                        truncated.asParser(), new TypeReference<Response<Employee>>() {}))
+                .isInstanceOf(JsonEOFException.class);
+    }
+
+    @Test
+    void readEmployeeListResponse_inputEndsInsideList() throws Exception {
+        TokenBuffer truncated = new TokenBuffer(objectMapper, false);
+        truncated.writeStartObject();
+        truncated.writeFieldName("data");
+        truncated.writeStartArray();
+        truncated.writeNull();
+
+        assertThatThrownBy(() -> objectMapper.readValue(
+                        truncated.asParser(), new TypeReference<Response<List<Employee>>>() {}))
+                .isInstanceOf(JsonEOFException.class);
+    }
+
+    @Test
+    void readEmployeeChanges() throws Exception {
+        String json = "{\"data\": {\"version\": 3, \"reset\": false, \"changes\": [{\"version\": 3, "
+                + "\"type\": \"CREATED\", \"employee\": " + EMPLOYEE + "}]}}";
+
+        Response<EmployeeChanges> response = objectMapper.readValue(json, new TypeReference<>() {});
+
+        assertThat(response.data().changes())
+                .containsExactly(new EmployeeChange(3, EmployeeChange.Type.CREATED, MARTIN));
+    }
+
+    @Test
+    void readOtherResponse() throws Exception {
+        Response<Boolean> response =
+                objectMapper.readValue("{\"data\": true, \"status\": \"ok\"}", new TypeReference<>() {});
+
+        assertThat(response).isEqualTo(new Response<>(true, "ok", null));
+    }
+
+    private static ObjectMapper objectMapper() {
+        return new ObjectMapper()
+                .setPropertyNamingStrategy(new EmployeeJacksonNamingStrategy())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+}
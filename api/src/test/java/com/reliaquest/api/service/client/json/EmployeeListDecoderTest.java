@@ -0,0 +1,131 @@
+package com.reliaquest.api.service.client.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+class EmployeeListDecoderTest {
+
+    static final String RESPONSE =
+            """
+            {
+                "status": "Successfully processed request.",
+                "data": [
+                    {
+                        "id": "1",
+                        "employee_name": "Richard Calderin",
+                        "employee_salary": 190,
+                        "employee_age": 20,
+                        "employee_title": "Mr",
+                        "employee_email": "richard@company.com",
+                        "employee_unknown": {"nested": [1, {"data": [2]}]}
+                    },
+                    null,
+                    {
+                        "id": "2",
+                        "employee_name": "Robert Lima",
+                        "employee_salary": 200,
+                        "employee_age": 30,
+                        "employee_title": "Dr",
+                        "employee_email": "robert@company.com"
+                    }
+                ],
+                "error": null
+            }
+            """;
+
+    static final Employee RICHARD = new Employee("1", "Richard Calderin", 190, 20, "Mr", "richard@company.com");
+    static final Employee ROBERT = new Employee("2", "Robert Lima", 200, 30, "Dr", "robert@company.com");
+
+    EmployeeListDecoder employeeListDecoder =
+            new EmployeeListDecoder(new ObjectMapper().registerModule(new EmployeeJacksonModule()));
+
+    @Test
+    void decode_oneBuffer() {
+        StepVerifier.create(employeeListDecoder.decode(buffers(RESPONSE, RESPONSE.length())))
+                .expectNext(RICHARD, ROBERT)
+                .verifyComplete();
+    }
+
+    @Test
+    void decode_tokensSplitAcrossBuffers() {
+        for (int size = 1; size < 16; size++) {
+            List<Employee> employees = employeeListDecoder.decode(buffers(RESPONSE, size)).collectList().block();
+
+            assertThat(employees).containsExactly(RICHARD, ROBERT);
+        }
+    }
+
+    @Test
+    void decode_emittedBeforeBodyEnds() {
+        String firstEmployee = RESPONSE.substring(0, RESPONSE.indexOf("null"));
+
+        StepVerifier.create(employeeListDecoder.decode(buffers(firstEmployee, 64).concatWith(Flux.never())))
+                .expectNext(RICHARD)
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void decode_withoutData() {
+        List<Employee> employees = employeeListDecoder
+                .decode(buffers("{\"status\": \"ok\", \"data\": null}", 8))
+                .collectList()
+                .block();
+
+        assertThat(employees).isEmpty();
+    }
+
+    @Test
+    void decode_bodyCutShort() {
+        String cutShort = RESPONSE.substring(0, RESPONSE.indexOf("null"));
+
+        assertThatThrownBy(() -> employeeListDecoder
+                        .decode(buffers(cutShort, 32))
+                        .collectList()
+                        .block())
+                .isInstanceOf(DecodingException.class)
+                .hasMessageContaining("ended early");
+    }
+
+    @Test
+    void decode_notAnObject() {
+        assertThatThrownBy(() -> employeeListDecoder
+                        .decode(buffers("[1, 2]", 8))
+                        .collectList()
+                        .block())
+                .isInstanceOf(DecodingException.class)
+                .hasMessageContaining("Expected an employee list response");
+    }
+
+    @Test
+    void decode_emptyBody() {
+        assertThatThrownBy(() -> employeeListDecoder
+                        .decode(Flux.empty())
+                        .collectList()
+                        .block())
+                .isInstanceOf(DecodingException.class);
+    }
+
+    static Flux<DataBuffer> buffers(String body, int size) {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int offset = 0; offset < bytes.length; offset += size) {
+            byte[] chunk = new byte[Math.min(size, bytes.length - offset)];
+            System.arraycopy(bytes, offset, chunk, 0, chunk.length);
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(chunk));
+        }
+        return Flux.fromIterable(buffers);
+    }
+}
@@ -0,0 +1,153 @@
+package com.reliaquest.api.service.client.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.controller.exceptions.RequestShedException;
+import com.reliaquest.api.service.client.EmployeeClientProperties;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class AdaptiveRateLimiterTest {
+
+    static final Instant START = Instant.parse("2024-01-01T10:00:00Z");
+    static final EmployeeClientProperties.RateLimit RATE_LIMIT_PROPERTIES =
+            new EmployeeClientProperties.RateLimit(Duration.ofSeconds(1), Duration.ofSeconds(3), Duration.ZERO);
+
+    @Mock
+    Clock clock;
+
+    Instant now = START;
+
+    AdaptiveRateLimiter adaptiveRateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        when(clock.instant()).thenAnswer(invocation -> now);
+        adaptiveRateLimiter = new AdaptiveRateLimiter(RATE_LIMIT_PROPERTIES, clock);
+    }
+
+    @Test
+    void tryAcquire_budgetUnknown_neverWaits() {
+        for (int call = 0; call < 100; call++) {
+            assertThat(adaptiveRateLimiter.tryAcquire()).isZero();
+            adaptiveRateLimiter.onSuccess();
+        }
+    }
+
+    @Test
+    void onThrottled_retryAfter_waitsForIt() {
+        callSucceeds();
+        adaptiveRateLimiter.onThrottled(Duration.ofSeconds(30));
+
+        assertThat(adaptiveRateLimiter.tryAcquire()).isEqualTo(Duration.ofSeconds(30));
+        now = START.plusSeconds(20);
+        assertThat(adaptiveRateLimiter.tryAcquire()).isEqualTo(Duration.ofSeconds(10));
+        now = START.plusSeconds(30);
+        assertThat(adaptiveRateLimiter.tryAcquire()).isZero();
+    }
+
+    @Test
+    void onThrottled_noRetryAfter_backoffDoubledUpToMax() {
+        adaptiveRateLimiter.onThrottled(null);
+        assertThat(adaptiveRateLimiter.tryAcquire()).isEqualTo(Duration.ofSeconds(1));
+
+        adaptiveRateLimiter.onThrottled(null);
+        assertThat(adaptiveRateLimiter.tryAcquire()).isEqualTo(Duration.ofSeconds(2));
+
+        adaptiveRateLimiter.onThrottled(null);
+        assertThat(adaptiveRateLimiter.tryAcquire()).isEqualTo(Duration.ofSeconds(3));
+
+        adaptiveRateLimiter.onThrottled(null);
+        assertThat(adaptiveRateLimiter.tryAcquire()).isEqualTo(Duration.ofSeconds(3));
+    }
+
+    @Test
+    void tryAcquire_learntBudget_waitsForWindowBeforeUpstreamRejects() {
+        callSucceeds();
+        callSucceeds();
+        callSucceeds();
+        assertThat(adaptiveRateLimiter.tryAcquire()).isZero();
+        adaptiveRateLimiter.onThrottled(null);
+
+        // probing until upstream lets calls through again
+        now = START.plusSeconds(1);
+        assertThat(adaptiveRateLimiter.tryAcquire()).isZero();
+        adaptiveRateLimiter.onThrottled(null);
+        now = START.plusSeconds(3);
+        callSucceeds();
+
+        // 3 calls every 3 seconds
+        callSucceeds();
+        callSucceeds();
+        assertThat(adaptiveRateLimiter.tryAcquire()).isEqualTo(Duration.ofSeconds(3));
+
+        now = START.plusSeconds(6);
+        callSucceeds();
+        callSucceeds();
+        callSucceeds();
+        assertThat(adaptiveRateLimiter.tryAcquire()).isEqualTo(Duration.ofSeconds(3));
+    }
+
+    @Test
+    void onNotCounted_tokenGivenBack() {
+        callSucceeds();
+        callSucceeds();
+        callSucceeds();
+        adaptiveRateLimiter.onThrottled(Duration.ofSeconds(3));
+        now = START.plusSeconds(3);
+        callSucceeds();
+        callSucceeds();
+
+        assertThat(adaptiveRateLimiter.tryAcquire()).isZero();
+        adaptiveRateLimiter.onNotCounted();
+
+        assertThat(adaptiveRateLimiter.tryAcquire()).isZero();
+        adaptiveRateLimiter.onSuccess();
+        assertThat(adaptiveRateLimiter.tryAcquire()).isEqualTo(Duration.ofSeconds(3));
+    }
+
+    @Test
+    void onThrottled_beforeLearntBudget_budgetLowered() {
+        callSucceeds();
+        callSucceeds();
+        callSucceeds();
+        adaptiveRateLimiter.onThrottled(Duration.ofSeconds(1));
+        now = START.plusSeconds(1);
+        callSucceeds();
+
+        adaptiveRateLimiter.onThrottled(Duration.ofSeconds(1));
+        now = START.plusSeconds(2);
+        callSucceeds();
+
+        assertThat(adaptiveRateLimiter.tryAcquire()).isEqualTo(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void acquire_waitOverMax_rejected() {
+        adaptiveRateLimiter.onThrottled(Duration.ofSeconds(10));
+
+        assertThatThrownBy(() -> adaptiveRateLimiter.acquire()).isInstanceOf(RequestShedException.class);
+    }
+
+    @Test
+    void acquire_noWait() {
+        adaptiveRateLimiter.acquire();
+
+        adaptiveRateLimiter.onSuccess();
+        adaptiveRateLimiter.acquire();
+    }
+
+    void callSucceeds() {
+        assertThat(adaptiveRateLimiter.tryAcquire()).isZero();
+        adaptiveRateLimiter.onSuccess();
+    }
+}
@@ -0,0 +1,136 @@
+package com.reliaquest.api.service.client.limit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.controller.exceptions.RequestShedException;
+import com.reliaquest.api.controller.exceptions.TooManyRequestException;
+import com.reliaquest.api.controller.exceptions.UpstreamUnavailableException;
+import java.io.IOException;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpResponse;
+
+@ExtendWith(MockitoExtension.class)
+class RateLimitInterceptorTest {
+
+    static final byte[] BODY = new byte[0];
+
+    @Mock
+    AdaptiveRateLimiter rateLimiter;
+
+    @Mock
+    HttpRequest request;
+
+    @Mock
+    ClientHttpRequestExecution execution;
+
+    @Mock
+    ClientHttpResponse response;
+
+    @InjectMocks
+    RateLimitInterceptor rateLimitInterceptor;
+
+    @Test
+    void intercept_success() throws IOException {
+        when(execution.execute(request, BODY)).thenReturn(response);
+        when(response.getStatusCode()).thenReturn(HttpStatus.OK);
+
+        assertThat(rateLimitInterceptor.intercept(request, BODY, execution)).isSameAs(response);
+
+        verify(rateLimiter).acquire();
+        verify(rateLimiter).onSuccess();
+    }
+
+    @Test
+    void intercept_throttled() throws IOException {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, "30");
+        when(execution.execute(request, BODY)).thenReturn(response);
+        when(response.getStatusCode()).thenReturn(HttpStatus.TOO_MANY_REQUESTS);
+        when(response.getHeaders()).thenReturn(headers);
+
+        assertThat(rateLimitInterceptor.intercept(request, BODY, execution)).isSameAs(response);
+
+        verify(rateLimiter).onThrottled(Duration.ofSeconds(30));
+        verify(rateLimiter, never()).onSuccess();
+    }
+
+    @Test
+    void intercept_notModified_notCounted() throws IOException {
+        when(execution.execute(request, BODY)).thenReturn(response);
+        when(response.getStatusCode()).thenReturn(HttpStatus.NOT_MODIFIED);
+
+        assertThat(rateLimitInterceptor.intercept(request, BODY, execution)).isSameAs(response);
+
+        verify(rateLimiter).onNotCounted();
+        verify(rateLimiter, never()).onSuccess();
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {400, 404, 500, 502, 503})
+    void intercept_notSuccessful_budgetUnchanged(int status) throws IOException {
+        when(execution.execute(request, BODY)).thenReturn(response);
+        when(response.getStatusCode()).thenReturn(HttpStatusCode.valueOf(status));
+
+        assertThat(rateLimitInterceptor.intercept(request, BODY, execution)).isSameAs(response);
+
+        verify(rateLimiter).acquire();
+        verifyNoMoreInteractions(rateLimiter);
+    }
+
+    @Test
+    void intercept_ioError_budgetUnchanged() throws IOException {
+        when(execution.execute(request, BODY)).thenThrow(new IOException("connection reset"));
+
+        assertThatThrownBy(() -> rateLimitInterceptor.intercept(request, BODY, execution))
+                .isInstanceOf(IOException.class);
+
+        verify(rateLimiter).acquire();
+        verifyNoMoreInteractions(rateLimiter);
+    }
+
+    @Test
+    void intercept_rejected_notSentUpstream() throws IOException {
+        doThrow(new RequestShedException(Duration.ofSeconds(30))).when(rateLimiter).acquire();
+
+        assertThatThrownBy(() -> rateLimitInterceptor.intercept(request, BODY, execution))
+                .isInstanceOf(TooManyRequestException.class);
+
+        verify(execution, never()).execute(any(), any());
+    }
+
+    @Test
+    void intercept_breakerOpen_tokenGivenBack() throws IOException {
+        when(execution.execute(request, BODY)).thenThrow(new UpstreamUnavailableException());
+
+        assertThatThrownBy(() -> rateLimitInterceptor.intercept(request, BODY, execution))
+                .isInstanceOf(UpstreamUnavailableException.class);
+
+        verify(rateLimiter).onNotCounted();
+    }
+
+    @Test
+    void retryAfter() {
+        HttpHeaders headers = new HttpHeaders();
+        assertThat(RateLimitInterceptor.retryAfter(headers)).isNull();
+
+        headers.set(HttpHeaders.RETRY_AFTER, " 5 ");
+        assertThat(RateLimitInterceptor.retryAfter(headers)).isEqualTo(Duration.ofSeconds(5));
+
+        headers.set(HttpHeaders.RETRY_AFTER, "Wed, 21 Oct 2015 07:28:00 GMT");
+        assertThat(RateLimitInterceptor.retryAfter(headers)).isNull();
+    }
+}
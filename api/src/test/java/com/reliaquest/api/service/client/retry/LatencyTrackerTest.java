@@ -0,0 +1,44 @@
+package com.reliaquest.api.service.client.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class LatencyTrackerTest {
+
+    LatencyTracker latencyTracker = new LatencyTracker();
+
+    @Test
+    void percentile_tooFewSamples() {
+        for (int sample = 1; sample < LatencyTracker.MIN_SAMPLES; sample++) {
+            latencyTracker.record(Duration.ofMillis(sample));
+        }
+
+        assertThat(latencyTracker.percentile(0.95)).isNull();
+    }
+
+    @Test
+    void percentile() {
+        for (int sample = 100; sample > 0; sample--) {
+            latencyTracker.record(Duration.ofMillis(sample));
+        }
+
+        assertThat(latencyTracker.percentile(0.95)).isEqualTo(Duration.ofMillis(95));
+        assertThat(latencyTracker.percentile(0.5)).isEqualTo(Duration.ofMillis(50));
+        assertThat(latencyTracker.percentile(1)).isEqualTo(Duration.ofMillis(100));
+        assertThat(latencyTracker.percentile(0)).isEqualTo(Duration.ofMillis(1));
+    }
+
+    @Test
+    void percentile_onlyRecentSamples() {
+        for (int sample = 0; sample < LatencyTracker.SAMPLES; sample++) {
+            latencyTracker.record(Duration.ofSeconds(10));
+        }
+        for (int sample = 0; sample < LatencyTracker.SAMPLES; sample++) {
+            latencyTracker.record(Duration.ofMillis(1));
+        }
+
+        assertThat(latencyTracker.percentile(1)).isEqualTo(Duration.ofMillis(1));
+    }
+}
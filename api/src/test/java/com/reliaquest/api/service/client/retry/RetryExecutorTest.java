@@ -0,0 +1,159 @@
+package com.reliaquest.api.service.client.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.api.controller.exceptions.EmployeeNotFoundException;
+import com.reliaquest.api.controller.exceptions.RequestShedException;
+import com.reliaquest.api.controller.exceptions.TooManyRequestException;
+import com.reliaquest.api.service.client.EmployeeClientProperties;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+@ExtendWith(MockitoExtension.class)
+class RetryExecutorTest {
+
+    static final EmployeeClientProperties.Retry RETRY_PROPERTIES =
+            new EmployeeClientProperties.Retry(3, Duration.ofMillis(1), Duration.ofMillis(5), Duration.ofSeconds(5), 0);
+
+    @Mock
+    Supplier<String> call;
+
+    RetryExecutor retryExecutor = new RetryExecutor(RETRY_PROPERTIES);
+
+    @Test
+    void execute_success() {
+        when(call.get()).thenReturn("result");
+
+        assertThat(retryExecutor.execute(call)).isEqualTo("result");
+        verify(call, times(1)).get();
+    }
+
+    @Test
+    void execute_retryableFailure_retried() {
+        when(call.get())
+                .thenThrow(new TooManyRequestException())
+                .thenThrow(new ResourceAccessException("timeout"))
+                .thenReturn("result");
+
+        assertThat(retryExecutor.execute(call)).isEqualTo("result");
+        verify(call, times(3)).get();
+    }
+
+    @Test
+    void execute_maxAttempts_lastFailureThrown() {
+        when(call.get())
+                .thenThrow(new TooManyRequestException())
+                .thenThrow(new TooManyRequestException())
+                .thenThrow(new ResourceAccessException("timeout"));
+
+        assertThatThrownBy(() -> retryExecutor.execute(call)).isInstanceOf(ResourceAccessException.class);
+        verify(call, times(3)).get();
+    }
+
+    @Test
+    void execute_notRetryable_thrown() {
+        when(call.get()).thenThrow(new EmployeeNotFoundException());
+
+        assertThatThrownBy(() -> retryExecutor.execute(call)).isInstanceOf(EmployeeNotFoundException.class);
+        verify(call, times(1)).get();
+    }
+
+    @Test
+    void execute_pastDeadline_notRetried() {
+        RetryExecutor noTimeLeft = new RetryExecutor(
+                new EmployeeClientProperties.Retry(3, Duration.ofMillis(1), Duration.ofMillis(5), Duration.ZERO, 0));
+        when(call.get()).thenThrow(new TooManyRequestException());
+
+        assertThatThrownBy(() -> noTimeLeft.execute(call)).isInstanceOf(TooManyRequestException.class);
+        verify(call, times(1)).get();
+    }
+
+    @Test
+    void execute_retryAfter_waited() {
+        when(call.get()).thenThrow(new TooManyRequestException(Duration.ofMillis(200))).thenReturn("result");
+
+        long start = System.nanoTime();
+        assertThat(retryExecutor.execute(call)).isEqualTo("result");
+
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isGreaterThanOrEqualTo(Duration.ofMillis(200));
+        verify(call, times(2)).get();
+    }
+
+    @Test
+    void execute_retryAfterPastDeadline_notRetried() {
+        when(call.get()).thenThrow(new TooManyRequestException(Duration.ofSeconds(30)));
+
+        assertThatThrownBy(() -> retryExecutor.execute(call)).isInstanceOf(TooManyRequestException.class);
+        verify(call, times(1)).get();
+    }
+
+    @Test
+    void execute_shedLocally_notRetried() {
+        when(call.get()).thenThrow(new RequestShedException(Duration.ofMillis(1)));
+
+        assertThatThrownBy(() -> retryExecutor.execute(call)).isInstanceOf(RequestShedException.class);
+        verify(call, times(1)).get();
+    }
+
+    @Test
+    void execute_slowCall_hedged() {
+        ExecutorService executorService = Executors.newCachedThreadPool();
+        RetryExecutor hedging = new RetryExecutor(
+                new EmployeeClientProperties.Retry(1, Duration.ofMillis(1), Duration.ofMillis(5), Duration.ZERO, 0.5),
+                executorService);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        Supplier<String> slowOnce = () -> {
+            int callNumber = calls.incrementAndGet();
+            if (callNumber == LatencyTracker.MIN_SAMPLES + 1) {
+                await(release);
+                return "slow";
+            }
+            return callNumber > LatencyTracker.MIN_SAMPLES ? "hedged" : "fast";
+        };
+
+        try {
+            for (int call = 0; call < LatencyTracker.MIN_SAMPLES; call++) {
+                assertThat(hedging.execute(slowOnce)).isEqualTo("fast");
+            }
+
+            assertThat(hedging.execute(slowOnce)).isEqualTo("hedged");
+            assertThat(calls).hasValue(LatencyTracker.MIN_SAMPLES + 2);
+        } finally {
+            release.countDown();
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void isRetryable() {
+        assertThat(RetryExecutor.isRetryable(new TooManyRequestException())).isTrue();
+        assertThat(RetryExecutor.isRetryable(new RequestShedException(Duration.ofSeconds(1)))).isFalse();
+        assertThat(RetryExecutor.isRetryable(new ResourceAccessException("timeout"))).isTrue();
+        assertThat(RetryExecutor.isRetryable(new HttpServerErrorException(HttpStatus.BAD_GATEWAY))).isTrue();
+        assertThat(RetryExecutor.isRetryable(new EmployeeNotFoundException())).isFalse();
+        assertThat(RetryExecutor.isRetryable(new IllegalStateException())).isFalse();
+    }
+
+    static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.reliaquest.api.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.client.EmployeeClient;
+import com.reliaquest.api.service.client.EmployeeClientProperties;
+import com.reliaquest.api.service.client.aggregate.EmployeeAggregation;
+import com.reliaquest.api.service.client.aggregate.EmployeeStreamReader;
+import com.reliaquest.api.service.client.cache.EmployeeSnapshotCache;
+import com.reliaquest.api.service.client.json.EmployeeJacksonNamingStrategy;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Name search, top ten and highest salary of {@link EmployeeServiceImpl}
+ * over synthetic employee lists
+ * <p>
+ * With a snapshot the service answers from the snapshot indexes, without
+ * one the client streams the upstream list body through the aggregation,
+ * the body is held in memory so no http is measured
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+// ten million employees and their snapshot indexes do not fit the default heap
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class EmployeeServiceBenchmark {
+
+    private static final String[] FIRST_NAMES = {
+        "Martin", "Bill", "Richard", "Tiger", "Ashton", "Cedric", "Airi", "Brielle", "Herrod", "Rhona"
+    };
+    private static final String[] LAST_NAMES = {
+        "Okuneva", "Bob", "Test", "Nixon", "Cox", "Kelly", "Satou", "Williamson", "Chandler", "Davidson"
+    };
+    private static final String[] TITLES = {
+        "Investor Retail Technician", "Documentation Engineer", "Accountant", "Software Engineer", "Director"
+    };
+
+    // one last name in ten
+    private static final String SEARCH = "okun";
+
+    // the list body is split so ten million employees do not need one array
+    private static final int CHUNK_BYTES = 1 << 20;
+
+    // a benchmark never runs long enough to see the snapshot expire
+    private static final EmployeeClientProperties.Cache NEVER_EXPIRES =
+            new EmployeeClientProperties.Cache(Duration.ofDays(365), Duration.ZERO);
+
+    @Param({"10", "1000", "100000", "1000000", "10000000"})
+    int employees;
+
+    @Param({"snapshot", "stream"})
+    String source;
+
+    EmployeeServiceImpl employeeService;
+
+    @Setup
+    public void setUp() throws IOException {
+        if (source.equals("snapshot")) {
+            List<Employee> list = new ArrayList<>(employees);
+            Random random = new Random(42);
+            for (int index = 0; index < employees; index++) {
+                list.add(employee(index, random));
+            }
+            EmployeeSnapshotCache employeeSnapshotCache = EmployeeSnapshotCache.of(() -> list, NEVER_EXPIRES);
+            employeeSnapshotCache.get();
+            employeeService = new EmployeeServiceImpl(null, employeeSnapshotCache);
+        } else {
+            // without a snapshot every call goes to the client
+            EmployeeSnapshotCache employeeSnapshotCache = EmployeeSnapshotCache.of(
+                    () -> {
+                        throw new IllegalStateException("No snapshot to load");
+                    },
+                    NEVER_EXPIRES);
+            employeeService = new EmployeeServiceImpl(streamingEmployeeClient(body(employees)), employeeSnapshotCache);
+        }
+    }
+
+    @Benchmark
+    public List<Employee> search() {
+        return employeeService.getEmployeesByNameSearch(SEARCH);
+    }
+
+    @Benchmark
+    public List<String> topTen() {
+        return employeeService.getTopTenHighestEarningEmployeeNames();
+    }
+
+    @Benchmark
+    public Integer highestSalary() {
+        return employeeService.getHighestSalaryOfEmployees();
+    }
+
+    private static Employee employee(int index, Random random) {
+        return new Employee(
+                new UUID(random.nextLong(), random.nextLong()).toString(),
+                FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                random.nextInt(30_000, 500_000),
+                random.nextInt(16, 76),
+                TITLES[random.nextInt(TITLES.length)],
+                "employee" + index + "@company.com");
+    }
+
+    /**
+     * Client reading aggregations from an in memory list body the way the
+     * http client reads the response, nothing else is benchmarked.
+     * Stub only so the calls of a whole run are not recorded
+     */
+    private static EmployeeClient streamingEmployeeClient(List<byte[]> body) {
+        EmployeeStreamReader employeeStreamReader = new EmployeeStreamReader(new JsonFactory());
+        EmployeeClient employeeClient = mock(EmployeeClient.class, withSettings().stubOnly());
+        when(employeeClient.aggregateEmployees(any())).thenAnswer(invocation -> {
+            EmployeeAggregation<?> aggregation = invocation.getArgument(0);
+            InputStream input = new SequenceInputStream(Collections.enumeration(
+                    body.stream().map(ByteArrayInputStream::new).toList()));
+            try {
+                return employeeStreamReader.read(input, aggregation.aggregator().get());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return employeeClient;
+    }
+
+    /**
+     * Upstream list response of the same employees as the snapshot,
+     * written one employee at a time so the list is never built
+     */
+    private static List<byte[]> body(int employees) throws IOException {
+        ObjectWriter writer =
+                new ObjectMapper().setPropertyNamingStrategy(new EmployeeJacksonNamingStrategy()).writer();
+        List<byte[]> chunks = new ArrayList<>();
+        chunks.add("{\"data\":[".getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream chunk = new ByteArrayOutputStream(CHUNK_BYTES + 1024);
+        Random random = new Random(42);
+        for (int index = 0; index < employees; index++) {
+            if (index > 0) {
+                chunk.write(',');
+            }
+            chunk.write(writer.writeValueAsBytes(employee(index, random)));
+            if (chunk.size() >= CHUNK_BYTES) {
+                chunks.add(chunk.toByteArray());
+                chunk.reset();
+            }
+        }
+        chunks.add(chunk.toByteArray());
+        chunks.add("],\"status\":\"Successfully processed request.\"}".getBytes(StandardCharsets.UTF_8));
+        return chunks;
+    }
+}
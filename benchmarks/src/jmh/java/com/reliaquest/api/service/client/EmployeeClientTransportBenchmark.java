@@ -0,0 +1,110 @@
+package com.reliaquest.api.service.client;
+
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.client.model.EmployeePage;
+import com.reliaquest.api.service.client.model.Response;
+import com.reliaquest.server.ServerApplication;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.client.RestClient;
+
+/**
+ * Throughput of {@link EmployeeClientImpl} against the mock server over
+ * HTTP/1.1 and over h2c, with many threads calling at once
+ * <p>
+ * The mock server runs in the same jvm on a random port with a rate
+ * limit no benchmark reaches, so only the transport differs between
+ * the two versions. Lookups by id are small responses where connection
+ * handling dominates, pages are bodies large enough for the framing
+ * to matter. The jdk pool settings are left at their defaults, see
+ * {@link HttpClientSystemProperties}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class EmployeeClientTransportBenchmark {
+
+    private static final int EMPLOYEES = 10_000;
+    private static final int PAGE_SIZE = 500;
+
+    @Param({"HTTP_1_1", "HTTP_2"})
+    String version;
+
+    ConfigurableApplicationContext mockServer;
+    EmployeeClientImpl employeeClient;
+    String[] ids;
+
+    @Setup
+    public void setUp() {
+        String[] serverArgs = {
+            // the api application.yml is on the classpath as well, neither is read
+            "--spring.config.name=employee-client-transport-benchmark",
+            "--server.port=0",
+            "--server.http2.enabled=true",
+            "--mock.employees.max=" + EMPLOYEES,
+            "--mock.employees.seed=42",
+            "--mock.rate-limit.algorithm=TOKEN_BUCKET",
+            "--mock.rate-limit.limit=" + Integer.MAX_VALUE,
+            "--mock.rate-limit.period=1s"
+        };
+        mockServer = new SpringApplicationBuilder(ServerApplication.class).run(serverArgs);
+        int port = ((WebServerApplicationContext) mockServer).getWebServer().getPort();
+
+        Map<String, String> properties = Map.of(
+                "employee-client.base-url", "http://localhost:" + port,
+                "employee-client.read-timeout", "10s",
+                "employee-client.transport.version", version);
+        EmployeeClientProperties employeeClientProperties = new Binder(new MapConfigurationPropertySource(properties))
+                .bindOrCreate("employee-client", EmployeeClientProperties.class);
+        employeeClient = new EmployeeClientImpl(
+                employeeClientProperties, RestClient.builder(), new Jackson2ObjectMapperBuilder());
+
+        List<Employee> employees = employeeClient.getEmployeePage(null, PAGE_SIZE).employees();
+        ids = employees.stream().map(Employee::id).toArray(String[]::new);
+    }
+
+    @TearDown
+    public void tearDown() {
+        mockServer.close();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Response<Employee> getEmployee() {
+        return employeeClient.getEmployee(ids[ThreadLocalRandom.current().nextInt(ids.length)]);
+    }
+
+    /*
+     * A random cursor per call, identical concurrent reads would share one upstream call
+     */
+    @Benchmark
+    @Threads(32)
+    public EmployeePage getEmployeePage() {
+        int cursor = ThreadLocalRandom.current().nextInt(EMPLOYEES - PAGE_SIZE);
+        return employeeClient.getEmployeePage(Integer.toString(cursor), PAGE_SIZE);
+    }
+}
@@ -0,0 +1,103 @@
+package com.reliaquest.api.service.client.json;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.client.model.Response;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Decoding an employee list response with the converter the client
+ * used to install against {@link EmployeeHttpMessageConverter}
+ * with the hand written deserializers
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeCodecBenchmark {
+
+    private static final HttpHeaders HEADERS = new HttpHeaders();
+
+    @Param({"10", "1000", "100000"})
+    int employees;
+
+    byte[] body;
+    MappingJackson2HttpMessageConverter defaultConverter;
+    EmployeeHttpMessageConverter employeeConverter;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper objectMapper = objectMapper();
+        Random random = new Random(42);
+        List<Employee> list = IntStream.range(0, employees)
+                .mapToObj(index -> new Employee(
+                        "id-" + index,
+                        "Employee " + index,
+                        random.nextInt(1_000_000),
+                        random.nextInt(16, 76),
+                        "Title " + index % 100,
+                        "employee" + index + "@company.com"))
+                .toList();
+        body = objectMapper.writeValueAsBytes(new Response<>(list, "Successfully processed request.", null));
+
+        defaultConverter = new MappingJackson2HttpMessageConverter(objectMapper());
+        employeeConverter =
+                new EmployeeHttpMessageConverter(objectMapper().registerModule(new EmployeeJacksonModule()));
+    }
+
+    @Benchmark
+    public Object defaultConverter() throws IOException {
+        // a new type reference per call, as the client did
+        return defaultConverter.read(
+                new ParameterizedTypeReference<Response<List<Employee>>>() {}.getType(), null, new Input(body));
+    }
+
+    @Benchmark
+    public Object employeeConverter() throws IOException {
+        return employeeConverter.read(
+                new ParameterizedTypeReference<Response<List<Employee>>>() {}.getType(), null, new Input(body));
+    }
+
+    private static ObjectMapper objectMapper() {
+        return new ObjectMapper()
+                .setPropertyNamingStrategy(new EmployeeJacksonNamingStrategy())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+
+    private record Input(byte[] bytes) implements HttpInputMessage {
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(bytes);
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return HEADERS;
+        }
+    }
+}
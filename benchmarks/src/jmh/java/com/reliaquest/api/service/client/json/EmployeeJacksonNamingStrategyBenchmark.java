@@ -0,0 +1,87 @@
+package com.reliaquest.api.service.client.json;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.model.Employee;
+import com.reliaquest.api.service.client.model.Response;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * {@link EmployeeJacksonNamingStrategy} is asked for every property of
+ * a type the first time a mapper reads it, so its cost shows in the
+ * first response a new mapper decodes rather than in later ones
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeJacksonNamingStrategyBenchmark {
+
+    private static final TypeReference<Response<List<Employee>>> EMPLOYEES_RESPONSE = new TypeReference<>() {};
+
+    // employee fields get the upstream prefix, any other property is left as is
+    private static final String[] PROPERTIES = {"id", "name", "salary", "age", "title", "email", "data", "status"};
+
+    private static final byte[] BODY =
+            """
+            {
+                "data": [
+                    {
+                        "id": "fa73472f-6a51-42fd-9fd8-80bc07232075",
+                        "employee_name": "Martin Okuneva",
+                        "employee_salary": 366039,
+                        "employee_age": 28,
+                        "employee_title": "Investor Retail Technician",
+                        "employee_email": "lotstring@company.com"
+                    }
+                ],
+                "status": "Successfully processed request."
+            }
+            """
+                    .getBytes(StandardCharsets.UTF_8);
+
+    EmployeeJacksonNamingStrategy namingStrategy = new EmployeeJacksonNamingStrategy();
+    ObjectMapper warmMapper = objectMapper();
+
+    @Benchmark
+    public void translate(Blackhole blackhole) {
+        for (String property : PROPERTIES) {
+            blackhole.consume(namingStrategy.translate(property));
+        }
+    }
+
+    /**
+     * Naming every property and building the deserializers, then the read itself
+     */
+    @Benchmark
+    public Response<List<Employee>> firstRead() throws IOException {
+        return objectMapper().readValue(BODY, EMPLOYEES_RESPONSE);
+    }
+
+    @Benchmark
+    public Response<List<Employee>> warmRead() throws IOException {
+        return warmMapper.readValue(BODY, EMPLOYEES_RESPONSE);
+    }
+
+    private static ObjectMapper objectMapper() {
+        return new ObjectMapper()
+                .setPropertyNamingStrategy(new EmployeeJacksonNamingStrategy())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    }
+}
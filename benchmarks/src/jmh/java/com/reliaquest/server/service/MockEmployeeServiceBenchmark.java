@@ -0,0 +1,123 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.config.MockEmployeeGenerator;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import net.datafaker.Faker;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lookups, creates and deletes of {@link MockEmployeeService} from many threads at once.
+ * <p>
+ * Reads never lock while writes are serialized by the store, so the groups show what lookups cost next to
+ * a few writers and what writers cost next to each other. Deletes remove employees made by the creates,
+ * a delete finding none left still takes the write lock.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MockEmployeeServiceBenchmark {
+
+    private static final String NAME = "Benchmark Employee";
+
+    @Param({"1000", "100000", "1000000"})
+    int employees;
+
+    List<MockEmployee> initial;
+    UUID[] ids;
+    MockEmployeeService mockEmployeeService;
+
+    CreateMockEmployeeInput createInput;
+    DeleteMockEmployeeInput deleteInput;
+
+    @Setup(Level.Trial)
+    public void generate() {
+        initial = new MockEmployeeGenerator(Locale.getDefault(), 42).generate(employees);
+        ids = initial.stream().map(MockEmployee::getId).toArray(UUID[]::new);
+
+        createInput = new CreateMockEmployeeInput();
+        createInput.setName(NAME);
+        createInput.setSalary(100000);
+        createInput.setAge(30);
+        createInput.setTitle("Benchmark Engineer");
+        deleteInput = new DeleteMockEmployeeInput();
+        deleteInput.setName(NAME);
+    }
+
+    /*
+     * A fresh store every iteration, creates outpacing deletes would otherwise grow it from one to the next.
+     */
+    @Setup(Level.Iteration)
+    public void setUp() {
+        mockEmployeeService = new MockEmployeeService(new Faker(Locale.getDefault()), new MockEmployeeStore(initial));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Optional<MockEmployee> findById() {
+        return mockEmployeeService.findById(randomId());
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(6)
+    public Optional<MockEmployee> mixedFindById() {
+        return mockEmployeeService.findById(randomId());
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public MockEmployee mixedCreate() {
+        return mockEmployeeService.create(createInput);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(1)
+    public boolean mixedDelete() {
+        return mockEmployeeService.delete(deleteInput);
+    }
+
+    @Benchmark
+    @Group("writes")
+    @GroupThreads(4)
+    public MockEmployee writesCreate() {
+        return mockEmployeeService.create(createInput);
+    }
+
+    @Benchmark
+    @Group("writes")
+    @GroupThreads(4)
+    public boolean writesDelete() {
+        return mockEmployeeService.delete(deleteInput);
+    }
+
+    private UUID randomId() {
+        return ids[ThreadLocalRandom.current().nextInt(ids.length)];
+    }
+}
@@ -0,0 +1,89 @@
+package com.reliaquest.server.config;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import net.datafaker.Faker;
+
+/**
+ * Builds mock employees on every core.
+ * <p>
+ * Employees are generated in fixed size chunks, each seeded from the dataset seed and its own index,
+ * so the same seed gives the same employees whatever the number of threads. Each thread keeps its own Faker,
+ * reseeded at the start of every chunk, and employees are built directly instead of through reflection.
+ */
+public final class MockEmployeeGenerator {
+
+    static final int CHUNK_SIZE = 10_000;
+
+    private final Locale locale;
+    private final long seed;
+
+    public MockEmployeeGenerator(Locale locale, long seed) {
+        this.locale = locale;
+        this.seed = seed;
+    }
+
+    public List<MockEmployee> generate(int count) {
+        final var workers = ThreadLocal.withInitial(() -> new Worker(locale));
+        final var chunks = (count + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        return IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(chunk -> {
+                    final var size = Math.min(CHUNK_SIZE, count - chunk * CHUNK_SIZE);
+                    return workers.get().generate(chunkSeed(chunk), size);
+                })
+                .flatMap(List::stream)
+                .toList();
+    }
+
+    /**
+     * Spreads neighbouring chunk indexes over the whole seed space, see SplittableRandom.
+     */
+    private long chunkSeed(int chunk) {
+        long mixed = seed + (chunk + 1) * 0x9E3779B97F4A7C15L;
+        mixed = (mixed ^ (mixed >>> 30)) * 0xBF58476D1CE4E5B9L;
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94D049BB133111EBL;
+        return mixed ^ (mixed >>> 31);
+    }
+
+    private static final class Worker {
+
+        private final Random random = new Random();
+        private final Faker faker;
+
+        private Worker(Locale locale) {
+            this.faker = new Faker(locale, random);
+        }
+
+        private List<MockEmployee> generate(long chunkSeed, int size) {
+            random.setSeed(chunkSeed);
+            final var mockEmployees = new ArrayList<MockEmployee>(size);
+            for (int index = 0; index < size; index++) {
+                mockEmployees.add(MockEmployee.builder()
+                        .id(randomUuid())
+                        .name(faker.name().fullName())
+                        .salary(faker.number().numberBetween(30000, 500000))
+                        .age(faker.number().numberBetween(16, 70))
+                        .title(faker.job().title())
+                        .email(ServerConfiguration.EMAIL_TEMPLATE.formatted(
+                                faker.twitter().userName().toLowerCase()))
+                        .build());
+            }
+            return mockEmployees;
+        }
+
+        /**
+         * Version 4 uuid drawn from the seeded random, {@link UUID#randomUUID()} cannot be seeded.
+         */
+        private UUID randomUuid() {
+            final var mostSignificant = random.nextLong() & ~0xF000L | 0x4000L;
+            final var leastSignificant = random.nextLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+            return new UUID(mostSignificant, leastSignificant);
+        }
+    }
+}
@@ -1,19 +1,32 @@
 package com.reliaquest.server.config;
 
-import com.reliaquest.server.model.MockEmployee;
-import com.reliaquest.server.web.RandomRequestLimitInterceptor;
-import java.util.ArrayList;
-import java.util.List;
+import com.reliaquest.server.model.MockEmployeeSnapshot;
+import com.reliaquest.server.persistence.MockEmployeeDataset;
+import com.reliaquest.server.persistence.MockEmployeePersistence;
+import com.reliaquest.server.service.MockEmployeeStore;
+import com.reliaquest.server.web.FaultInjectionFilter;
+import com.reliaquest.server.web.FaultProperties;
+import com.reliaquest.server.web.RandomRateLimiter;
+import com.reliaquest.server.web.RateLimitInterceptor;
+import com.reliaquest.server.web.RateLimitProperties;
+import com.reliaquest.server.web.RateLimiter;
+import com.reliaquest.server.web.SlidingWindowRateLimiter;
+import com.reliaquest.server.web.TokenBucketRateLimiter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.Locale;
-import java.util.UUID;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
-import net.datafaker.transformations.Field;
-import net.datafaker.transformations.JavaObjectTransformer;
-import net.datafaker.transformations.Schema;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
@@ -21,39 +34,127 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Slf4j
 @Configuration
+@RequiredArgsConstructor
+@EnableConfigurationProperties({RateLimitProperties.class, FaultProperties.class})
 public class ServerConfiguration implements WebMvcConfigurer {
 
     public static final String EMAIL_TEMPLATE = "%s@company.com";
 
+    private final RateLimitProperties rateLimitProperties;
+
     @Bean
     public Faker faker() {
         return new Faker(Locale.getDefault());
     }
 
     /*
-     * This list is modifiable by design for CRUD operations.
+     * The store is modifiable by design for CRUD operations.
+     * With persistence on, a restart goes on from the saved employees and every change is saved from then on.
+     */
+    @Bean
+    public MockEmployeeStore mockEmployeeStore(
+            @Value("${mock.employees.max:20}") int maxEmployees,
+            @Value("${mock.employees.seed:#{null}}") Long seed,
+            @Value("${mock.employees.dataset:}") String dataset,
+            @Value("${mock.employees.changes.retention:1000}") int changeRetention,
+            ObjectProvider<MockEmployeePersistence> mockEmployeePersistence)
+            throws IOException {
+        final var persistence = mockEmployeePersistence.getIfAvailable();
+        if (persistence == null) {
+            final var initial = initialEmployees(maxEmployees, seed, dataset);
+            return new MockEmployeeStore(initial.mockEmployees(), changeRetention, initial.version());
+        }
+
+        final var saved = persistence.readSnapshot();
+        final var base = saved.isPresent() ? saved.get() : initialEmployees(maxEmployees, seed, dataset);
+        final var recovered = persistence.replay(base);
+        final var store = new MockEmployeeStore(recovered.mockEmployees(), changeRetention, recovered.version());
+        persistence.attach(store);
+        return store;
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty("mock.employees.persistence.directory")
+    public MockEmployeePersistence mockEmployeePersistence(
+            @Value("${mock.employees.persistence.directory}") String directory,
+            @Value("${mock.employees.persistence.snapshot-every:100000}") int snapshotEvery,
+            @Value("${mock.employees.persistence.fsync:false}") boolean fsync) {
+        return new MockEmployeePersistence(Path.of(directory), snapshotEvery, fsync);
+    }
+
+    /*
+     * An existing dataset file is read instead of generating employees, a missing one is written once they are
+     * generated so later starts read it. Without a fixed seed a random one is logged so the run can be repeated.
+     */
+    private static MockEmployeeSnapshot initialEmployees(int maxEmployees, Long seed, String dataset)
+            throws IOException {
+        final var datasetPath = dataset.isBlank() ? null : Path.of(dataset);
+        if (datasetPath != null && Files.exists(datasetPath)) {
+            final var initial = MockEmployeeDataset.read(datasetPath);
+            log.info("Read {} employees from dataset: {}", initial.mockEmployees().size(), datasetPath);
+            return initial;
+        }
+
+        final var datasetSeed = seed == null ? ThreadLocalRandom.current().nextLong() : seed;
+        final var started = System.nanoTime();
+        final var mockEmployees = new MockEmployeeGenerator(Locale.getDefault(), datasetSeed).generate(maxEmployees);
+        log.info(
+                "Generated {} employees with seed: {} in {} ms",
+                mockEmployees.size(),
+                datasetSeed,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+
+        final var initial = new MockEmployeeSnapshot(mockEmployees.size(), mockEmployees);
+        if (datasetPath != null) {
+            MockEmployeeDataset.write(datasetPath, initial);
+            log.info("Wrote {} employees to dataset: {}", mockEmployees.size(), datasetPath);
+        }
+        return initial;
+    }
+
+    /*
+     * Only with a profile of faults to inject, the mock server answers every request right away otherwise.
      */
     @Bean
-    public List<MockEmployee> mockEmployees(Faker faker, @Value("${mock.employees.max:20}") int maxEmployees) {
-        final var transformer = new JavaObjectTransformer();
-        final var schema = Schema.of(
-                Field.field("id", UUID::randomUUID),
-                Field.field("name", () -> faker.name().fullName()),
-                Field.field("salary", () -> faker.number().numberBetween(30000, 500000)),
-                Field.field("age", () -> faker.number().numberBetween(16, 70)),
-                Field.field("title", () -> faker.job().title()),
-                Field.field(
-                        "email",
-                        () -> EMAIL_TEMPLATE.formatted(
-                                faker.twitter().userName().toLowerCase())));
-        return IntStream.rangeClosed(1, maxEmployees)
-                .mapToObj(ignored -> (MockEmployee) transformer.apply(MockEmployee.class, schema))
-                .peek(mockEmployee -> log.debug("Created employee: {}", mockEmployee))
-                .collect(Collectors.toCollection(ArrayList::new));
+    @ConditionalOnProperty("mock.faults.profile")
+    public FilterRegistrationBean<FaultInjectionFilter> faultInjectionFilter(FaultProperties faultProperties) {
+        final var profiles = faultProperties.profiles() == null
+                ? Map.<String, FaultProperties.Profile>of()
+                : faultProperties.profiles();
+        final var profile = profiles.get(faultProperties.profile());
+        if (profile == null) {
+            throw new IllegalArgumentException("Unknown fault profile: " + faultProperties.profile());
+        }
+
+        final var seed =
+                faultProperties.seed() == null ? ThreadLocalRandom.current().nextLong() : faultProperties.seed();
+        log.info("Injecting faults of profile: {} with seed: {}", faultProperties.profile(), seed);
+        return new FilterRegistrationBean<>(new FaultInjectionFilter(profile, seed));
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
-        registry.addInterceptor(new RandomRequestLimitInterceptor());
+        registry.addInterceptor(new RateLimitInterceptor(rateLimiter(rateLimitProperties), rateLimitProperties));
+    }
+
+    private static RateLimiter rateLimiter(RateLimitProperties rateLimitProperties) {
+        final var stripes = rateLimitProperties.stripes();
+        return switch (rateLimitProperties.algorithm()) {
+            case TOKEN_BUCKET -> new TokenBucketRateLimiter(
+                    rateLimitProperties.limit(), rateLimitProperties.period(), stripes, System::nanoTime);
+            case SLIDING_WINDOW -> new SlidingWindowRateLimiter(
+                    rateLimitProperties.limit(), rateLimitProperties.period(), stripes, System::nanoTime);
+            case RANDOM -> {
+                final var random = rateLimitProperties.random();
+                final var seed = random.seed() == null ? ThreadLocalRandom.current().nextLong() : random.seed();
+                final var rateLimiter = RandomRateLimiter.of(random, seed, stripes, System::nanoTime);
+                log.info(
+                        "Rate limiting to {} requests then backing off for {} with seed: {}",
+                        rateLimiter.limit(),
+                        rateLimiter.backoff(),
+                        seed);
+                yield rateLimiter;
+            }
+        };
     }
 }
@@ -3,20 +3,30 @@ package com.reliaquest.server.controller;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChanges;
 import com.reliaquest.server.model.Response;
 import com.reliaquest.server.service.MockEmployeeService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -24,11 +34,59 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    public static final int MAX_PAGE_SIZE = 1000;
+    public static final int MAX_BATCH_SIZE = 1000;
+
     private final MockEmployeeService mockEmployeeService;
+    private final Validator validator;
+    private final MockEmployeeListWriter mockEmployeeListWriter;
 
+    /*
+     * Without cursor and limit the whole list is streamed from a consistent view of the store, tagged with
+     * its version so an unchanged list is answered with 304 and no body. The list is written straight to the
+     * response on the request thread, the response is then already handled and nothing is returned.
+     * Otherwise one page is returned and the cursor of the next one is sent in a header, absent on the last page.
+     */
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<?> getEmployees(
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            HttpServletResponse response)
+            throws IOException {
+        if (cursor == null && limit == null) {
+            // checked against the current version before a view is opened
+            final var etag = etag(mockEmployeeService.getVersion());
+            if (matches(ifNoneMatch, etag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+            }
+            try (final var view = mockEmployeeService.openView()) {
+                response.setStatus(HttpStatus.OK.value());
+                response.setHeader(HttpHeaders.ETAG, etag(view.version()));
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                mockEmployeeListWriter.write(view, response.getOutputStream());
+            }
+            return null;
+        }
+
+        final var pageSize = limit == null ? MAX_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        final var page = mockEmployeeService.getMockEmployeePage(cursor, pageSize);
+        final var pageResponse = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            pageResponse.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return pageResponse.body(Response.handledWith(page.employees()));
+    }
+
+    /*
+     * Creates and deletes after the given version, so a client holding the list at that version catches up
+     * without downloading it again. A version the store no longer has changes for is answered with reset, the
+     * client then reads the whole list above.
+     */
+    @GetMapping("/changes")
+    public Response<MockEmployeeChanges> getChanges(@RequestParam(name = "since") long since) {
+        return Response.handledWith(mockEmployeeService.getChangesSince(since));
     }
 
     @GetMapping("/{id}")
@@ -48,4 +106,75 @@ public class MockEmployeeController {
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
     }
+
+    /*
+     * Batches are validated and applied one item at a time, in order, each item gets its own result
+     * so one invalid employee does not fail the others. The whole batch counts as one request.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<Response<List<Response<MockEmployee>>>> createEmployees(
+            @RequestBody List<CreateMockEmployeeInput> inputs) {
+        if (inputs.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body(Response.error(tooLarge()));
+        }
+
+        final var results = new ArrayList<Response<MockEmployee>>(inputs.size());
+        for (final var input : inputs) {
+            final var error = validate(input);
+            results.add(
+                    error == null ? Response.handledWith(mockEmployeeService.create(input)) : Response.error(error));
+        }
+        return ResponseEntity.ok(Response.handledWith(results));
+    }
+
+    @DeleteMapping("/batch")
+    public ResponseEntity<Response<List<Response<Boolean>>>> deleteEmployees(
+            @RequestBody List<DeleteMockEmployeeInput> inputs) {
+        if (inputs.size() > MAX_BATCH_SIZE) {
+            return ResponseEntity.badRequest().body(Response.error(tooLarge()));
+        }
+
+        final var results = new ArrayList<Response<Boolean>>(inputs.size());
+        for (final var input : inputs) {
+            final var error = validate(input);
+            results.add(
+                    error == null ? Response.handledWith(mockEmployeeService.delete(input)) : Response.error(error));
+        }
+        return ResponseEntity.ok(Response.handledWith(results));
+    }
+
+    private String validate(Object input) {
+        if (input == null) {
+            return "Missing input.";
+        }
+        final var violations = validator.validate(input);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private static String tooLarge() {
+        return "Batch larger than " + MAX_BATCH_SIZE + " items.";
+    }
+
+    static String etag(long version) {
+        return "\"" + version + "\"";
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (final var candidate : ifNoneMatch.split(",")) {
+            final var trimmed = candidate.trim();
+            if (trimmed.equals("*") || trimmed.equals(etag) || trimmed.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
 }
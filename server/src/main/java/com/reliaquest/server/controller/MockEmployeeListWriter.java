@@ -0,0 +1,57 @@
+package com.reliaquest.server.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import java.io.IOException;
+import java.io.OutputStream;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes the employee list in the same envelope as {@link Response} straight to the response,
+ * one employee at a time, instead of serializing the whole list into a buffer first.
+ * <p>
+ * The output is flushed every so many employees, so the first bytes leave before the last employee is written
+ * and the memory used stays the same whatever the size of the list.
+ */
+@Component
+class MockEmployeeListWriter {
+
+    static final int FLUSH_EVERY = 1000;
+
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter employeeWriter;
+
+    MockEmployeeListWriter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        // flushed in chunks below rather than after every employee
+        this.employeeWriter =
+                objectMapper.writerFor(MockEmployee.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes on the calling thread, the request thread, so no async executor or async timeout limits how many
+     * lists stream at once or how long a large one may take.
+     */
+    void write(Iterable<MockEmployee> mockEmployees, OutputStream outputStream) throws IOException {
+        try (final var generator = objectMapper.getFactory().createGenerator(outputStream)) {
+            // the container closes its own stream
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("data");
+            int written = 0;
+            for (final var mockEmployee : mockEmployees) {
+                employeeWriter.writeValue(generator, mockEmployee);
+                if (++written % FLUSH_EVERY == 0) {
+                    generator.flush();
+                }
+            }
+            generator.writeEndArray();
+            generator.writeStringField("status", Response.Status.HANDLED.getValue());
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.reliaquest.server.model;
+
+/**
+ * One create or delete applied to the store, version is the store version right after it.
+ */
+public record MockEmployeeChange(long version, Type type, MockEmployee employee) {
+
+    public enum Type {
+        CREATED,
+        DELETED
+    }
+}
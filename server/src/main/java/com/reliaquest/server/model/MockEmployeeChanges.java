@@ -0,0 +1,10 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * Changes after the version a client asked for, in order, up to version.
+ * When the store no longer retains them, reset is true and changes is empty, the client then reads the whole list
+ * with GET /api/v1/employee, which is streamed and answered with 304 when it has not changed.
+ */
+public record MockEmployeeChanges(long version, boolean reset, List<MockEmployeeChange> changes) {}
@@ -0,0 +1,8 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * One page of employees in insertion order, nextCursor is null on the last page.
+ */
+public record MockEmployeePage(List<MockEmployee> employees, String nextCursor) {}
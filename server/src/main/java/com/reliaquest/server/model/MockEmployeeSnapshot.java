@@ -0,0 +1,8 @@
+package com.reliaquest.server.model;
+
+import java.util.List;
+
+/**
+ * Every employee in insertion order as of the store version.
+ */
+public record MockEmployeeSnapshot(long version, List<MockEmployee> mockEmployees) {}
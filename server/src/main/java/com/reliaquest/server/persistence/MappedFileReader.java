@@ -0,0 +1,76 @@
+package com.reliaquest.server.persistence;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sequential reads over a memory-mapped file.
+ * <p>
+ * The file is mapped one window at a time so files larger than a single mapping can hold are read the same way,
+ * the page cache does the buffering and nothing is copied until a record is decoded.
+ */
+final class MappedFileReader implements Closeable {
+
+    private static final long WINDOW_SIZE = 256L << 20;
+
+    private final FileChannel channel;
+    private final long size;
+
+    private long windowStart;
+    private MappedByteBuffer window;
+
+    MappedFileReader(Path path) throws IOException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.size = channel.size();
+        map(0, 0);
+    }
+
+    long remaining() {
+        return size - windowStart - window.position();
+    }
+
+    int readInt() throws IOException {
+        return require(Integer.BYTES).getInt();
+    }
+
+    long readLong() throws IOException {
+        return require(Long.BYTES).getLong();
+    }
+
+    /**
+     * The next bytes as a buffer of their own, only valid until the reader is closed.
+     */
+    ByteBuffer slice(int length) throws IOException {
+        final var buffer = require(length);
+        final var slice = buffer.slice(buffer.position(), length);
+        buffer.position(buffer.position() + length);
+        return slice;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private ByteBuffer require(int bytes) throws IOException {
+        if (bytes < 0 || remaining() < bytes) {
+            throw new EOFException("Wanted " + bytes + " bytes, " + remaining() + " left");
+        }
+        if (window.remaining() < bytes) {
+            map(windowStart + window.position(), bytes);
+        }
+        return window;
+    }
+
+    private void map(long start, int atLeast) throws IOException {
+        final var length = Math.min(Math.max(WINDOW_SIZE, atLeast), size - start);
+        window = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+        windowStart = start;
+    }
+}
@@ -0,0 +1,76 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * Binary form of one employee shared by dataset files and the journal.
+ * <p>
+ * The two halves of the id, name, salary, age, title and email, in that order. Strings are UTF-8 after their
+ * length in bytes, -1 for null, the id and numbers are preceded by whether they are set.
+ */
+final class MockEmployeeCodec {
+
+    private static final int NULL_LENGTH = -1;
+
+    private MockEmployeeCodec() {}
+
+    static void write(DataOutput output, MockEmployee mockEmployee) throws IOException {
+        output.writeBoolean(mockEmployee.getId() != null);
+        if (mockEmployee.getId() != null) {
+            output.writeLong(mockEmployee.getId().getMostSignificantBits());
+            output.writeLong(mockEmployee.getId().getLeastSignificantBits());
+        }
+        writeString(output, mockEmployee.getName());
+        writeInteger(output, mockEmployee.getSalary());
+        writeInteger(output, mockEmployee.getAge());
+        writeString(output, mockEmployee.getTitle());
+        writeString(output, mockEmployee.getEmail());
+    }
+
+    static MockEmployee read(ByteBuffer input) {
+        return MockEmployee.builder()
+                .id(input.get() != 0 ? new UUID(input.getLong(), input.getLong()) : null)
+                .name(readString(input))
+                .salary(readInteger(input))
+                .age(readInteger(input))
+                .title(readString(input))
+                .email(readString(input))
+                .build();
+    }
+
+    private static void writeString(DataOutput output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(NULL_LENGTH);
+            return;
+        }
+        final var bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private static void writeInteger(DataOutput output, Integer value) throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeInt(value);
+        }
+    }
+
+    private static String readString(ByteBuffer input) {
+        final var length = input.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        final var bytes = new byte[length];
+        input.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Integer readInteger(ByteBuffer input) {
+        return input.get() != 0 ? input.getInt() : null;
+    }
+}
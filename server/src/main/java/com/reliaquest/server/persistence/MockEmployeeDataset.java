@@ -0,0 +1,90 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeSnapshot;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+
+/**
+ * Binary file of mock employees, used for pregenerated datasets and for snapshots of the store.
+ * <p>
+ * A header with a magic number, the format version, the store version and the count, then every employee
+ * after its length in bytes, see {@link MockEmployeeCodec}. Files are read through a memory map and written
+ * to a temporary file first, so a file under its final name is always complete.
+ */
+public final class MockEmployeeDataset {
+
+    private static final int MAGIC = 0x4D454D50;
+    private static final int FORMAT_VERSION = 2;
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int COUNT_OFFSET = 16;
+
+    private MockEmployeeDataset() {}
+
+    public static MockEmployeeSnapshot read(Path path) throws IOException {
+        try (final var input = new MappedFileReader(path)) {
+            if (input.remaining() < 16 || input.readInt() != MAGIC || input.readInt() != FORMAT_VERSION) {
+                throw new IOException("Not a mock employee dataset: " + path);
+            }
+
+            final var version = input.readLong();
+            final var count = input.readInt();
+            final var mockEmployees = new ArrayList<MockEmployee>(count);
+            for (int index = 0; index < count; index++) {
+                mockEmployees.add(MockEmployeeCodec.read(input.slice(input.readInt())));
+            }
+            return new MockEmployeeSnapshot(version, mockEmployees);
+        }
+    }
+
+    public static void write(Path path, MockEmployeeSnapshot snapshot) throws IOException {
+        write(path, snapshot.version(), snapshot.mockEmployees());
+    }
+
+    /**
+     * Writes the employees in one pass, the count in the header is filled in once they are all written.
+     *
+     * @return the number of employees written
+     */
+    public static int write(Path path, long version, Iterable<MockEmployee> mockEmployees) throws IOException {
+        final var parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        final var temporary = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+        try {
+            int count = 0;
+            try (final var output =
+                    new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary), BUFFER_SIZE))) {
+                output.writeInt(MAGIC);
+                output.writeInt(FORMAT_VERSION);
+                output.writeLong(version);
+                output.writeInt(0);
+                final var record = new ByteArrayOutputStream(256);
+                final var recordOutput = new DataOutputStream(record);
+                for (final var mockEmployee : mockEmployees) {
+                    record.reset();
+                    MockEmployeeCodec.write(recordOutput, mockEmployee);
+                    output.writeInt(record.size());
+                    record.writeTo(output);
+                    count++;
+                }
+            }
+            try (final var channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                channel.write(ByteBuffer.allocate(Integer.BYTES).putInt(0, count), COUNT_OFFSET);
+                channel.force(true);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return count;
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * One append-only segment of the change journal.
+ * <p>
+ * Every record is the payload length, a CRC32C of the payload and the payload: the change type ordinal,
+ * the store version right after the change and the employee, see {@link MockEmployeeCodec}.
+ * A record cut short by a crash, or damaged, ends the segment when it is read back.
+ */
+@Slf4j
+final class MockEmployeeJournal implements Closeable {
+
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    private final FileChannel channel;
+    private final boolean fsync;
+    private final ByteArrayOutputStream payload = new ByteArrayOutputStream(256);
+    private final DataOutputStream payloadOutput = new DataOutputStream(payload);
+    private final CRC32C crc = new CRC32C();
+
+    private int appended;
+
+    private MockEmployeeJournal(FileChannel channel, boolean fsync) {
+        this.channel = channel;
+        this.fsync = fsync;
+    }
+
+    /**
+     * Starts an empty segment, replacing the file if there is one.
+     *
+     * @param fsync whether every append waits for the disk, otherwise a change survives a restart of the server
+     *              but not of the machine
+     */
+    static MockEmployeeJournal open(Path path, boolean fsync) throws IOException {
+        return new MockEmployeeJournal(
+                FileChannel.open(
+                        path,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING,
+                        StandardOpenOption.WRITE),
+                fsync);
+    }
+
+    /**
+     * Reads every intact record of a segment in order.
+     */
+    static void read(Path path, Consumer<MockEmployeeChange> consumer) throws IOException {
+        final var checksum = new CRC32C();
+        try (final var input = new MappedFileReader(path)) {
+            while (input.remaining() >= HEADER_SIZE) {
+                final var length = input.readInt();
+                final var expectedCrc = input.readInt();
+                if (length < 0 || input.remaining() < length) {
+                    log.warn("Journal: {} ends with a partial record, ignoring it", path);
+                    return;
+                }
+
+                final var record = input.slice(length);
+                checksum.reset();
+                checksum.update(record.duplicate());
+                if ((int) checksum.getValue() != expectedCrc) {
+                    log.warn("Journal: {} has a damaged record, ignoring it and everything after", path);
+                    return;
+                }
+
+                final var type = MockEmployeeChange.Type.values()[record.get()];
+                final var version = record.getLong();
+                consumer.accept(new MockEmployeeChange(version, type, MockEmployeeCodec.read(record)));
+            }
+        }
+    }
+
+    void append(MockEmployeeChange change) throws IOException {
+        payload.reset();
+        payloadOutput.writeByte(change.type().ordinal());
+        payloadOutput.writeLong(change.version());
+        MockEmployeeCodec.write(payloadOutput, change.employee());
+
+        final var bytes = payload.toByteArray();
+        crc.reset();
+        crc.update(bytes);
+        final var record = ByteBuffer.allocate(HEADER_SIZE + bytes.length);
+        record.putInt(bytes.length);
+        record.putInt((int) crc.getValue());
+        record.put(bytes);
+        record.flip();
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+        if (fsync) {
+            channel.force(false);
+        }
+        appended++;
+    }
+
+    /**
+     * Records appended since the segment was started.
+     */
+    int appended() {
+        return appended;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,278 @@
+package com.reliaquest.server.persistence;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.model.MockEmployeeSnapshot;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+/**
+ * Keeps the mock employees across restarts.
+ * <p>
+ * Every change is appended to a journal as the store makes it. Once enough changes piled up, a view of the store
+ * is opened, a new journal segment is started and the view is written as a snapshot in the background, after which
+ * the older snapshots and segments are deleted. A restart maps the latest snapshot and replays the segments
+ * written after it, so it only reads what changed since the last snapshot on top of one sequential file.
+ */
+@Slf4j
+public final class MockEmployeePersistence implements Closeable {
+
+    private static final Pattern SNAPSHOT_FILE = Pattern.compile("snapshot-(\\d+)\\.bin");
+    private static final Pattern JOURNAL_FILE = Pattern.compile("journal-(\\d+)\\.log");
+
+    private final Path directory;
+    private final int snapshotEvery;
+    private final boolean fsync;
+    private final ExecutorService snapshotExecutor;
+    private final AtomicBoolean snapshotRunning = new AtomicBoolean();
+
+    // version of the snapshot recovery started from, -1 if there was none
+    private long recoveredSnapshotVersion = -1;
+
+    // only used from inside store writes, which the store serializes
+    private MockEmployeeStore store;
+    private MockEmployeeJournal journal;
+    private boolean failed;
+
+    /**
+     * @param snapshotEvery journal records after which a snapshot is taken
+     * @param fsync         whether every journal append waits for the disk
+     */
+    public MockEmployeePersistence(Path directory, int snapshotEvery, boolean fsync) {
+        this.directory = directory;
+        this.snapshotEvery = Math.max(1, snapshotEvery);
+        this.fsync = fsync;
+        final var threadFactory = new CustomizableThreadFactory("employee-snapshot-");
+        threadFactory.setDaemon(true);
+        this.snapshotExecutor = Executors.newSingleThreadExecutor(threadFactory);
+    }
+
+    /**
+     * Latest complete snapshot, empty on the first start.
+     */
+    public Optional<MockEmployeeSnapshot> readSnapshot() throws IOException {
+        Files.createDirectories(directory);
+        for (final var path : files(SNAPSHOT_FILE, Comparator.reverseOrder())) {
+            try {
+                final var started = System.nanoTime();
+                final var snapshot = MockEmployeeDataset.read(path);
+                recoveredSnapshotVersion = snapshot.version();
+                log.info(
+                        "Read {} employees from snapshot: {} in {} ms",
+                        snapshot.mockEmployees().size(),
+                        path,
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+                return Optional.of(snapshot);
+            } catch (IOException | RuntimeException e) {
+                log.warn("Skipping unreadable snapshot: {}", path, e);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Applies the journal written after the snapshot that was read, stopping at the first missing version.
+     * Without a snapshot the base is returned as it is.
+     */
+    public MockEmployeeSnapshot replay(MockEmployeeSnapshot base) throws IOException {
+        if (recoveredSnapshotVersion < 0) {
+            return base;
+        }
+
+        final var changes = new ArrayList<MockEmployeeChange>();
+        final var next = new long[] {base.version() + 1};
+        final var skipped = new long[] {0};
+        for (final var path : files(JOURNAL_FILE, Comparator.naturalOrder())) {
+            MockEmployeeJournal.read(path, change -> {
+                if (change.version() == next[0]) {
+                    changes.add(change);
+                    next[0]++;
+                } else if (change.version() > next[0]) {
+                    skipped[0]++;
+                }
+            });
+        }
+        if (skipped[0] > 0) {
+            log.warn("Journal is missing version: {}, {} later changes are lost", next[0], skipped[0]);
+        }
+        if (changes.isEmpty()) {
+            return base;
+        }
+
+        // the base may hold millions of employees, it is only filtered once instead of indexed
+        final var removedFromBase = new HashSet<UUID>();
+        final var appended = new LinkedHashMap<UUID, MockEmployee>();
+        for (final var change : changes) {
+            final var id = change.employee().getId();
+            // a create with a known id replaces the employee at the end, same as the store does
+            removedFromBase.add(id);
+            appended.remove(id);
+            if (change.type() == MockEmployeeChange.Type.CREATED) {
+                appended.put(id, change.employee());
+            }
+        }
+
+        final var mockEmployees = new ArrayList<MockEmployee>(base.mockEmployees().size() + appended.size());
+        for (final var mockEmployee : base.mockEmployees()) {
+            if (!removedFromBase.contains(mockEmployee.getId())) {
+                mockEmployees.add(mockEmployee);
+            }
+        }
+        mockEmployees.addAll(appended.values());
+        log.info("Replayed {} journal changes up to version: {}", changes.size(), next[0] - 1);
+        return new MockEmployeeSnapshot(next[0] - 1, mockEmployees);
+    }
+
+    /**
+     * Journals every change the store makes from now on.
+     * <p>
+     * Without a snapshot to start from, one is written before the store takes any change, as a journal only means
+     * something on top of the snapshot it follows. A store ahead of the snapshot it was recovered from is captured
+     * in the background, so the next start does not replay the same journal again.
+     */
+    public void attach(MockEmployeeStore mockEmployeeStore) throws IOException {
+        store = mockEmployeeStore;
+        final var version = mockEmployeeStore.version();
+        if (recoveredSnapshotVersion < 0) {
+            for (final var path : files(JOURNAL_FILE, Comparator.naturalOrder())) {
+                log.warn("Deleting journal without a snapshot: {}", path);
+                Files.delete(path);
+            }
+        }
+
+        journal = MockEmployeeJournal.open(journalPath(version), fsync);
+        mockEmployeeStore.setChangeListener(this::onChange);
+        if (recoveredSnapshotVersion < 0) {
+            try (final var view = mockEmployeeStore.openView()) {
+                writeSnapshot(view);
+            }
+        } else if (version != recoveredSnapshotVersion) {
+            takeSnapshot(mockEmployeeStore.openView());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        snapshotExecutor.shutdown();
+        try {
+            if (!snapshotExecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+                log.warn("Snapshot still being written at shutdown, the journal covers it");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private void onChange(MockEmployeeChange change) {
+        if (failed) {
+            return;
+        }
+
+        try {
+            journal.append(change);
+            if (journal.appended() >= snapshotEvery && snapshotRunning.compareAndSet(false, true)) {
+                // called from inside the store write, the view sees exactly the journaled changes
+                takeSnapshot(store.openView());
+            }
+        } catch (IOException e) {
+            failed = true;
+            log.error("Journal write failed, changes from now on are only kept in memory", e);
+        }
+    }
+
+    /**
+     * Starts a new journal segment after the version of the view, the older segments are covered by the snapshot.
+     * The view is closed once written.
+     */
+    private void takeSnapshot(MockEmployeeStore.View view) throws IOException {
+        snapshotRunning.set(true);
+        try {
+            journal.close();
+            journal = MockEmployeeJournal.open(journalPath(view.version()), fsync);
+            snapshotExecutor.execute(() -> writeSnapshotInBackground(view));
+        } catch (IOException | RuntimeException e) {
+            view.close();
+            snapshotRunning.set(false);
+            throw e;
+        }
+    }
+
+    private void writeSnapshotInBackground(MockEmployeeStore.View view) {
+        try (view) {
+            writeSnapshot(view);
+        } catch (IOException | RuntimeException e) {
+            // the older snapshot and every segment after it are kept, the next snapshot tries again
+            log.error("Writing snapshot version: {} failed", view.version(), e);
+        } finally {
+            snapshotRunning.set(false);
+        }
+    }
+
+    private void writeSnapshot(MockEmployeeStore.View view) throws IOException {
+        final var started = System.nanoTime();
+        final var written = MockEmployeeDataset.write(snapshotPath(view.version()), view.version(), view);
+        log.info(
+                "Wrote snapshot version: {} with {} employees in {} ms",
+                view.version(),
+                written,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        deleteOlderThan(view.version());
+    }
+
+    private void deleteOlderThan(long version) throws IOException {
+        for (final var path : files(SNAPSHOT_FILE, Comparator.naturalOrder())) {
+            if (versionOf(SNAPSHOT_FILE, path) < version) {
+                Files.deleteIfExists(path);
+            }
+        }
+        for (final var path : files(JOURNAL_FILE, Comparator.naturalOrder())) {
+            if (versionOf(JOURNAL_FILE, path) < version) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private Path snapshotPath(long version) {
+        return directory.resolve("snapshot-%020d.bin".formatted(version));
+    }
+
+    private Path journalPath(long version) {
+        return directory.resolve("journal-%020d.log".formatted(version));
+    }
+
+    /**
+     * Files of the kind ordered by version, names are zero padded so the name order is the version order.
+     */
+    private List<Path> files(Pattern pattern, Comparator<Path> order) throws IOException {
+        try (final var paths = Files.list(directory)) {
+            return paths.filter(path -> pattern.matcher(path.getFileName().toString()).matches())
+                    .sorted(order)
+                    .toList();
+        }
+    }
+
+    private static long versionOf(Pattern pattern, Path path) {
+        final var matcher = pattern.matcher(path.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : Long.MAX_VALUE;
+    }
+}
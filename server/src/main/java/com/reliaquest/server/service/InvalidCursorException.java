@@ -0,0 +1,11 @@
+package com.reliaquest.server.service;
+
+/**
+ * A page cursor the store never handed out, client input rather than a server error.
+ */
+public class InvalidCursorException extends IllegalArgumentException {
+
+    public InvalidCursorException(String cursor) {
+        super("Invalid cursor: " + cursor + ".");
+    }
+}
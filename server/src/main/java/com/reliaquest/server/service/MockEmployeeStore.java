@@ -0,0 +1,355 @@
+package com.reliaquest.server.service;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import com.reliaquest.server.model.MockEmployeeChanges;
+import com.reliaquest.server.model.MockEmployeePage;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import lombok.NonNull;
+
+/**
+ * Thread safe in memory store of the mock employees.
+ * <p>
+ * Employees are indexed by id and by case-insensitive name, each name keeps its employees in insertion order
+ * so deleting by name still removes the first one created. Reads never lock and never see a half applied write,
+ * writes are serialized so the indexes always agree with each other.
+ * <p>
+ * Every create and delete is also kept in a change log so clients can catch up from the version they hold,
+ * only the most recent changes are retained.
+ * <p>
+ * Every employee remembers the versions it was created and deleted at, so the whole list can be read as of one
+ * version while writes go on, see {@link #openView()}. A deleted employee stays in place until no open view is
+ * older than its deletion, nothing is copied for a reader.
+ */
+public final class MockEmployeeStore {
+
+    public static final int DEFAULT_CHANGE_RETENTION = 1000;
+
+    // insertion order, the sequence never goes back so iteration is stable across writes
+    private final NavigableMap<Long, Entry> bySequence = new ConcurrentSkipListMap<>();
+    private final Map<UUID, Long> sequenceById = new ConcurrentHashMap<>();
+    private final Map<String, NavigableMap<Long, MockEmployee>> byName = new ConcurrentHashMap<>();
+
+    private long sequence;
+    private volatile int size;
+
+    // sequences of deleted employees still in bySequence, in the order they were deleted
+    private final Queue<Long> deleted = new ConcurrentLinkedQueue<>();
+
+    // number of open views by the version they were opened at
+    private final NavigableMap<Long, Integer> openViews = new ConcurrentSkipListMap<>();
+
+    // recent changes by version, versions are contiguous so only the oldest retained one needs tracking
+    private final NavigableMap<Long, MockEmployeeChange> changes = new ConcurrentSkipListMap<>();
+    private final int changeRetention;
+
+    // bumped by every write, readers use it to tell whether anything changed
+    private volatile long version;
+
+    // every change after this version is retained
+    private volatile long changesFrom;
+
+    // told about every change from inside the write, in version order
+    private Consumer<MockEmployeeChange> changeListener = change -> {};
+
+    public MockEmployeeStore(@NonNull List<MockEmployee> mockEmployees) {
+        this(mockEmployees, DEFAULT_CHANGE_RETENTION);
+    }
+
+    public MockEmployeeStore(@NonNull List<MockEmployee> mockEmployees, int changeRetention) {
+        this(mockEmployees, changeRetention, mockEmployees.size());
+    }
+
+    /**
+     * @param version version of the initial employees, when they were saved by an earlier run
+     */
+    public MockEmployeeStore(@NonNull List<MockEmployee> mockEmployees, int changeRetention, long version) {
+        this.changeRetention = changeRetention;
+        for (final var mockEmployee : mockEmployees) {
+            put(mockEmployee, version, version);
+        }
+        // the initial employees are not changes, a client catching up from before them reads the whole list
+        this.version = version;
+        this.changesFrom = version;
+        purge();
+    }
+
+    /**
+     * All employees in insertion order as of the current version, no write can show up in the view.
+     * <p>
+     * Nothing is copied and no lock is taken, the view walks the store itself and skips what changed after
+     * its version. Employees deleted after it are kept until the view is closed, so it must always be closed.
+     */
+    public View openView() {
+        final var opened = version;
+        openViews.merge(opened, 1, Integer::sum);
+        // read again after the view is registered, a purge that missed it has seen this version or an older one
+        return new View(opened, version);
+    }
+
+    /**
+     * Up to limit employees created after the cursor, in insertion order.
+     * The cursor is the insertion sequence of the last employee of the previous page,
+     * so pages stay consistent while employees are created or deleted in between.
+     *
+     * @throws InvalidCursorException if the cursor is not a sequence this store could have handed out
+     */
+    public MockEmployeePage findPage(String cursor, int limit) {
+        final var after = cursor == null ? 0L : parseCursor(cursor);
+        final var employees = new ArrayList<MockEmployee>(limit);
+        long lastSequence = after;
+        for (final var entry : bySequence.tailMap(after, false).entrySet()) {
+            if (entry.getValue().isDeleted()) {
+                continue;
+            }
+            if (employees.size() == limit) {
+                return new MockEmployeePage(employees, Long.toString(lastSequence));
+            }
+            employees.add(entry.getValue().mockEmployee);
+            lastSequence = entry.getKey();
+        }
+        return new MockEmployeePage(employees, null);
+    }
+
+    private static long parseCursor(String cursor) {
+        try {
+            final var sequence = Long.parseLong(cursor);
+            if (sequence < 0) {
+                throw new InvalidCursorException(cursor);
+            }
+            return sequence;
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException(cursor);
+        }
+    }
+
+    /**
+     * Changes after the given version, in order.
+     * A client further behind than the retained changes, or ahead of the store, is told to read the whole list.
+     */
+    public MockEmployeeChanges changesSince(long since) {
+        final var current = version;
+        if (since >= changesFrom && since <= current) {
+            final var retained = List.copyOf(changes.subMap(since, false, current, true).values());
+            // changes dropped while copying would leave a gap
+            if (since >= changesFrom) {
+                return new MockEmployeeChanges(current, false, retained);
+            }
+        }
+        // a list read after this version may hold later changes too, applying them again is harmless
+        return new MockEmployeeChanges(current, true, List.of());
+    }
+
+    public synchronized void setChangeListener(@NonNull Consumer<MockEmployeeChange> changeListener) {
+        this.changeListener = changeListener;
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Optional<MockEmployee> findById(@NonNull UUID uuid) {
+        final var employeeSequence = sequenceById.get(uuid);
+        final var entry = employeeSequence == null ? null : bySequence.get(employeeSequence);
+        return entry == null || entry.isDeleted() ? Optional.empty() : Optional.of(entry.mockEmployee);
+    }
+
+    public synchronized void add(@NonNull MockEmployee mockEmployee) {
+        // a replaced employee is deleted first, one version before the create
+        final var replacing = Objects.nonNull(mockEmployee.getId()) && sequenceById.containsKey(mockEmployee.getId());
+        final var replaced = put(mockEmployee, version + (replacing ? 2 : 1), version + 1);
+        if (replaced != null) {
+            record(MockEmployeeChange.Type.DELETED, replaced);
+        }
+        record(MockEmployeeChange.Type.CREATED, mockEmployee);
+        purge();
+    }
+
+    /**
+     * Removes the first employee created with the name, ignoring case.
+     */
+    public synchronized Optional<MockEmployee> removeFirstByName(@NonNull String name) {
+        final var sameName = byName.get(nameKey(name));
+        if (sameName == null || sameName.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final var first = sameName.firstEntry();
+        remove(first.getKey(), version + 1);
+        record(MockEmployeeChange.Type.DELETED, first.getValue());
+        purge();
+        return Optional.of(first.getValue());
+    }
+
+    /**
+     * Adds the employee at the end, visible to views from createdAt on.
+     * An employee already stored with the same id is deleted as of replacedAt and returned.
+     */
+    private MockEmployee put(MockEmployee mockEmployee, long createdAt, long replacedAt) {
+        final var employeeSequence = ++sequence;
+        bySequence.put(employeeSequence, new Entry(mockEmployee, createdAt));
+        size++;
+        MockEmployee replaced = null;
+        if (Objects.nonNull(mockEmployee.getId())) {
+            final var replacedSequence = sequenceById.put(mockEmployee.getId(), employeeSequence);
+            if (replacedSequence != null) {
+                replaced = remove(replacedSequence, replacedAt);
+            }
+        }
+        if (Objects.nonNull(mockEmployee.getName())) {
+            byName.computeIfAbsent(nameKey(mockEmployee.getName()), ignored -> new ConcurrentSkipListMap<>())
+                    .put(employeeSequence, mockEmployee);
+        }
+        return replaced;
+    }
+
+    private void record(MockEmployeeChange.Type type, MockEmployee mockEmployee) {
+        final var changeVersion = version + 1;
+        final var change = new MockEmployeeChange(changeVersion, type, mockEmployee);
+        changes.put(changeVersion, change);
+        // published after the change so a reader seeing the version also sees the change
+        version = changeVersion;
+        changeListener.accept(change);
+        if (changeVersion - changesFrom > changeRetention) {
+            // moved on before the change is dropped so readers can tell they may have missed it
+            final var dropped = changesFrom + 1;
+            changesFrom = dropped;
+            changes.remove(dropped);
+        }
+    }
+
+    /**
+     * Takes the employee out of the indexes, views older than the given version still see it until it is purged.
+     */
+    private MockEmployee remove(long employeeSequence, long deletedAt) {
+        final var entry = bySequence.get(employeeSequence);
+        if (entry == null || entry.isDeleted()) {
+            return null;
+        }
+        // marked before the version is published, so a view at that version already skips it
+        entry.deletedAt = deletedAt;
+        deleted.add(employeeSequence);
+        size--;
+        final var mockEmployee = entry.mockEmployee;
+        if (Objects.nonNull(mockEmployee.getId())) {
+            sequenceById.remove(mockEmployee.getId(), employeeSequence);
+        }
+        if (Objects.nonNull(mockEmployee.getName())) {
+            final var key = nameKey(mockEmployee.getName());
+            final var sameName = byName.get(key);
+            sameName.remove(employeeSequence);
+            if (sameName.isEmpty()) {
+                byName.remove(key);
+            }
+        }
+        return mockEmployee;
+    }
+
+    /**
+     * Drops the deleted employees no open view can see anymore, in the order they were deleted.
+     * Runs after every write and whenever a view is closed, both may run at once.
+     */
+    private void purge() {
+        // the version is read before the open views, a view opened after that reads this version or a later one
+        final var current = version;
+        final var oldestView = openViews.firstEntry();
+        final var visibleBefore = oldestView == null ? current : Math.min(current, oldestView.getKey());
+        Long employeeSequence;
+        while ((employeeSequence = deleted.peek()) != null) {
+            final var entry = bySequence.get(employeeSequence);
+            if (entry != null && entry.deletedAt > visibleBefore) {
+                return;
+            }
+            // another purge may have taken it first
+            if (deleted.remove(employeeSequence)) {
+                bySequence.remove(employeeSequence, entry);
+            }
+        }
+    }
+
+    /**
+     * Folds each char the way {@link String#equalsIgnoreCase(String)} compares them,
+     * so two names share a key exactly when they are equal ignoring case.
+     */
+    static String nameKey(String name) {
+        final var folded = new char[name.length()];
+        for (int index = 0; index < name.length(); index++) {
+            folded[index] = Character.toLowerCase(Character.toUpperCase(name.charAt(index)));
+        }
+        return new String(folded);
+    }
+
+    private static final class Entry {
+
+        private final MockEmployee mockEmployee;
+        private final long createdAt;
+
+        // Long.MAX_VALUE until deleted, written under the store lock
+        private volatile long deletedAt = Long.MAX_VALUE;
+
+        private Entry(MockEmployee mockEmployee, long createdAt) {
+            this.mockEmployee = mockEmployee;
+            this.createdAt = createdAt;
+        }
+
+        private boolean isDeleted() {
+            return deletedAt != Long.MAX_VALUE;
+        }
+
+        private boolean isVisibleAt(long version) {
+            return createdAt <= version && deletedAt > version;
+        }
+    }
+
+    /**
+     * Every employee of the store as of one version, in insertion order.
+     */
+    public final class View implements Iterable<MockEmployee>, AutoCloseable {
+
+        private final long opened;
+        private final long version;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private View(long opened, long version) {
+            this.opened = opened;
+            this.version = version;
+        }
+
+        public long version() {
+            return version;
+        }
+
+        @Override
+        public Iterator<MockEmployee> iterator() {
+            return bySequence.values().stream()
+                    .filter(entry -> entry.isVisibleAt(version))
+                    .map(entry -> entry.mockEmployee)
+                    .iterator();
+        }
+
+        @Override
+        public void close() {
+            if (closed.compareAndSet(false, true)) {
+                openViews.computeIfPresent(opened, (ignored, count) -> count == 1 ? null : count - 1);
+                purge();
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+/**
+ * Makes the mock server behave like a loaded one, with latency, errors, slow bodies and dropped connections
+ * from a profile.
+ * <p>
+ * A filter rather than an interceptor, as only a filter can hand the handler a response that sends its body slowly.
+ * The faults of a request are drawn from the seed and the number of the request, so the same seed gives the n-th
+ * request the same faults on every run, whichever thread handles it.
+ */
+@Slf4j
+public class FaultInjectionFilter extends OncePerRequestFilter {
+
+    // announced for a dropped response, none of it is sent
+    private static final int DROPPED_CONTENT_LENGTH = 1024;
+
+    private final long seed;
+    private final AtomicLong requests = new AtomicLong();
+    private final List<Rule> rules = new ArrayList<>();
+    private final Rule defaults;
+
+    public FaultInjectionFilter(FaultProperties.Profile profile, long seed) {
+        this.seed = seed;
+        this.defaults = new Rule(null, null, profile.defaults());
+        if (profile.endpoints() != null) {
+            for (final var endpoint : profile.endpoints()) {
+                final var path = endpoint.path() == null
+                        ? null
+                        : PathPatternParser.defaultInstance.parse(endpoint.path());
+                rules.add(new Rule(endpoint.method(), path, endpoint.fault()));
+            }
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        final var random = new SplittableRandom(requestSeed(requests.getAndIncrement()));
+        final var rule = rule(request);
+        final var fault = rule.fault();
+
+        sleep(rule.latency().sampleNanos(random));
+
+        final var draw = random.nextDouble();
+        if (draw < fault.dropRate()) {
+            log.debug("Dropping response to {} {}", request.getMethod(), request.getRequestURI());
+            drop(response);
+            return;
+        }
+        if (draw < fault.dropRate() + fault.errorRate()) {
+            log.debug("Failing {} {} with {}", request.getMethod(), request.getRequestURI(), fault.errorStatus());
+            // no error dispatch, the error is not handled again by the rate limiter
+            response.setStatus(fault.errorStatus());
+            return;
+        }
+        if (random.nextDouble() < fault.slowBodyRate()) {
+            filterChain.doFilter(request, new ThrottledResponse(response, fault.slowBodyBytesPerSecond()));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /*
+     * The headers promise a body and the connection is closed without it, the client fails reading the body.
+     */
+    private static void drop(HttpServletResponse response) throws IOException {
+        response.setHeader(HttpHeaders.CONNECTION, "close");
+        response.setContentLength(DROPPED_CONTENT_LENGTH);
+        response.flushBuffer();
+    }
+
+    private Rule rule(HttpServletRequest request) {
+        final var path = PathContainer.parsePath(request.getRequestURI());
+        for (final var rule : rules) {
+            if (rule.matches(request.getMethod(), path)) {
+                return rule;
+            }
+        }
+        return defaults;
+    }
+
+    /**
+     * Spreads neighbouring request numbers over the whole seed space, see SplittableRandom.
+     */
+    private long requestSeed(long request) {
+        long mixed = seed + (request + 1) * 0x9E3779B97F4A7C15L;
+        mixed = (mixed ^ (mixed >>> 30)) * 0xBF58476D1CE4E5B9L;
+        mixed = (mixed ^ (mixed >>> 27)) * 0x94D049BB133111EBL;
+        return mixed ^ (mixed >>> 31);
+    }
+
+    private static void sleep(long nanos) throws IOException {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while delaying the request", e);
+        }
+    }
+
+    private record Rule(String method, PathPattern path, FaultProperties.Fault fault, LatencyDistribution latency) {
+
+        private Rule(String method, PathPattern path, FaultProperties.Fault fault) {
+            this(method, path, fault, LatencyDistribution.of(fault.latency()));
+        }
+
+        boolean matches(String requestMethod, PathContainer requestPath) {
+            return (method == null || method.equalsIgnoreCase(requestMethod))
+                    && (path == null || path.matches(requestPath));
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the faults injected into mock server responses.
+ *
+ * @param profile  name of the profile in use, no faults are injected when absent
+ * @param seed     seed the faults of every request are drawn from, random and logged when absent
+ * @param profiles profiles by name
+ */
+@ConfigurationProperties(prefix = "mock.faults")
+public record FaultProperties(String profile, Long seed, Map<String, Profile> profiles) {
+
+    /**
+     * @param defaults  faults of the requests no endpoint matches
+     * @param endpoints faults of the requests to these endpoints, the first match wins
+     */
+    public record Profile(@DefaultValue Fault defaults, List<Endpoint> endpoints) {}
+
+    /**
+     * @param method http method the endpoint is called with, any when absent
+     * @param path   path pattern of the endpoint, like /api/v1/employee/{id}
+     */
+    public record Endpoint(String method, String path, @DefaultValue Fault fault) {}
+
+    /**
+     * Rates are between 0 and 1, drawn once per request in the order dropped, error, slow body.
+     *
+     * @param latency                 delay before the request is handled
+     * @param errorRate               share of requests answered with the error status instead
+     * @param errorStatus             status of those answers
+     * @param dropRate                share of requests whose connection is closed before the body was sent
+     * @param slowBodyRate            share of responses whose body is sent slowly
+     * @param slowBodyBytesPerSecond  rate of those bodies
+     */
+    public record Fault(
+            @DefaultValue Latency latency,
+            @DefaultValue("0") double errorRate,
+            @DefaultValue("503") int errorStatus,
+            @DefaultValue("0") double dropRate,
+            @DefaultValue("0") double slowBodyRate,
+            @DefaultValue("16384") int slowBodyBytesPerSecond) {}
+
+    /**
+     * Lognormal latency through its median and 99th percentile, fixed at the median without a p99,
+     * none without a median.
+     */
+    public record Latency(Duration median, Duration p99) {}
+}
@@ -0,0 +1,48 @@
+package com.reliaquest.server.web;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Lognormal latency fitted to a median and a 99th percentile.
+ * <p>
+ * The log of the latency is normal, its mean is the log of the median and its deviation the distance from there
+ * to the log of the p99 in standard normal 99th percentiles. Most requests are close to the median and a long
+ * tail reaches past the p99, the shape measured service latencies usually have.
+ */
+final class LatencyDistribution {
+
+    static final LatencyDistribution NONE = new LatencyDistribution(0, 0);
+
+    // standard normal 99th percentile
+    private static final double Z_99 = 2.3263478740408408;
+
+    private final double mu;
+    private final double sigma;
+
+    private LatencyDistribution(double mu, double sigma) {
+        this.mu = mu;
+        this.sigma = sigma;
+    }
+
+    static LatencyDistribution of(FaultProperties.Latency latency) {
+        if (latency == null || latency.median() == null || latency.median().isZero()) {
+            return NONE;
+        }
+
+        final var mu = Math.log(latency.median().toNanos());
+        if (latency.p99() == null) {
+            return new LatencyDistribution(mu, 0);
+        }
+        if (latency.p99().compareTo(latency.median()) < 0) {
+            throw new IllegalArgumentException("Latency p99 is below its median: " + latency);
+        }
+        return new LatencyDistribution(mu, (Math.log(latency.p99().toNanos()) - mu) / Z_99);
+    }
+
+    long sampleNanos(RandomGenerator random) {
+        if (this == NONE) {
+            return 0;
+        }
+        return Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+    }
+}
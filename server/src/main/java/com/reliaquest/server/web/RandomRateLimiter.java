@@ -0,0 +1,102 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.function.LongSupplier;
+
+/**
+ * What the mock server always did, with the limit and backoff drawn from a seed so a run can be repeated.
+ * <p>
+ * Requests are let through until the limit is reached, then every request is rejected until the backoff
+ * has passed since the last request let through, after which the count starts again. The count and the time
+ * of the last request, in milliseconds, are packed into one long so the check and the count are a single
+ * compare and set, where they used to be separate reads that let more requests through than the limit.
+ */
+public final class RandomRateLimiter extends StripedRateLimiter {
+
+    private static final long TIME_MASK = (1L << 48) - 1;
+
+    private final int limit;
+    private final long backoff;
+
+    public RandomRateLimiter(int limit, Duration backoff, int stripes, LongSupplier nanoClock) {
+        super(stripes, nanoClock);
+        if (limit < 1 || limit > SlidingWindowRateLimiter.MAX_LIMIT || backoff.isNegative()) {
+            throw new IllegalArgumentException("Rate limit needs a limit up to " + SlidingWindowRateLimiter.MAX_LIMIT);
+        }
+        this.limit = limit;
+        this.backoff = backoff.toMillis();
+    }
+
+    /**
+     * Draws the limit and backoff like the server did on every start.
+     * <p>
+     * A bound whose minimum equals its maximum is not drawn, so the limit or backoff can be pinned.
+     */
+    public static RandomRateLimiter of(RateLimitProperties.Random random, long seed, int stripes, LongSupplier clock) {
+        final var minBackoff = random.minBackoff().toMillis();
+        final var maxBackoff = random.maxBackoff().toMillis();
+        if (random.minLimit() > random.maxLimit() || minBackoff > maxBackoff) {
+            throw new IllegalArgumentException("Rate limit needs each minimum no larger than its maximum");
+        }
+
+        final var generator = new Random(seed);
+        final var limit = random.minLimit() == random.maxLimit()
+                ? random.minLimit()
+                : generator.nextInt(random.minLimit(), random.maxLimit());
+        final var backoff = minBackoff == maxBackoff ? minBackoff : generator.nextLong(minBackoff, maxBackoff);
+        return new RandomRateLimiter(limit, Duration.ofMillis(backoff), stripes, clock);
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    public Duration backoff() {
+        return Duration.ofMillis(backoff);
+    }
+
+    @Override
+    public RateLimitDecision acquire(String key) {
+        final var slot = slot(key);
+        while (true) {
+            final var state = state(slot);
+            final var now = Duration.ofNanos(now()).toMillis();
+            final var count = count(state);
+            final var lastRequested = lastRequested(state);
+            final var backedOff = now - lastRequested >= backoff;
+            if (count >= limit && !backedOff) {
+                return RateLimitDecision.rejected(limit, Duration.ofMillis(lastRequested + backoff - now).toNanos());
+            }
+
+            final var counted = count >= limit ? 1 : count + 1;
+            if (update(slot, state, pack(counted, now))) {
+                return RateLimitDecision.allowed(limit, limit - counted, Duration.ofMillis(backoff).toNanos());
+            }
+        }
+    }
+
+    @Override
+    public void refund(String key) {
+        final var slot = slot(key);
+        while (true) {
+            final var state = state(slot);
+            final var count = count(state);
+            if (count == 0 || update(slot, state, pack(count - 1, lastRequested(state)))) {
+                return;
+            }
+        }
+    }
+
+    private static long pack(int count, long lastRequested) {
+        return ((long) count << 48) | (lastRequested & TIME_MASK);
+    }
+
+    private static int count(long state) {
+        return (int) (state >>> 48);
+    }
+
+    private static long lastRequested(long state) {
+        return state & TIME_MASK;
+    }
+}
@@ -0,0 +1,20 @@
+package com.reliaquest.server.web;
+
+/**
+ * Outcome of taking a request from a client budget.
+ *
+ * @param remaining       requests the client has left after this one
+ * @param resetNanos      until the budget is whole again, or until the next request is let through when rejected
+ * @param retryAfterNanos until the next request is let through, 0 when this one was
+ */
+public record RateLimitDecision(
+        boolean allowed, int limit, int remaining, long resetNanos, long retryAfterNanos) {
+
+    static RateLimitDecision allowed(int limit, int remaining, long resetNanos) {
+        return new RateLimitDecision(true, limit, remaining, resetNanos, 0);
+    }
+
+    static RateLimitDecision rejected(int limit, long retryAfterNanos) {
+        return new RateLimitDecision(false, limit, 0, retryAfterNanos, retryAfterNanos);
+    }
+}
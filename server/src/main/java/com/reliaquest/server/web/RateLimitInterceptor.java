@@ -0,0 +1,87 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Rejects requests over the budget of their client with a 429.
+ * <p>
+ * Unless turned off, every response tells the client its budget in the RateLimit-Limit, RateLimit-Remaining and
+ * RateLimit-Reset headers, and a 429 tells it when to come back in Retry-After, all in whole seconds.
+ */
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    static final String LIMIT_HEADER = "RateLimit-Limit";
+    static final String REMAINING_HEADER = "RateLimit-Remaining";
+    static final String RESET_HEADER = "RateLimit-Reset";
+
+    private static final String KEY_ATTRIBUTE = RateLimitInterceptor.class.getName() + ".key";
+
+    private final RateLimiter rateLimiter;
+    private final RateLimitProperties.Key key;
+    private final String keyHeader;
+    private final boolean headers;
+
+    public RateLimitInterceptor(RateLimiter rateLimiter, RateLimitProperties rateLimitProperties) {
+        this.rateLimiter = rateLimiter;
+        this.key = rateLimitProperties.key();
+        this.keyHeader = rateLimitProperties.keyHeader();
+        this.headers = rateLimitProperties.headers();
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        final var clientKey = clientKey(request);
+        final var decision = rateLimiter.acquire(clientKey);
+        if (headers) {
+            response.setIntHeader(LIMIT_HEADER, decision.limit());
+            response.setIntHeader(REMAINING_HEADER, decision.remaining());
+            response.setHeader(RESET_HEADER, Long.toString(seconds(decision.resetNanos())));
+        }
+
+        if (!decision.allowed()) {
+            if (headers) {
+                response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(seconds(decision.retryAfterNanos())));
+            }
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            return false;
+        }
+
+        request.setAttribute(KEY_ATTRIBUTE, clientKey);
+        return true;
+    }
+
+    /*
+     * A 304 sent nothing but headers, give its request back to the budget.
+     */
+    @Override
+    public void afterCompletion(
+            HttpServletRequest request, HttpServletResponse response, Object handler, Exception exception) {
+        if (response.getStatus() == HttpStatus.NOT_MODIFIED.value()
+                && request.getAttribute(KEY_ATTRIBUTE) instanceof String clientKey) {
+            rateLimiter.refund(clientKey);
+        }
+    }
+
+    private String clientKey(HttpServletRequest request) {
+        return switch (key) {
+            case GLOBAL -> "";
+            case REMOTE_ADDRESS -> request.getRemoteAddr();
+            case HEADER -> {
+                final var header = request.getHeader(keyHeader);
+                yield header == null || header.isBlank() ? request.getRemoteAddr() : header;
+            }
+        };
+    }
+
+    /**
+     * Rounded up, a client waiting the seconds it was told is never early.
+     */
+    private static long seconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+}
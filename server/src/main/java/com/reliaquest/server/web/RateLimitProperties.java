@@ -0,0 +1,56 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Settings of the mock server rate limiter.
+ *
+ * @param algorithm how requests are counted, RANDOM picks its limit and backoff like the server always did
+ * @param limit     requests per period for TOKEN_BUCKET and SLIDING_WINDOW, at most 65535
+ * @param period    period the limit applies to
+ * @param key       what a client is told apart by, every client shares one budget with GLOBAL
+ * @param keyHeader header naming the client with HEADER, the remote address is used when it is missing
+ * @param stripes   counters the client keys are spread over, rounded up to a power of two
+ * @param headers   whether Retry-After and RateLimit-* headers are sent, off to keep the limit a secret
+ */
+@ConfigurationProperties(prefix = "mock.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("RANDOM") Algorithm algorithm,
+        @DefaultValue("10") int limit,
+        @DefaultValue("60s") Duration period,
+        @DefaultValue("GLOBAL") Key key,
+        @DefaultValue("X-Client-Id") String keyHeader,
+        @DefaultValue("64") int stripes,
+        @DefaultValue("true") boolean headers,
+        @DefaultValue Random random) {
+
+    public enum Algorithm {
+        TOKEN_BUCKET,
+        SLIDING_WINDOW,
+        RANDOM
+    }
+
+    public enum Key {
+        GLOBAL,
+        REMOTE_ADDRESS,
+        HEADER
+    }
+
+    /**
+     * Settings of the RANDOM algorithm, the limit and backoff are drawn once from the seed.
+     *
+     * @param seed       seed of the draw, random and logged when absent
+     * @param minLimit   smallest request limit, inclusive
+     * @param maxLimit   largest request limit, exclusive unless equal to minLimit
+     * @param minBackoff shortest backoff, inclusive
+     * @param maxBackoff longest backoff, exclusive unless equal to minBackoff
+     */
+    public record Random(
+            Long seed,
+            @DefaultValue("5") int minLimit,
+            @DefaultValue("10") int maxLimit,
+            @DefaultValue("30s") Duration minBackoff,
+            @DefaultValue("90s") Duration maxBackoff) {}
+}
@@ -0,0 +1,17 @@
+package com.reliaquest.server.web;
+
+/**
+ * Decides whether a client may make another request.
+ */
+public interface RateLimiter {
+
+    /**
+     * Takes a request from the budget of the client, if there is one left.
+     */
+    RateLimitDecision acquire(String key);
+
+    /**
+     * Gives a request taken by {@link #acquire} back to the budget of the client.
+     */
+    void refund(String key);
+}
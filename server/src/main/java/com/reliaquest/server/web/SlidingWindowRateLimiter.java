@@ -0,0 +1,105 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Sliding window counter, the requests of the last period are estimated from the count of the current fixed window
+ * plus the count of the previous one weighted by how much of it still overlaps the last period.
+ * <p>
+ * Window number and both counts are packed into one long, 32 bits for the window and 16 for each count,
+ * so a request is a single compare and set and the limit is at most 65535.
+ */
+public final class SlidingWindowRateLimiter extends StripedRateLimiter {
+
+    static final int MAX_LIMIT = 0xFFFF;
+
+    private final int limit;
+    private final long period;
+
+    public SlidingWindowRateLimiter(int limit, Duration period, int stripes, LongSupplier nanoClock) {
+        super(stripes, nanoClock);
+        if (limit < 1 || limit > MAX_LIMIT || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException(
+                    "Rate limit needs a limit up to " + MAX_LIMIT + " and a positive period");
+        }
+        this.limit = limit;
+        this.period = period.toNanos();
+    }
+
+    @Override
+    public RateLimitDecision acquire(String key) {
+        final var slot = slot(key);
+        while (true) {
+            final var state = state(slot);
+            final var now = now();
+            final var window = now / period;
+            final var elapsed = now - window * period;
+
+            var current = current(state);
+            var previous = previous(state);
+            final var stored = window(state);
+            if (stored != (int) window) {
+                // the stored window is over, it is the previous one if it just ended
+                previous = stored == (int) (window - 1) ? current : 0;
+                current = 0;
+            }
+
+            final var estimate = current + previous * (double) (period - elapsed) / period;
+            if (estimate + 1 > limit) {
+                return RateLimitDecision.rejected(limit, retryAfter(current, previous, elapsed));
+            }
+            if (update(slot, state, pack(window, current + 1, previous))) {
+                final var remaining = (int) Math.max(0, Math.floor(limit - estimate - 1));
+                // the request still weighs on the whole next window
+                return RateLimitDecision.allowed(limit, remaining, 2 * period - elapsed);
+            }
+        }
+    }
+
+    @Override
+    public void refund(String key) {
+        final var slot = slot(key);
+        while (true) {
+            final var state = state(slot);
+            final var window = now() / period;
+            final var current = current(state);
+            // a request refunded after its window ended stays counted in the previous one
+            if (window(state) != (int) window
+                    || current == 0
+                    || update(slot, state, pack(window, current - 1, previous(state)))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * How long until the estimate leaves room for one more request.
+     */
+    private long retryAfter(int current, int previous, long elapsed) {
+        if (current + 1 > limit) {
+            // only once the current window is the previous one and has faded enough
+            final var fade = period * (1 - (double) (limit - 1) / current);
+            return period - elapsed + Math.max(1, (long) Math.ceil(fade));
+        }
+
+        final var fade = period * (1 - (double) (limit - 1 - current) / previous);
+        return Math.max(1, (long) Math.ceil(fade) - elapsed);
+    }
+
+    private static long pack(long window, int current, int previous) {
+        return (window << 32) | ((long) current << 16) | previous;
+    }
+
+    private static int window(long state) {
+        return (int) (state >>> 32);
+    }
+
+    private static int current(long state) {
+        return (int) (state >>> 16) & 0xFFFF;
+    }
+
+    private static int previous(long state) {
+        return (int) state & 0xFFFF;
+    }
+}
@@ -0,0 +1,56 @@
+package com.reliaquest.server.web;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps the state of every client in one long, updated with compare and set.
+ * <p>
+ * Client keys are hashed onto a fixed number of stripes instead of getting a counter each, so the memory stays the
+ * same however many clients there are. Clients hashed onto the same stripe share a budget. Stripes are spaced a cache
+ * line apart so clients on different stripes do not contend.
+ */
+abstract class StripedRateLimiter implements RateLimiter {
+
+    // longs per cache line
+    private static final int SPACING = 8;
+
+    private final AtomicLongArray states;
+    private final int mask;
+    private final LongSupplier nanoClock;
+    private final long origin;
+
+    /**
+     * @param nanoClock source of the time in nanoseconds, only ever compared with itself
+     */
+    StripedRateLimiter(int stripes, LongSupplier nanoClock) {
+        final var size = 1 << (32 - Integer.numberOfLeadingZeros(Math.max(1, stripes) - 1));
+        this.states = new AtomicLongArray(size * SPACING);
+        this.mask = size - 1;
+        this.nanoClock = nanoClock;
+        this.origin = nanoClock.getAsLong();
+    }
+
+    /**
+     * Slot of the stripe the client key is hashed onto.
+     */
+    final int slot(String key) {
+        final var hash = key.hashCode();
+        return ((hash ^ (hash >>> 16)) & mask) * SPACING;
+    }
+
+    final long state(int slot) {
+        return states.get(slot);
+    }
+
+    final boolean update(int slot, long expected, long state) {
+        return states.compareAndSet(slot, expected, state);
+    }
+
+    /**
+     * Nanoseconds since the limiter was created, stripes start out as 0.
+     */
+    final long now() {
+        return nanoClock.getAsLong() - origin;
+    }
+}
@@ -0,0 +1,107 @@
+package com.reliaquest.server.web;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response whose body is sent in small flushed chunks at a fixed rate, a slow or congested upstream.
+ */
+final class ThrottledResponse extends HttpServletResponseWrapper {
+
+    private static final int CHUNK_SIZE = 1024;
+
+    private final long chunkNanos;
+    private ThrottledOutputStream outputStream;
+    private PrintWriter writer;
+
+    ThrottledResponse(HttpServletResponse response, int bytesPerSecond) {
+        super(response);
+        this.chunkNanos = TimeUnit.SECONDS.toNanos(CHUNK_SIZE) / Math.max(1, bytesPerSecond);
+    }
+
+    @Override
+    public ServletOutputStream getOutputStream() throws IOException {
+        if (outputStream == null) {
+            outputStream = new ThrottledOutputStream(super.getOutputStream());
+        }
+        return outputStream;
+    }
+
+    @Override
+    public PrintWriter getWriter() throws IOException {
+        if (writer == null) {
+            writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()), true);
+        }
+        return writer;
+    }
+
+    private final class ThrottledOutputStream extends ServletOutputStream {
+
+        private final ServletOutputStream delegate;
+        private int inChunk;
+
+        private ThrottledOutputStream(ServletOutputStream delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            delegate.write(b);
+            if (++inChunk == CHUNK_SIZE) {
+                pause();
+            }
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            while (len > 0) {
+                final var count = Math.min(len, CHUNK_SIZE - inChunk);
+                delegate.write(b, off, count);
+                off += count;
+                len -= count;
+                inChunk += count;
+                if (inChunk == CHUNK_SIZE) {
+                    pause();
+                }
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            delegate.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            delegate.close();
+        }
+
+        @Override
+        public boolean isReady() {
+            return delegate.isReady();
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            delegate.setWriteListener(writeListener);
+        }
+
+        private void pause() throws IOException {
+            inChunk = 0;
+            delegate.flush();
+            try {
+                TimeUnit.NANOSECONDS.sleep(chunkNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while sending a slow body");
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.reliaquest.server.web;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket holding the limit, refilled by one token every period divided by the limit.
+ * <p>
+ * The bucket is kept as the time at which it would be full again, the generic cell rate algorithm, so taking
+ * a token is a single compare and set of one long. A request takes a token when that time, pushed back by the
+ * request, is at most one period away.
+ */
+public final class TokenBucketRateLimiter extends StripedRateLimiter {
+
+    private final int limit;
+    private final long period;
+    private final long interval;
+
+    public TokenBucketRateLimiter(int limit, Duration period, int stripes, LongSupplier nanoClock) {
+        super(stripes, nanoClock);
+        if (limit < 1 || period.isNegative() || period.isZero()) {
+            throw new IllegalArgumentException("Rate limit needs a positive limit and period");
+        }
+        this.limit = limit;
+        this.period = period.toNanos();
+        this.interval = Math.max(1, this.period / limit);
+    }
+
+    @Override
+    public RateLimitDecision acquire(String key) {
+        final var slot = slot(key);
+        while (true) {
+            final var full = state(slot);
+            final var now = now();
+            final var nextFull = Math.max(full, now) + interval;
+            final var ahead = nextFull - now;
+            if (ahead > period) {
+                return RateLimitDecision.rejected(limit, ahead - period);
+            }
+            if (update(slot, full, nextFull)) {
+                return RateLimitDecision.allowed(limit, (int) ((period - ahead) / interval), ahead);
+            }
+        }
+    }
+
+    @Override
+    public void refund(String key) {
+        final var slot = slot(key);
+        while (true) {
+            final var full = state(slot);
+            final var now = now();
+            if (full <= now || update(slot, full, Math.max(full - interval, now))) {
+                return;
+            }
+        }
+    }
+}
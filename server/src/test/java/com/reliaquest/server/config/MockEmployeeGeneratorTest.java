@@ -0,0 +1,53 @@
+package com.reliaquest.server.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.server.model.MockEmployee;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeGeneratorTest {
+
+    static final int COUNT = MockEmployeeGenerator.CHUNK_SIZE + 10;
+
+    @Test
+    void generate_sameSeed_sameEmployees() {
+        final var first = new MockEmployeeGenerator(Locale.US, 42).generate(COUNT);
+        final var second = new MockEmployeeGenerator(Locale.US, 42).generate(COUNT);
+
+        assertThat(first).hasSize(COUNT).isEqualTo(second);
+        assertThat(first).extracting(MockEmployee::getId).doesNotHaveDuplicates();
+    }
+
+    @Test
+    void generate_oneThread_sameEmployeesAsAllCores() throws Exception {
+        final var generator = new MockEmployeeGenerator(Locale.US, 42);
+        final var pool = new ForkJoinPool(1);
+        try {
+            final var oneThread = pool.submit(() -> generator.generate(COUNT)).get();
+
+            assertThat(oneThread).isEqualTo(generator.generate(COUNT));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void generate_moreEmployees_sameLeadingEmployees() {
+        final var generator = new MockEmployeeGenerator(Locale.US, 42);
+
+        final var fewer = generator.generate(COUNT);
+        final var more = generator.generate(COUNT + 5);
+
+        assertThat(more.subList(0, COUNT)).isEqualTo(fewer);
+    }
+
+    @Test
+    void generate_otherSeed_otherEmployees() {
+        final var first = new MockEmployeeGenerator(Locale.US, 42).generate(10);
+        final var second = new MockEmployeeGenerator(Locale.US, 43).generate(10);
+
+        assertThat(first).isNotEqualTo(second);
+    }
+}
@@ -0,0 +1,132 @@
+package com.reliaquest.server.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.MockEmployeeService;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+
+@ExtendWith(MockitoExtension.class)
+class MockEmployeeControllerTest {
+
+    @Mock
+    MockEmployeeService mockEmployeeService;
+
+    @Mock
+    MockEmployeeListWriter mockEmployeeListWriter;
+
+    ValidatorFactory validatorFactory;
+
+    MockEmployeeController mockEmployeeController;
+
+    @BeforeEach
+    void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        mockEmployeeController = new MockEmployeeController(
+                mockEmployeeService, validatorFactory.getValidator(), mockEmployeeListWriter);
+    }
+
+    @AfterEach
+    void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Test
+    void createEmployees_oneInvalid_othersStillCreated() {
+        final var valid = createInput("Jane Doe");
+        final var invalid = createInput("");
+        final var created = MockEmployee.from("jane@company.com", valid);
+        when(mockEmployeeService.create(valid)).thenReturn(created);
+
+        final var response = mockEmployeeController.createEmployees(List.of(valid, invalid));
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        final var results = response.getBody().data();
+        assertThat(results).hasSize(2);
+        assertThat(results.get(0)).isEqualTo(Response.handledWith(created));
+        assertThat(results.get(1).status()).isEqualTo(Response.Status.ERROR);
+        assertThat(results.get(1).error()).startsWith("name ");
+        verify(mockEmployeeService, times(1)).create(any());
+    }
+
+    @Test
+    void createEmployees_missingItem_errorInItsPlace() {
+        final var inputs = new ArrayList<CreateMockEmployeeInput>();
+        inputs.add(null);
+
+        final var results = mockEmployeeController.createEmployees(inputs).getBody().data();
+
+        assertThat(results).containsExactly(Response.error("Missing input."));
+        verifyNoInteractions(mockEmployeeService);
+    }
+
+    @Test
+    void createEmployees_tooLarge_badRequest() {
+        final var inputs =
+                Collections.nCopies(MockEmployeeController.MAX_BATCH_SIZE + 1, createInput("Jane Doe"));
+
+        final var response = mockEmployeeController.createEmployees(inputs);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(response.getBody().status()).isEqualTo(Response.Status.ERROR);
+        verifyNoInteractions(mockEmployeeService);
+    }
+
+    @Test
+    void deleteEmployees_resultPerItemInOrder() {
+        final var found = deleteInput("Jane Doe");
+        final var missing = deleteInput("John Doe");
+        when(mockEmployeeService.delete(found)).thenReturn(true);
+        when(mockEmployeeService.delete(missing)).thenReturn(false);
+
+        final var results = mockEmployeeController
+                .deleteEmployees(List.of(found, missing, deleteInput(" ")))
+                .getBody()
+                .data();
+
+        assertThat(results).hasSize(3);
+        assertThat(results.subList(0, 2)).containsExactly(Response.handledWith(true), Response.handledWith(false));
+        assertThat(results.get(2).status()).isEqualTo(Response.Status.ERROR);
+        assertThat(results.get(2).error()).startsWith("name ");
+    }
+
+    @Test
+    void deleteEmployees_tooLarge_badRequest() {
+        final var inputs = Collections.nCopies(MockEmployeeController.MAX_BATCH_SIZE + 1, deleteInput("Jane Doe"));
+
+        assertThat(mockEmployeeController.deleteEmployees(inputs).getStatusCode())
+                .isEqualTo(HttpStatus.BAD_REQUEST);
+        verifyNoInteractions(mockEmployeeService);
+    }
+
+    static CreateMockEmployeeInput createInput(String name) {
+        final var input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(100_000);
+        input.setAge(30);
+        input.setTitle("Engineer");
+        return input;
+    }
+
+    static DeleteMockEmployeeInput deleteInput(String name) {
+        final var input = new DeleteMockEmployeeInput();
+        input.setName(name);
+        return input;
+    }
+}
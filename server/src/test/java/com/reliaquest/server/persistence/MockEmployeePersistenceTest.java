@@ -0,0 +1,123 @@
+package com.reliaquest.server.persistence;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeSnapshot;
+import com.reliaquest.server.service.MockEmployeeStore;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MockEmployeePersistenceTest {
+
+    static final MockEmployeeSnapshot INITIAL = new MockEmployeeSnapshot(
+            3, IntStream.range(0, 3).mapToObj(index -> employee("Employee " + index)).toList());
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void restart_snapshotAndJournal_changesKept() throws IOException {
+        final MockEmployeeStore before;
+        try (final var persistence = new MockEmployeePersistence(directory, 100, false)) {
+            before = recover(persistence);
+            before.add(employee("Jane Doe"));
+            before.removeFirstByName("Employee 1");
+        }
+
+        try (final var persistence = new MockEmployeePersistence(directory, 100, false)) {
+            final var after = recover(persistence);
+
+            assertThat(after.version()).isEqualTo(5);
+            assertThat(all(after)).isEqualTo(all(before));
+        }
+    }
+
+    @Test
+    void restart_lastJournalRecordTorn_changesBeforeItKept() throws IOException {
+        final List<MockEmployee> beforeLastChange;
+        try (final var persistence = new MockEmployeePersistence(directory, 100, false)) {
+            final var store = recover(persistence);
+            store.add(employee("Jane Doe"));
+            beforeLastChange = all(store);
+            store.add(employee("John Doe"));
+        }
+        // a crash in the middle of the last append
+        try (final var journal = FileChannel.open(onlyFile("journal-"), StandardOpenOption.WRITE)) {
+            journal.truncate(journal.size() - 3);
+        }
+
+        try (final var persistence = new MockEmployeePersistence(directory, 100, false)) {
+            final var after = recover(persistence);
+
+            assertThat(after.version()).isEqualTo(4);
+            assertThat(all(after)).isEqualTo(beforeLastChange);
+        }
+    }
+
+    @Test
+    void snapshotEvery_reached_newSnapshotReplacesOlderFiles() throws IOException {
+        final MockEmployeeStore before;
+        try (final var persistence = new MockEmployeePersistence(directory, 2, false)) {
+            before = recover(persistence);
+            before.add(employee("Jane Doe"));
+            before.add(employee("John Doe"));
+        }
+
+        // the snapshot at version 5 covers every change, its journal segment is empty
+        assertThat(onlyFile("snapshot-").getFileName().toString()).contains("5.bin");
+        assertThat(Files.size(onlyFile("journal-"))).isZero();
+        try (final var persistence = new MockEmployeePersistence(directory, 2, false)) {
+            assertThat(all(recover(persistence))).isEqualTo(all(before));
+        }
+    }
+
+    /**
+     * Recovers the store the way the server configuration does.
+     */
+    private static MockEmployeeStore recover(MockEmployeePersistence persistence) throws IOException {
+        final var base = persistence.readSnapshot().orElse(INITIAL);
+        final var recovered = persistence.replay(base);
+        final var store = new MockEmployeeStore(
+                recovered.mockEmployees(), MockEmployeeStore.DEFAULT_CHANGE_RETENTION, recovered.version());
+        persistence.attach(store);
+        return store;
+    }
+
+    private static List<MockEmployee> all(MockEmployeeStore store) {
+        try (final var view = store.openView()) {
+            final var mockEmployees = new ArrayList<MockEmployee>();
+            view.forEach(mockEmployees::add);
+            return mockEmployees;
+        }
+    }
+
+    private Path onlyFile(String prefix) throws IOException {
+        try (final var paths = Files.list(directory)) {
+            final var matching = paths.filter(path -> path.getFileName().toString().startsWith(prefix))
+                    .toList();
+            assertThat(matching).hasSize(1);
+            return matching.get(0);
+        }
+    }
+
+    private static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(100_000)
+                .age(30)
+                .title("Engineer")
+                .email(name.replace(' ', '.') + "@company.com")
+                .build();
+    }
+}
@@ -0,0 +1,212 @@
+package com.reliaquest.server.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeChange;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeStoreTest {
+
+    @Test
+    void findPage_walksAllEmployeesInInsertionOrder() {
+        final var mockEmployees = employees(5);
+        final var store = new MockEmployeeStore(mockEmployees);
+
+        final var first = store.findPage(null, 2);
+        final var second = store.findPage(first.nextCursor(), 2);
+        final var last = store.findPage(second.nextCursor(), 2);
+
+        assertThat(first.employees()).containsExactly(mockEmployees.get(0), mockEmployees.get(1));
+        assertThat(second.employees()).containsExactly(mockEmployees.get(2), mockEmployees.get(3));
+        assertThat(last.employees()).containsExactly(mockEmployees.get(4));
+        assertThat(last.nextCursor()).isNull();
+    }
+
+    @Test
+    void findPage_writesInBetween_pageStaysConsistent() {
+        final var mockEmployees = employees(4);
+        final var store = new MockEmployeeStore(mockEmployees);
+        final var first = store.findPage(null, 2);
+
+        store.removeFirstByName("Employee 0");
+        final var created = employee("Employee 4");
+        store.add(created);
+        final var second = store.findPage(first.nextCursor(), 3);
+
+        // nothing of the first page is repeated or skipped, the new employee comes last
+        assertThat(second.employees()).containsExactly(mockEmployees.get(2), mockEmployees.get(3), created);
+        assertThat(second.nextCursor()).isNull();
+    }
+
+    @Test
+    void findPage_endsOnLastEmployee_noEmptyPageAfter() {
+        final var store = new MockEmployeeStore(employees(2));
+
+        final var page = store.findPage(null, 2);
+
+        assertThat(page.employees()).hasSize(2);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void findPage_malformedCursor_rejected() {
+        final var store = new MockEmployeeStore(employees(2));
+
+        assertThatThrownBy(() -> store.findPage("abc", 2)).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> store.findPage("-1", 2)).isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void removeFirstByName_ignoresCase_firstCreatedRemoved() {
+        final var first = employee("Jane Doe");
+        final var second = employee("JANE DOE");
+        final var store = new MockEmployeeStore(List.of(first, second));
+
+        assertThat(store.removeFirstByName("jane doe")).contains(first);
+        assertThat(store.removeFirstByName("jane doe")).contains(second);
+        assertThat(store.removeFirstByName("jane doe")).isEmpty();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void add_sameId_replacesEmployee() {
+        final var original = employee("Jane Doe");
+        final var store = new MockEmployeeStore(List.of(original));
+        final var renamed = original.toBuilder().name("John Doe").build();
+
+        store.add(renamed);
+
+        assertThat(all(store)).containsExactly(renamed);
+        assertThat(store.findById(original.getId())).contains(renamed);
+        assertThat(store.removeFirstByName("Jane Doe")).isEmpty();
+    }
+
+    @Test
+    void changesSince_retained_changesInOrder() {
+        final var store = new MockEmployeeStore(employees(2), 10);
+        final var created = employee("Jane Doe");
+
+        store.add(created);
+        store.removeFirstByName("Employee 0");
+        final var changes = store.changesSince(2);
+
+        assertThat(changes.reset()).isFalse();
+        assertThat(changes.version()).isEqualTo(4);
+        assertThat(changes.changes())
+                .extracting(MockEmployeeChange::version, MockEmployeeChange::type)
+                .containsExactly(
+                        tuple(3L, MockEmployeeChange.Type.CREATED), tuple(4L, MockEmployeeChange.Type.DELETED));
+        assertThat(store.changesSince(4).changes()).isEmpty();
+    }
+
+    @Test
+    void changesSince_olderThanRetained_reset() {
+        final var store = new MockEmployeeStore(employees(2), 2);
+        store.add(employee("Jane Doe"));
+        store.add(employee("John Doe"));
+        store.add(employee("Max Doe"));
+
+        // only the last 2 changes are retained, a client at version 3 still misses nothing
+        assertThat(store.changesSince(3).reset()).isFalse();
+        assertThat(store.changesSince(3).changes()).hasSize(2);
+
+        final var behind = store.changesSince(2);
+        assertThat(behind.reset()).isTrue();
+        assertThat(behind.version()).isEqualTo(5);
+        assertThat(behind.changes()).isEmpty();
+    }
+
+    @Test
+    void changesSince_aheadOfStore_reset() {
+        final var store = new MockEmployeeStore(employees(2));
+
+        final var ahead = store.changesSince(3);
+
+        assertThat(ahead.reset()).isTrue();
+        assertThat(ahead.version()).isEqualTo(2);
+        assertThat(ahead.changes()).isEmpty();
+    }
+
+    @Test
+    void add_sameId_deleteThenCreateToldToListener() {
+        final var original = employee("Jane Doe");
+        final var store = new MockEmployeeStore(List.of(original));
+        final var told = new ArrayList<MockEmployeeChange>();
+        store.setChangeListener(told::add);
+
+        store.add(original.toBuilder().name("John Doe").build());
+
+        assertThat(told)
+                .extracting(MockEmployeeChange::type)
+                .containsExactly(MockEmployeeChange.Type.DELETED, MockEmployeeChange.Type.CREATED);
+        assertThat(told).isEqualTo(store.changesSince(1).changes());
+    }
+
+    @Test
+    void openView_writesAfterOpened_notSeen() {
+        final var mockEmployees = employees(3);
+        final var store = new MockEmployeeStore(mockEmployees);
+        final var renamed = mockEmployees.get(2).toBuilder().name("Jane Doe").build();
+
+        try (final var view = store.openView()) {
+            store.removeFirstByName("Employee 0");
+            store.add(employee("John Doe"));
+            store.add(renamed);
+
+            assertThat(view.version()).isEqualTo(3);
+            assertThat(view).containsExactlyElementsOf(mockEmployees);
+        }
+        assertThat(all(store)).extracting(MockEmployee::getName).containsExactly("Employee 1", "John Doe", "Jane Doe");
+        assertThat(store.size()).isEqualTo(3);
+    }
+
+    @Test
+    void openView_laterViewClosed_olderViewStillSeesDeleted() {
+        final var mockEmployees = employees(2);
+        final var store = new MockEmployeeStore(mockEmployees);
+
+        try (final var older = store.openView()) {
+            store.removeFirstByName("Employee 0");
+            try (final var later = store.openView()) {
+                assertThat(later).containsExactly(mockEmployees.get(1));
+            }
+            store.removeFirstByName("Employee 1");
+
+            assertThat(older).containsExactlyElementsOf(mockEmployees);
+        }
+        assertThat(all(store)).isEmpty();
+        assertThat(store.findPage(null, 10).employees()).isEmpty();
+    }
+
+    static List<MockEmployee> all(MockEmployeeStore store) {
+        try (final var view = store.openView()) {
+            final var mockEmployees = new ArrayList<MockEmployee>();
+            view.forEach(mockEmployees::add);
+            return mockEmployees;
+        }
+    }
+
+    static List<MockEmployee> employees(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(index -> employee("Employee " + index))
+                .toList();
+    }
+
+    static MockEmployee employee(String name) {
+        return MockEmployee.builder()
+                .id(UUID.randomUUID())
+                .name(name)
+                .salary(100_000)
+                .age(30)
+                .title("Engineer")
+                .email(name.replace(' ', '.') + "@company.com")
+                .build();
+    }
+}
@@ -0,0 +1,125 @@
+package com.reliaquest.server.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.servlet.ServletException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class FaultInjectionFilterTest {
+
+    static final FaultProperties.Latency NO_LATENCY = new FaultProperties.Latency(null, null);
+    static final FaultProperties.Fault NO_FAULT = fault(0, 503, 0, 0);
+
+    @Test
+    void doFilter_sameSeed_sameFaultsForEveryRequest() throws Exception {
+        final var profile = new FaultProperties.Profile(fault(0.3, 503, 0.2, 0.3), null);
+
+        final var first = outcomes(new FaultInjectionFilter(profile, 42), 200);
+        final var second = outcomes(new FaultInjectionFilter(profile, 42), 200);
+        final var otherSeed = outcomes(new FaultInjectionFilter(profile, 43), 200);
+
+        assertThat(first).isEqualTo(second);
+        assertThat(first).contains("dropped", "error", "slow", "passed");
+        assertThat(otherSeed).isNotEqualTo(first);
+    }
+
+    @Test
+    void doFilter_error_statusWithoutReachingHandler() throws Exception {
+        final var filter = new FaultInjectionFilter(new FaultProperties.Profile(fault(1, 502, 0, 0), null), 42);
+        final var response = new MockHttpServletResponse();
+        final var chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/employee"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(502);
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void doFilter_dropped_connectionClosedShortOfPromisedBody() throws Exception {
+        final var filter = new FaultInjectionFilter(new FaultProperties.Profile(fault(0, 503, 1, 0), null), 42);
+        final var response = new MockHttpServletResponse();
+        final var chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/employee"), response, chain);
+
+        assertThat(response.isCommitted()).isTrue();
+        assertThat(response.getHeader(HttpHeaders.CONNECTION)).isEqualTo("close");
+        assertThat(response.getContentLength()).isPositive();
+        assertThat(response.getContentAsByteArray()).isEmpty();
+        assertThat(chain.getRequest()).isNull();
+    }
+
+    @Test
+    void doFilter_slowBody_handlerGetsThrottledResponse() throws Exception {
+        final var filter = new FaultInjectionFilter(new FaultProperties.Profile(fault(0, 503, 0, 1), null), 42);
+        final var chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/employee"), new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getResponse()).isInstanceOf(ThrottledResponse.class);
+    }
+
+    @Test
+    void doFilter_endpoints_firstMatchByMethodAndPathWins() throws Exception {
+        final var profile = new FaultProperties.Profile(
+                NO_FAULT,
+                List.of(
+                        new FaultProperties.Endpoint("GET", "/api/v1/employee/{id}", fault(1, 502, 0, 0)),
+                        new FaultProperties.Endpoint(null, "/api/v1/employee/**", fault(1, 503, 0, 0)),
+                        new FaultProperties.Endpoint("get", null, fault(1, 504, 0, 0))));
+        final var filter = new FaultInjectionFilter(profile, 42);
+
+        // the second and third rules match too, the first one listed wins
+        assertThat(status(filter, "GET", "/api/v1/employee/abc")).isEqualTo(502);
+        // only the method of the first rule differs
+        assertThat(status(filter, "DELETE", "/api/v1/employee/abc")).isEqualTo(503);
+        // a rule without a path matches any path, method compared ignoring case
+        assertThat(status(filter, "GET", "/health")).isEqualTo(504);
+        // no rule matches, the defaults apply
+        assertThat(status(filter, "POST", "/health")).isEqualTo(200);
+    }
+
+    /**
+     * What happened to each of the first requests, in order.
+     */
+    private static List<String> outcomes(FaultInjectionFilter filter, int requests)
+            throws ServletException, IOException {
+        final var outcomes = new ArrayList<String>(requests);
+        for (int request = 0; request < requests; request++) {
+            final var response = new MockHttpServletResponse();
+            final var chain = new MockFilterChain();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/employee"), response, chain);
+            if ("close".equals(response.getHeader(HttpHeaders.CONNECTION))) {
+                outcomes.add("dropped");
+            } else if (chain.getRequest() == null) {
+                outcomes.add("error");
+            } else if (chain.getResponse() instanceof ThrottledResponse) {
+                outcomes.add("slow");
+            } else {
+                outcomes.add("passed");
+            }
+        }
+        return outcomes;
+    }
+
+    private static int status(FaultInjectionFilter filter, String method, String path)
+            throws ServletException, IOException {
+        final var response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest(method, path), response, new MockFilterChain());
+        return response.getStatus();
+    }
+
+    private static FaultProperties.Fault fault(
+            double errorRate, int errorStatus, double dropRate, double slowBodyRate) {
+        return new FaultProperties.Fault(NO_LATENCY, errorRate, errorStatus, dropRate, slowBodyRate, 16384);
+    }
+}
@@ -0,0 +1,55 @@
+package com.reliaquest.server.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import org.junit.jupiter.api.Test;
+
+class LatencyDistributionTest {
+
+    static final int SAMPLES = 100_000;
+
+    @Test
+    void sampleNanos_percentilesMatchTheFit() {
+        final var distribution = LatencyDistribution.of(
+                new FaultProperties.Latency(Duration.ofMillis(50), Duration.ofMillis(800)));
+        final var random = new SplittableRandom(42);
+
+        final var samples = new long[SAMPLES];
+        for (int index = 0; index < SAMPLES; index++) {
+            samples[index] = distribution.sampleNanos(random);
+        }
+        Arrays.sort(samples);
+
+        assertThat(Duration.ofNanos(samples[SAMPLES / 2])).isBetween(Duration.ofMillis(48), Duration.ofMillis(52));
+        assertThat(Duration.ofNanos(samples[SAMPLES * 99 / 100]))
+                .isBetween(Duration.ofMillis(760), Duration.ofMillis(840));
+    }
+
+    @Test
+    void sampleNanos_noP99_alwaysMedian() {
+        final var distribution = LatencyDistribution.of(new FaultProperties.Latency(Duration.ofMillis(50), null));
+        final var random = new SplittableRandom(42);
+
+        for (int index = 0; index < 100; index++) {
+            assertThat(distribution.sampleNanos(random)).isEqualTo(Duration.ofMillis(50).toNanos());
+        }
+    }
+
+    @Test
+    void of_noMedian_none() {
+        assertThat(LatencyDistribution.of(new FaultProperties.Latency(null, Duration.ofMillis(800))))
+                .isSameAs(LatencyDistribution.NONE);
+        assertThat(LatencyDistribution.NONE.sampleNanos(new SplittableRandom(42))).isZero();
+    }
+
+    @Test
+    void of_p99BelowMedian_rejected() {
+        final var latency = new FaultProperties.Latency(Duration.ofMillis(50), Duration.ofMillis(10));
+
+        assertThatThrownBy(() -> LatencyDistribution.of(latency)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
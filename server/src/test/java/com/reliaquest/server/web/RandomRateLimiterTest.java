@@ -0,0 +1,79 @@
+package com.reliaquest.server.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class RandomRateLimiterTest {
+
+    static final long START = 123_456_789L;
+    static final RateLimitProperties.Random RANDOM_PROPERTIES =
+            new RateLimitProperties.Random(null, 5, 10, Duration.ofSeconds(30), Duration.ofSeconds(90));
+
+    long now = START;
+
+    @Test
+    void of_sameSeed_sameDraw() {
+        final var first = RandomRateLimiter.of(RANDOM_PROPERTIES, 42, 1, () -> now);
+        final var second = RandomRateLimiter.of(RANDOM_PROPERTIES, 42, 1, () -> now);
+
+        assertThat(second.limit()).isEqualTo(first.limit()).isBetween(5, 9);
+        assertThat(second.backoff())
+                .isEqualTo(first.backoff())
+                .isBetween(Duration.ofSeconds(30), Duration.ofSeconds(90).minusMillis(1));
+    }
+
+    @Test
+    void of_equalBounds_pinned() {
+        final var pinned = new RateLimitProperties.Random(null, 3, 3, Duration.ofSeconds(10), Duration.ofSeconds(10));
+
+        final var rateLimiter = RandomRateLimiter.of(pinned, 42, 1, () -> now);
+
+        assertThat(rateLimiter.limit()).isEqualTo(3);
+        assertThat(rateLimiter.backoff()).isEqualTo(Duration.ofSeconds(10));
+    }
+
+    @Test
+    void of_minAboveMax_rejected() {
+        final var inverted =
+                new RateLimitProperties.Random(null, 10, 5, Duration.ofSeconds(30), Duration.ofSeconds(90));
+
+        assertThatThrownBy(() -> RandomRateLimiter.of(inverted, 42, 1, () -> now))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void acquire_limitReached_rejectedUntilBackedOff() {
+        final var rateLimiter = new RandomRateLimiter(3, Duration.ofSeconds(10), 1, () -> now);
+        for (int remaining = 2; remaining >= 0; remaining--) {
+            final var decision = rateLimiter.acquire("client");
+            assertThat(decision.allowed()).isTrue();
+            assertThat(decision.remaining()).isEqualTo(remaining);
+        }
+
+        now = START + Duration.ofSeconds(4).toNanos();
+        final var rejected = rateLimiter.acquire("client");
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryAfterNanos()).isEqualTo(Duration.ofSeconds(6).toNanos());
+
+        now = START + Duration.ofSeconds(10).toNanos();
+        final var backedOff = rateLimiter.acquire("client");
+        assertThat(backedOff.allowed()).isTrue();
+        assertThat(backedOff.remaining()).isEqualTo(2);
+    }
+
+    @Test
+    void refund_requestGivenBack() {
+        final var rateLimiter = new RandomRateLimiter(3, Duration.ofSeconds(10), 1, () -> now);
+        for (int request = 0; request < 3; request++) {
+            rateLimiter.acquire("client");
+        }
+
+        rateLimiter.refund("client");
+
+        assertThat(rateLimiter.acquire("client").allowed()).isTrue();
+        assertThat(rateLimiter.acquire("client").allowed()).isFalse();
+    }
+}
@@ -0,0 +1,171 @@
+package com.reliaquest.server.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RateLimitInterceptorTest {
+
+    static final long START = 123_456_789L;
+
+    long now = START;
+
+    @Test
+    void preHandle_allowed_budgetHeadersInWholeSeconds() {
+        final var interceptor = interceptor(1, RateLimitProperties.Key.GLOBAL, true);
+        final var response = new MockHttpServletResponse();
+
+        assertThat(interceptor.preHandle(request("10.0.0.1"), response, null)).isTrue();
+
+        assertThat(response.getHeader(RateLimitInterceptor.LIMIT_HEADER)).isEqualTo("1");
+        assertThat(response.getHeader(RateLimitInterceptor.REMAINING_HEADER)).isEqualTo("0");
+        // exactly 2 seconds, not rounded up any further
+        assertThat(response.getHeader(RateLimitInterceptor.RESET_HEADER)).isEqualTo("2");
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isNull();
+    }
+
+    @Test
+    void preHandle_overBudget_429WithRetryAfterRoundedUp() {
+        final var interceptor = interceptor(1, RateLimitProperties.Key.GLOBAL, true);
+        interceptor.preHandle(request("10.0.0.1"), new MockHttpServletResponse(), null);
+
+        now = START + Duration.ofMillis(500).toNanos();
+        final var halfWay = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(request("10.0.0.1"), halfWay, null)).isFalse();
+
+        assertThat(halfWay.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(halfWay.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(halfWay.getHeader(RateLimitInterceptor.REMAINING_HEADER)).isEqualTo("0");
+
+        now = START + Duration.ofSeconds(1).toNanos();
+        final var oneSecondLeft = new MockHttpServletResponse();
+        interceptor.preHandle(request("10.0.0.1"), oneSecondLeft, null);
+
+        assertThat(oneSecondLeft.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+    }
+
+    @Test
+    void preHandle_headersOff_noneSent() {
+        final var interceptor = interceptor(1, RateLimitProperties.Key.GLOBAL, false);
+        final var allowed = new MockHttpServletResponse();
+        final var rejected = new MockHttpServletResponse();
+
+        interceptor.preHandle(request("10.0.0.1"), allowed, null);
+        interceptor.preHandle(request("10.0.0.1"), rejected, null);
+
+        assertThat(allowed.getHeaderNames()).isEmpty();
+        assertThat(rejected.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        assertThat(rejected.getHeaderNames()).isEmpty();
+    }
+
+    @Test
+    void afterCompletion_notModified_requestRefunded() {
+        final var interceptor = interceptor(1, RateLimitProperties.Key.GLOBAL, true);
+        final var request = request("10.0.0.1");
+        final var response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+
+        response.setStatus(HttpStatus.NOT_MODIFIED.value());
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertThat(interceptor.preHandle(request("10.0.0.1"), new MockHttpServletResponse(), null)).isTrue();
+    }
+
+    @Test
+    void afterCompletion_ok_notRefunded() {
+        final var interceptor = interceptor(1, RateLimitProperties.Key.GLOBAL, true);
+        final var request = request("10.0.0.1");
+        final var response = new MockHttpServletResponse();
+        interceptor.preHandle(request, response, null);
+
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertThat(interceptor.preHandle(request("10.0.0.1"), new MockHttpServletResponse(), null)).isFalse();
+    }
+
+    @Test
+    void afterCompletion_rejectedRequest_notRefunded() {
+        final var interceptor = interceptor(1, RateLimitProperties.Key.GLOBAL, true);
+        interceptor.preHandle(request("10.0.0.1"), new MockHttpServletResponse(), null);
+        final var rejected = request("10.0.0.1");
+        final var response = new MockHttpServletResponse();
+        interceptor.preHandle(rejected, response, null);
+
+        // a rejected request took nothing, a 304 status set later must not hand out a request it never took
+        response.setStatus(HttpStatus.NOT_MODIFIED.value());
+        interceptor.afterCompletion(rejected, response, null, null);
+
+        assertThat(interceptor.preHandle(request("10.0.0.1"), new MockHttpServletResponse(), null)).isFalse();
+    }
+
+    @Test
+    void preHandle_global_everyClientSharesOneBudget() {
+        final var interceptor = interceptor(1, RateLimitProperties.Key.GLOBAL, true);
+
+        assertThat(interceptor.preHandle(request("10.0.0.1"), new MockHttpServletResponse(), null)).isTrue();
+        assertThat(interceptor.preHandle(request("10.0.0.2"), new MockHttpServletResponse(), null)).isFalse();
+    }
+
+    @Test
+    void preHandle_remoteAddress_budgetPerAddress() {
+        final var interceptor = interceptor(1, RateLimitProperties.Key.REMOTE_ADDRESS, true);
+
+        assertThat(interceptor.preHandle(request("10.0.0.1"), new MockHttpServletResponse(), null)).isTrue();
+        assertThat(interceptor.preHandle(request("10.0.0.2"), new MockHttpServletResponse(), null)).isTrue();
+        assertThat(interceptor.preHandle(request("10.0.0.1"), new MockHttpServletResponse(), null)).isFalse();
+    }
+
+    @Test
+    void preHandle_header_budgetPerHeaderValue() {
+        final var interceptor = interceptor(1, RateLimitProperties.Key.HEADER, true);
+
+        // the same address with two client ids, then another address with the first id
+        assertThat(interceptor.preHandle(request("10.0.0.1", "alpha"), new MockHttpServletResponse(), null)).isTrue();
+        assertThat(interceptor.preHandle(request("10.0.0.1", "beta"), new MockHttpServletResponse(), null)).isTrue();
+        assertThat(interceptor.preHandle(request("10.0.0.2", "alpha"), new MockHttpServletResponse(), null)).isFalse();
+    }
+
+    @Test
+    void preHandle_headerMissingOrBlank_remoteAddressUsed() {
+        final var interceptor = interceptor(1, RateLimitProperties.Key.HEADER, true);
+
+        assertThat(interceptor.preHandle(request("10.0.0.1"), new MockHttpServletResponse(), null)).isTrue();
+        assertThat(interceptor.preHandle(request("10.0.0.1", " "), new MockHttpServletResponse(), null)).isFalse();
+        assertThat(interceptor.preHandle(request("10.0.0.2", " "), new MockHttpServletResponse(), null)).isTrue();
+    }
+
+    /**
+     * One request every 2 seconds, on enough stripes that the test clients never share one.
+     */
+    private RateLimitInterceptor interceptor(int limit, RateLimitProperties.Key key, boolean headers) {
+        final var properties = new RateLimitProperties(
+                RateLimitProperties.Algorithm.TOKEN_BUCKET,
+                limit,
+                Duration.ofSeconds(2),
+                key,
+                "X-Client-Id",
+                1024,
+                headers,
+                null);
+        final var rateLimiter = new TokenBucketRateLimiter(
+                properties.limit(), properties.period(), properties.stripes(), () -> now);
+        return new RateLimitInterceptor(rateLimiter, properties);
+    }
+
+    private static MockHttpServletRequest request(String remoteAddress) {
+        final var request = new MockHttpServletRequest("GET", "/api/v1/employee");
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+
+    private static MockHttpServletRequest request(String remoteAddress, String clientId) {
+        final var request = request(remoteAddress);
+        request.addHeader("X-Client-Id", clientId);
+        return request;
+    }
+}
@@ -0,0 +1,112 @@
+package com.reliaquest.server.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class SlidingWindowRateLimiterTest {
+
+    static final long START = 123_456_789L;
+    static final long PERIOD = Duration.ofSeconds(1).toNanos();
+
+    long now = START;
+
+    SlidingWindowRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new SlidingWindowRateLimiter(4, Duration.ofNanos(PERIOD), 1, () -> now);
+    }
+
+    @Test
+    void acquire_withinLimit_remainingCountsDown() {
+        for (int remaining = 3; remaining >= 0; remaining--) {
+            final var decision = rateLimiter.acquire("client");
+
+            assertThat(decision.allowed()).isTrue();
+            assertThat(decision.limit()).isEqualTo(4);
+            assertThat(decision.remaining()).isEqualTo(remaining);
+            assertThat(decision.resetNanos()).isEqualTo(2 * PERIOD);
+            assertThat(decision.retryAfterNanos()).isZero();
+        }
+    }
+
+    @Test
+    void acquire_overLimit_retryAfterUntilPreviousWindowFaded() {
+        acquire(4);
+
+        final var decision = rateLimiter.acquire("client");
+
+        // the 4 requests have to fade to 3 in the next window, a quarter into it
+        assertThat(decision.allowed()).isFalse();
+        assertThat(decision.remaining()).isZero();
+        assertThat(decision.retryAfterNanos()).isEqualTo(PERIOD + PERIOD / 4);
+        assertThat(decision.resetNanos()).isEqualTo(decision.retryAfterNanos());
+    }
+
+    @Test
+    void acquire_windowRolledOver_previousWindowWeighted() {
+        acquire(4);
+
+        now = START + PERIOD;
+        final var rolledOver = rateLimiter.acquire("client");
+        assertThat(rolledOver.allowed()).isFalse();
+        assertThat(rolledOver.retryAfterNanos()).isEqualTo(PERIOD / 4);
+
+        now = START + PERIOD + PERIOD / 4 - 1;
+        assertThat(rateLimiter.acquire("client").allowed()).isFalse();
+
+        now = START + PERIOD + PERIOD / 4;
+        final var faded = rateLimiter.acquire("client");
+        assertThat(faded.allowed()).isTrue();
+        assertThat(faded.remaining()).isZero();
+        assertThat(faded.resetNanos()).isEqualTo(2 * PERIOD - PERIOD / 4);
+    }
+
+    @Test
+    void acquire_windowSkipped_previousWindowForgotten() {
+        acquire(4);
+
+        now = START + 2 * PERIOD;
+
+        final var decision = rateLimiter.acquire("client");
+        assertThat(decision.allowed()).isTrue();
+        assertThat(decision.remaining()).isEqualTo(3);
+    }
+
+    @Test
+    void refund_sameWindow_requestGivenBack() {
+        acquire(4);
+
+        rateLimiter.refund("client");
+
+        assertThat(rateLimiter.acquire("client").allowed()).isTrue();
+        assertThat(rateLimiter.acquire("client").allowed()).isFalse();
+    }
+
+    @Test
+    void refund_windowEnded_stillCountedInPrevious() {
+        acquire(4);
+
+        now = START + PERIOD;
+        rateLimiter.refund("client");
+
+        assertThat(rateLimiter.acquire("client").allowed()).isFalse();
+    }
+
+    @Test
+    void refund_nothingCounted_ignored() {
+        rateLimiter.refund("client");
+
+        acquire(4);
+        assertThat(rateLimiter.acquire("client").allowed()).isFalse();
+    }
+
+    private void acquire(int requests) {
+        for (int request = 0; request < requests; request++) {
+            assertThat(rateLimiter.acquire("client").allowed()).isTrue();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.reliaquest.server.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.TreeSet;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class StripedRateLimiterTest {
+
+    @Test
+    void slot_stripesRoundedUpToPowerOfTwo_cacheLineApart() {
+        final var rateLimiter = rateLimiter(3);
+
+        final var slots = new TreeSet<Integer>();
+        IntStream.range(0, 1000).forEach(client -> slots.add(rateLimiter.slot("client-" + client)));
+
+        assertThat(slots).containsExactly(0, 8, 16, 24);
+    }
+
+    @Test
+    void acquire_oneStripe_everyClientSharesOneBudget() {
+        final var rateLimiter = rateLimiter(1);
+
+        assertThat(rateLimiter.acquire("10.0.0.1").allowed()).isTrue();
+        assertThat(rateLimiter.acquire("10.0.0.2").allowed()).isFalse();
+    }
+
+    @Test
+    void acquire_differentStripes_separateBudgets() {
+        final var rateLimiter = rateLimiter(1024);
+        assertThat(rateLimiter.slot("10.0.0.1")).isNotEqualTo(rateLimiter.slot("10.0.0.2"));
+
+        assertThat(rateLimiter.acquire("10.0.0.1").allowed()).isTrue();
+        assertThat(rateLimiter.acquire("10.0.0.2").allowed()).isTrue();
+        assertThat(rateLimiter.acquire("10.0.0.1").allowed()).isFalse();
+    }
+
+    @Test
+    void slot_noStripes_oneStripe() {
+        final var rateLimiter = rateLimiter(0);
+
+        assertThat(rateLimiter.slot("10.0.0.1")).isZero();
+        assertThat(rateLimiter.slot("10.0.0.2")).isZero();
+    }
+
+    /**
+     * One request per second and client, on a clock that does not move.
+     */
+    private static TokenBucketRateLimiter rateLimiter(int stripes) {
+        return new TokenBucketRateLimiter(1, Duration.ofSeconds(1), stripes, () -> 0L);
+    }
+}
@@ -0,0 +1,104 @@
+package com.reliaquest.server.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ThrottledResponseTest {
+
+    // one 1024 byte chunk every 50 ms
+    static final int BYTES_PER_SECOND = 1024 * 20;
+    static final Duration CHUNK = Duration.ofMillis(50);
+
+    final RecordingResponse response = new RecordingResponse();
+
+    @Test
+    void write_largeBody_flushedInChunks() throws IOException {
+        final var throttled = new ThrottledResponse(response, BYTES_PER_SECOND);
+
+        final var started = System.nanoTime();
+        throttled.getOutputStream().write(new byte[2500]);
+        final var elapsed = Duration.ofNanos(System.nanoTime() - started);
+
+        assertThat(response.events).containsExactly("1024", "flush", "1024", "flush", "452");
+        assertThat(elapsed).isGreaterThanOrEqualTo(CHUNK.multipliedBy(2));
+    }
+
+    @Test
+    void write_chunkSpansWrites_countedAcrossThem() throws IOException {
+        final var outputStream = new ThrottledResponse(response, BYTES_PER_SECOND).getOutputStream();
+
+        outputStream.write(new byte[1000]);
+        outputStream.write(new byte[100]);
+
+        assertThat(response.events).containsExactly("1000", "24", "flush", "76");
+    }
+
+    @Test
+    void write_singleBytes_flushedEveryChunk() throws IOException {
+        final var outputStream = new ThrottledResponse(response, BYTES_PER_SECOND).getOutputStream();
+
+        for (int index = 0; index < 1025; index++) {
+            outputStream.write(index);
+        }
+
+        assertThat(response.events).hasSize(1025 + 1);
+        assertThat(response.events.get(1024)).isEqualTo("flush");
+    }
+
+    @Test
+    void getWriter_writesThroughThrottledStream() throws IOException {
+        final var throttled = new ThrottledResponse(response, BYTES_PER_SECOND);
+
+        throttled.getWriter().print("x".repeat(1500));
+        throttled.getWriter().flush();
+
+        assertThat(String.join(",", response.events)).isEqualTo("1024,flush,476,flush");
+    }
+
+    /**
+     * Records every write to the body by its length, and every flush.
+     */
+    static final class RecordingResponse extends MockHttpServletResponse {
+
+        final List<String> events = new ArrayList<>();
+
+        private final ServletOutputStream outputStream = new ServletOutputStream() {
+
+            @Override
+            public void write(int b) {
+                events.add("1");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                events.add(Integer.toString(len));
+            }
+
+            @Override
+            public void flush() {
+                events.add("flush");
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            @Override
+            public void setWriteListener(WriteListener writeListener) {}
+        };
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return outputStream;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.reliaquest.server.web;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TokenBucketRateLimiterTest {
+
+    static final long START = 123_456_789L;
+    static final long PERIOD = Duration.ofSeconds(1).toNanos();
+    static final long INTERVAL = PERIOD / 5;
+
+    long now = START;
+
+    TokenBucketRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new TokenBucketRateLimiter(5, Duration.ofNanos(PERIOD), 1, () -> now);
+    }
+
+    @Test
+    void acquire_fullBucket_burstUpToLimit() {
+        for (int remaining = 4; remaining >= 0; remaining--) {
+            final var decision = rateLimiter.acquire("client");
+
+            assertThat(decision.allowed()).isTrue();
+            assertThat(decision.limit()).isEqualTo(5);
+            assertThat(decision.remaining()).isEqualTo(remaining);
+            assertThat(decision.resetNanos()).isEqualTo((5 - remaining) * INTERVAL);
+        }
+    }
+
+    @Test
+    void acquire_emptyBucket_retryAfterOneInterval() {
+        acquire(5);
+
+        final var decision = rateLimiter.acquire("client");
+
+        assertThat(decision.allowed()).isFalse();
+        assertThat(decision.remaining()).isZero();
+        assertThat(decision.retryAfterNanos()).isEqualTo(INTERVAL);
+    }
+
+    @Test
+    void acquire_intervalPassed_oneTokenBack() {
+        acquire(5);
+
+        now = START + INTERVAL - 1;
+        assertThat(rateLimiter.acquire("client").allowed()).isFalse();
+
+        now = START + INTERVAL;
+        final var decision = rateLimiter.acquire("client");
+        assertThat(decision.allowed()).isTrue();
+        assertThat(decision.remaining()).isZero();
+        assertThat(rateLimiter.acquire("client").allowed()).isFalse();
+    }
+
+    @Test
+    void acquire_idleForPeriod_bucketFullAgain() {
+        acquire(5);
+
+        now = START + 10 * PERIOD;
+
+        assertThat(rateLimiter.acquire("client").remaining()).isEqualTo(4);
+    }
+
+    @Test
+    void refund_tokenGivenBack() {
+        acquire(5);
+
+        rateLimiter.refund("client");
+
+        assertThat(rateLimiter.acquire("client").allowed()).isTrue();
+        assertThat(rateLimiter.acquire("client").allowed()).isFalse();
+    }
+
+    @Test
+    void refund_fullBucket_notOverfilled() {
+        rateLimiter.refund("client");
+
+        acquire(5);
+        assertThat(rateLimiter.acquire("client").allowed()).isFalse();
+    }
+
+    private void acquire(int requests) {
+        for (int request = 0; request < requests; request++) {
+            assertThat(rateLimiter.acquire("client").allowed()).isTrue();
+        }
+    }
+}